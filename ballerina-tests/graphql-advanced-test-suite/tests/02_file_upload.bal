@@ -455,3 +455,62 @@ function testNonNullVariableValueWithMutipartRequest() returns error? {
     string expectedMessage = "Variable value should be `null`";
     test:assertEquals(actualPaylaod, expectedMessage);
 }
+
+@test:Config {
+    groups: ["file_upload"]
+}
+function testMultipleFileUploadExceedingInMemorySize() returns error? {
+    string document = string `mutation($fileList: [Upload!]!){ multipleFileUpload(files: $fileList) { fileName, content } }`;
+    json operation = {
+        "query": document,
+        "variables": {"fileList": [null, null, null]}
+    };
+    json pathMap = {
+        "0": ["variables.fileList.0"],
+        "1": ["variables.fileList.1"],
+        "2": ["variables.fileList.2"]
+    };
+    string[] filePaths = [
+        "./tests/resources/files/sample1.json",
+        "./tests/resources/files/sample2.txt",
+        "./tests/resources/files/sample3.xml"
+    ];
+
+    mime:Entity operations = new;
+    mime:ContentDisposition contentDisposition1 = new;
+    contentDisposition1.name = "operations";
+    contentDisposition1.disposition = "form-data";
+    operations.setContentDisposition(contentDisposition1);
+    operations.setJson(operation);
+
+    mime:Entity path = new;
+    mime:ContentDisposition contentDisposition2 = new;
+    contentDisposition2.name = "map";
+    contentDisposition2.disposition = "form-data";
+    path.setContentDisposition(contentDisposition2);
+    path.setJson(pathMap);
+
+    mime:Entity[] bodyParts = [operations, path];
+    foreach int i in 0 ..< filePaths.length() {
+        mime:Entity filePart = new;
+        mime:ContentDisposition contentDisposition = new;
+        contentDisposition.name = i.toString();
+        contentDisposition.disposition = "form-data";
+        contentDisposition.fileName = filePaths[i].substring(<int>filePaths[i].lastIndexOf("/") + 1);
+        filePart.setContentDisposition(contentDisposition);
+        filePart.setFileAsEntityBody(filePaths[i], contentType = mime:TEXT_PLAIN);
+        bodyParts.push(filePart);
+    }
+    http:Request request = new;
+    request.setBodyParts(bodyParts, contentType = mime:MULTIPART_FORM_DATA);
+
+    http:Client httpClient = check new ("http://localhost:9090", httpVersion = "1.1");
+    json actualPayload = check httpClient->post("/fileUploadWithSpilling", request);
+    json[] receivedContents = check (check actualPayload.data.multipleFileUpload).ensureType();
+    test:assertEquals(receivedContents.length(), filePaths.length());
+    foreach int i in 0 ..< filePaths.length() {
+        stream<io:Block, io:Error?> fileReadBlocksAsStream = check io:fileReadBlocksAsStream(filePaths[i]);
+        string contentFromSource = check common:getContentFromByteStream(fileReadBlocksAsStream);
+        common:assertJsonValuesWithOrder(check receivedContents[i].content, contentFromSource);
+    }
+}
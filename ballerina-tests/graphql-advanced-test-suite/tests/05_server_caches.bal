@@ -219,3 +219,160 @@ function dataProviderServerCacheWithListInput() returns map<[string, string[], j
     };
     return dataSet;
 }
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheInvalidationWithTags() returns error? {
+    string url = "http://localhost:9090/cache_with_tags";
+    string document = "{ one: price(id: 1) two: price(id: 2) }";
+    json actualPayload = check common:getJsonPayloadFromService(url, document);
+    json expectedPayload = {"data": {"one": 10, "two": 20}};
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+
+    _ = check common:getJsonPayloadFromService(url, "mutation { updatePriceWithoutInvalidation(id: 2, price: 25) }");
+    _ = check common:getJsonPayloadFromService(url, "mutation { updatePrice(id: 1, price: 15) }");
+
+    // Only the entries tagged with `product:1` are invalidated
+    actualPayload = check common:getJsonPayloadFromService(url, document);
+    expectedPayload = {"data": {"one": 15, "two": 20}};
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheSingleFlightLoading() returns error? {
+    string url = "http://localhost:9090/cache_single_flight";
+    string document = "{ slowGreeting }";
+    future<json|error> first = start common:getJsonPayloadFromService(url, document);
+    future<json|error> second = start common:getJsonPayloadFromService(url, document);
+    json expectedPayload = {"data": {"slowGreeting": "Hello"}};
+    common:assertJsonValuesWithOrder(check wait first, expectedPayload);
+    common:assertJsonValuesWithOrder(check wait second, expectedPayload);
+    lock {
+        // The second request waits for the value resolved by the first request
+        test:assertEquals(slowGreetingInvocationCount, 1);
+    }
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheStaleWhileRevalidate() returns error? {
+    string url = "http://localhost:9090/cache_with_stale_entries";
+    string document = "{ version }";
+    json actualPayload = check common:getJsonPayloadFromService(url, document);
+    common:assertJsonValuesWithOrder(actualPayload, {"data": {"version": 1}});
+
+    // The stale value is returned while the entry is refreshed in the background
+    runtime:sleep(1.5);
+    actualPayload = check common:getJsonPayloadFromService(url, document);
+    common:assertJsonValuesWithOrder(actualPayload, {"data": {"version": 1}});
+
+    // The refreshed value is returned once the background refresh is completed
+    json expectedPayload = {"data": {"version": 2}};
+    foreach int _ in 0 ..< 50 {
+        actualPayload = check common:getJsonPayloadFromService(url, document);
+        if actualPayload == expectedPayload {
+            break;
+        }
+        runtime:sleep(0.1);
+    }
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheStaleWhileRevalidateInRequest() returns error? {
+    string url = "http://localhost:9090/cache_with_stale_entries";
+    string document = "{ inRequestVersion }";
+    json actualPayload = check common:getJsonPayloadFromService(url, document);
+    common:assertJsonValuesWithOrder(actualPayload, {"data": {"inRequestVersion": 1}});
+
+    // The request revalidating the stale entry waits for the refresh
+    runtime:sleep(1.5);
+    actualPayload = check common:getJsonPayloadFromService(url, document);
+    common:assertJsonValuesWithOrder(actualPayload, {"data": {"inRequestVersion": 2}});
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheStaleIfError() returns error? {
+    string url = "http://localhost:9090/cache_with_stale_entries";
+    string document = "{ status }";
+    json actualPayload = check common:getJsonPayloadFromService(url, document);
+    common:assertJsonValuesWithOrder(actualPayload, {"data": {"status": "Available"}});
+
+    _ = check common:getJsonPayloadFromService(url, "mutation { setStatusFailure(failure: true) }");
+    runtime:sleep(1.5);
+    // The stale value is returned as the resolver fails after the entry is expired
+    actualPayload = check common:getJsonPayloadFromService(url, document);
+    common:assertJsonValuesWithOrder(actualPayload, {"data": {"status": "Available"}});
+    _ = check common:getJsonPayloadFromService(url, "mutation { setStatusFailure(failure: false) }");
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testResponseCache() returns error? {
+    string url = "http://localhost:9090/response_cache";
+    string document = "query Greeting($name: String!) { greeting(name: $name) }";
+    json actualPayload = check common:getJsonPayloadFromService(url, document, {name: "Walter"},
+                                                                headers = {"tenant": "t1"});
+    json expectedPayload = {"data": {"greeting": "Hello, Walter"}};
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+    actualPayload = check common:getJsonPayloadFromService(url, document, {name: "Walter"}, headers = {"tenant": "t1"});
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+    actualPayload = check common:getJsonPayloadFromService(url, document, {name: "Walter"}, headers = {"tenant": "t2"});
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+    lock {
+        test:assertEquals(responseCacheGreetingCount, 1);
+    }
+
+    // The cached responses are removed when the cache is invalidated
+    _ = check common:getJsonPayloadFromService(url, "mutation { clearCache }");
+    actualPayload = check common:getJsonPayloadFromService(url, document, {name: "Walter"}, headers = {"tenant": "t1"});
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+    lock {
+        test:assertEquals(responseCacheGreetingCount, 2);
+    }
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testResponseCacheWithNonCachedField() returns error? {
+    string url = "http://localhost:9090/response_cache";
+    string document = "{ greeting(name: \"Skyler\") timestamp }";
+    json actualPayload = check common:getJsonPayloadFromService(url, document);
+    test:assertEquals(actualPayload.data.greeting, "Hello, Skyler");
+    json firstTimestamp = check actualPayload.data.timestamp;
+    // The response is not cached as the `timestamp` field is not cached
+    actualPayload = check common:getJsonPayloadFromService(url, document);
+    json secondTimestamp = check actualPayload.data.timestamp;
+    test:assertNotEquals(secondTimestamp, firstTimestamp);
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheInvalidationWithInheritedTags() returns error? {
+    string url = "http://localhost:9090/cache_with_tags";
+    string document = "{ product(id: 3) { price } }";
+    json actualPayload = check common:getJsonPayloadFromService(url, document);
+    json expectedPayload = {"data": {"product": {"price": 30}}};
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+
+    _ = check common:getJsonPayloadFromService(url, "mutation { updatePriceWithoutInvalidation(id: 3, price: 35) }");
+    actualPayload = check common:getJsonPayloadFromService(url, document);
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+
+    // The subfield inheriting the cache config is tagged with the tags resolved for the parent field
+    _ = check common:getJsonPayloadFromService(url, "mutation { updatePrice(id: 3, price: 40) }");
+    actualPayload = check common:getJsonPayloadFromService(url, document);
+    expectedPayload = {"data": {"product": {"price": 40}}};
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+}
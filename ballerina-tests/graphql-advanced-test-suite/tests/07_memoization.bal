@@ -0,0 +1,39 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/graphql_test_common as common;
+import ballerina/test;
+
+@test:Config {
+    groups: ["memoization"]
+}
+isolated function testMemoizedResolverWithDuplicateInvocations() returns error? {
+    string url = "http://localhost:9090/memoization";
+    string document = "{ first: square(number: 2) second: square(number: 2) third: square(number: 3) }";
+    json actualPayload = check common:getJsonPayloadFromService(url, document);
+    json expectedPayload = {"data": {"first": 4, "second": 4, "third": 9}};
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+    lock {
+        test:assertEquals(squareResolverInvocationCount, 2);
+    }
+
+    // The memoized results are not shared among the requests
+    actualPayload = check common:getJsonPayloadFromService(url, document);
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+    lock {
+        test:assertEquals(squareResolverInvocationCount, 4);
+    }
+}
@@ -273,3 +273,17 @@ public distinct isolated service class School {
         return [MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY];
     }
 }
+
+public isolated service class Product {
+    private final int id;
+
+    public isolated function init(int id) {
+        self.id = id;
+    }
+
+    isolated resource function get price() returns int? {
+        lock {
+            return productPrices[self.id.toString()];
+        }
+    }
+}
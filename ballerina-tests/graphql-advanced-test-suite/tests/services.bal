@@ -17,6 +17,7 @@
 import ballerina/graphql;
 import ballerina/graphql_test_common as common;
 import ballerina/http;
+import ballerina/lang.runtime;
 
 @graphql:ServiceConfig {
     contextInit:
@@ -107,6 +108,34 @@ service /fileUpload on graphqlListener {
     }
 }
 
+@graphql:ServiceConfig {
+    fileUploadConfig: {
+        maxInMemorySize: 16
+    }
+}
+service /fileUploadWithSpilling on graphqlListener {
+    resource function get name() returns string {
+        return "/fileUploadWithSpilling";
+    }
+
+    remote function multipleFileUpload(graphql:Upload[] files) returns FileInfo[]|error {
+        FileInfo[] fileInfo = [];
+        // Reads the files in the reverse order to make sure the buffered files are available after the last file is
+        // consumed from the request.
+        foreach int i in int:range(files.length() - 1, -1, -1) {
+            graphql:Upload file = files[i];
+            string contentFromByteStream = check common:getContentFromByteStream(file.byteStream);
+            fileInfo.unshift({
+                fileName: file.fileName,
+                mimeType: file.mimeType,
+                encoding: file.encoding,
+                content: contentFromByteStream
+            });
+        }
+        return fileInfo;
+    }
+}
+
 service /service_types on graphqlListener {
     isolated resource function get person(graphql:Field 'field) returns Person {
         string[] subfieldNames = 'field.getSubfieldNames();
@@ -610,6 +639,165 @@ service /cache_with_list_input on graphqlListener {
     }
 }
 
+isolated map<int> productPrices = {"1": 10, "2": 20, "3": 30};
+
+service /cache_with_tags on graphqlListener {
+    @graphql:ResourceConfig {
+        cacheConfig: {
+            maxAge: 600,
+            tags: ["product:{id}"]
+        }
+    }
+    isolated resource function get price(int id) returns int? {
+        lock {
+            return productPrices[id.toString()];
+        }
+    }
+
+    @graphql:ResourceConfig {
+        cacheConfig: {
+            maxAge: 600,
+            tags: ["product:{id}"]
+        }
+    }
+    isolated resource function get product(int id) returns Product {
+        return new (id);
+    }
+
+    isolated remote function updatePrice(graphql:Context context, int id, int price) returns int|error {
+        lock {
+            productPrices[id.toString()] = price;
+        }
+        check context.invalidateTags([string `product:${id}`]);
+        return price;
+    }
+
+    isolated remote function updatePriceWithoutInvalidation(int id, int price) returns int {
+        lock {
+            productPrices[id.toString()] = price;
+        }
+        return price;
+    }
+}
+
+isolated int slowGreetingInvocationCount = 0;
+
+service /cache_single_flight on graphqlListener {
+    @graphql:ResourceConfig {
+        cacheConfig: {
+            maxAge: 600
+        }
+    }
+    isolated resource function get slowGreeting() returns string {
+        lock {
+            slowGreetingInvocationCount += 1;
+        }
+        runtime:sleep(1);
+        return "Hello";
+    }
+}
+
+isolated int staleCacheVersion = 0;
+isolated int inRequestStaleCacheVersion = 0;
+isolated boolean staleCacheFailure = false;
+
+service /cache_with_stale_entries on graphqlListener {
+    @graphql:ResourceConfig {
+        cacheConfig: {
+            maxAge: 1,
+            staleWhileRevalidate: 60
+        }
+    }
+    isolated resource function get version() returns int {
+        lock {
+            staleCacheVersion += 1;
+            return staleCacheVersion;
+        }
+    }
+
+    @graphql:ResourceConfig {
+        cacheConfig: {
+            maxAge: 1,
+            staleWhileRevalidate: 60,
+            revalidateInRequest: true
+        }
+    }
+    isolated resource function get inRequestVersion() returns int {
+        lock {
+            inRequestStaleCacheVersion += 1;
+            return inRequestStaleCacheVersion;
+        }
+    }
+
+    @graphql:ResourceConfig {
+        cacheConfig: {
+            maxAge: 1,
+            staleIfError: 60
+        }
+    }
+    isolated resource function get status() returns string|error {
+        lock {
+            if staleCacheFailure {
+                return error("Status is not available");
+            }
+        }
+        return "Available";
+    }
+
+    isolated remote function setStatusFailure(boolean failure) returns boolean {
+        lock {
+            staleCacheFailure = failure;
+        }
+        return failure;
+    }
+}
+
+isolated int responseCacheGreetingCount = 0;
+isolated int responseCacheTimestampCount = 0;
+
+@graphql:ServiceConfig {
+    cacheConfig: {
+        maxAge: 600
+    },
+    responseCacheConfig: {
+        contextKeys: ["tenant"]
+    },
+    contextInit:
+    isolated function(http:RequestContext requestContext, http:Request request) returns graphql:Context {
+        graphql:Context context = new;
+        string|http:HeaderNotFoundError tenant = request.getHeader("tenant");
+        if tenant is string {
+            context.set("tenant", tenant);
+        }
+        return context;
+    }
+}
+service /response_cache on graphqlListener {
+    isolated resource function get greeting(string name) returns string {
+        lock {
+            responseCacheGreetingCount += 1;
+        }
+        return string `Hello, ${name}`;
+    }
+
+    @graphql:ResourceConfig {
+        cacheConfig: {
+            enabled: false
+        }
+    }
+    isolated resource function get timestamp() returns int {
+        lock {
+            responseCacheTimestampCount += 1;
+            return responseCacheTimestampCount;
+        }
+    }
+
+    isolated remote function clearCache(graphql:Context context) returns boolean|error {
+        check context.invalidateAll();
+        return true;
+    }
+}
+
 @graphql:ServiceConfig {
     queryComplexityConfig: {
         maxComplexity: 20,
@@ -662,3 +850,17 @@ service /complexity on graphqlListener {
         }
     }
 }
+
+isolated int squareResolverInvocationCount = 0;
+
+service /memoization on graphqlListener {
+    @graphql:ResourceConfig {
+        memoize: true
+    }
+    isolated resource function get square(int number) returns int {
+        lock {
+            squareResolverInvocationCount += 1;
+        }
+        return number * number;
+    }
+}
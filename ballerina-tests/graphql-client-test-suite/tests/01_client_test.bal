@@ -16,6 +16,7 @@
 
 import ballerina/graphql;
 import ballerina/graphql_test_common as common;
+import ballerina/http;
 import ballerina/test;
 
 @test:Config {
@@ -726,3 +727,69 @@ isolated function testClientDataBindingErrorHavingACause() returns error? {
     test:assertEquals(actualErrorDetails, expectedErrorDetails);
     test:assertTrue(err.cause() !is (), "PayloadBindingError should have a cause");
 }
+
+@test:Config {
+    groups: ["client", "normalize"]
+}
+isolated function testNormalizedResponse() returns error? {
+    string url = "http://localhost:9090/members";
+    string document = string `{ members { __typename id name club { __typename id name } } }`;
+    http:Request request = new;
+    request.setJsonPayload({query: document, extensions: {normalize: true}});
+    json actualPayload = check common:getJsonPayloadFromRequest(url, request);
+    json expectedPayload = {
+        data: {
+            members: [{__ref: "Member:1"}, {__ref: "Member:2"}]
+        },
+        extensions: {
+            entities: {
+                "Club:c1": {__typename: "Club", id: "c1", name: "Chess Club"},
+                "Member:1": {__typename: "Member", id: 1, name: "Magnus", club: {__ref: "Club:c1"}},
+                "Member:2": {__typename: "Member", id: 2, name: "Hikaru", club: {__ref: "Club:c1"}}
+            }
+        }
+    };
+    test:assertEquals(actualPayload, expectedPayload);
+}
+
+@test:Config {
+    groups: ["client", "normalize"]
+}
+isolated function testClientWithNormalizedResponse() returns error? {
+    string url = "http://localhost:9090/members";
+    string document = string `{ members { __typename id name club { __typename id name } } }`;
+    graphql:Client graphqlClient = check new (url, normalizeResponse = true);
+    json actualPayload = check graphqlClient->execute(document);
+    json expectedPayload = {
+        data: {
+            members: [
+                {
+                    __typename: "Member",
+                    id: 1,
+                    name: "Magnus",
+                    club: {__typename: "Club", id: "c1", name: "Chess Club"}
+                },
+                {
+                    __typename: "Member",
+                    id: 2,
+                    name: "Hikaru",
+                    club: {__typename: "Club", id: "c1", name: "Chess Club"}
+                }
+            ]
+        }
+    };
+    common:assertJsonValuesWithOrder(actualPayload, expectedPayload);
+}
+
+@test:Config {
+    groups: ["client", "normalize"]
+}
+isolated function testClientWithNormalizedResponseBindingToRecord() returns error? {
+    string url = "http://localhost:9090/members";
+    string document = string `{ members { name club { __typename id name } } }`;
+    graphql:Client graphqlClient = check new (url, normalizeResponse = true);
+    MembersResponse response = check graphqlClient->execute(document);
+    test:assertEquals(response.data.members.length(), 2);
+    test:assertEquals(response.data.members[0].club.name, "Chess Club");
+    test:assertEquals(response.data.members[1].club.id, "c1");
+}
@@ -164,3 +164,26 @@ type PersonInfoResponse record {|
 type AddressInfoResponse record {|
     string city;
 |};
+
+type Club readonly & record {
+    string id;
+    string name;
+};
+
+type Member readonly & record {
+    int id;
+    string name;
+    Club club;
+};
+
+type MembersResponse record {|
+    record {|
+        record {|
+            string name;
+            record {
+                string id;
+                string name;
+            } club;
+        |}[] members;
+    |} data;
+|};
@@ -100,3 +100,9 @@ service /profiles on graphqlListener {
         return "London";
     }
 }
+
+service /members on graphqlListener {
+    resource function get members() returns Member[] {
+        return members;
+    }
+}
@@ -115,3 +115,13 @@ final readonly & Book b6 = {
 
 final readonly & Student[] students = [s1, s2, s3];
 final readonly & Person[] people = [p1, p2, p3];
+
+final readonly & Club club1 = {
+    id: "c1",
+    name: "Chess Club"
+};
+
+final readonly & Member[] members = [
+    {id: 1, name: "Magnus", club: club1},
+    {id: 2, name: "Hikaru", club: club1}
+];
@@ -123,3 +123,16 @@ isolated function testBatchFunctionReturingNonMatchingNumberOfResults() returns
     json expectedPayload = check common:getJsonContentFromFile("batch_function_returning_non_matcing_number_of_results");
     common:assertJsonValuesWithOrder(response, expectedPayload);
 }
+
+@test:Config {
+    groups: ["dataloader", "batch_function"],
+    after: resetDispatchCounters
+}
+isolated function testFieldWithBatchFunction() returns error? {
+    graphql:Client graphqlClient = check new ("localhost:9090/batch_function");
+    string document = check common:getGraphqlDocumentFromFile("dataloader_with_query");
+    json response = check graphqlClient->execute(document);
+    json expectedPayload = check common:getJsonContentFromFile("dataloader_with_query");
+    common:assertJsonValuesWithOrder(response, expectedPayload);
+    assertDispatchCountForBookLoader(1);
+}
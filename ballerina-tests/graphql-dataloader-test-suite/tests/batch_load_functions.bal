@@ -97,3 +97,19 @@ isolated function bookLoaderFunction2(readonly & anydata[] ids) returns BookRow[
         }
     });
 };
+
+isolated function batchedBooksFunction(BatchedAuthor[] authors) returns BookData[][] {
+    lock {
+        dispatchCountOfBookLoader += 1;
+    }
+    BookData[][] books = [];
+    foreach BatchedAuthor author in authors {
+        int authorId = author.getId();
+        readonly & BookRow[] bookRows;
+        lock {
+            bookRows = bookTable.'filter(book => book.author == authorId).toArray().cloneReadOnly();
+        }
+        books.push(bookRows.'map(bookRow => new BookData(bookRow)));
+    }
+    return books;
+}
@@ -108,3 +108,27 @@ public isolated distinct service class AuthorData2 {
             select new BookData(bookRow);
     }
 }
+
+public isolated distinct service class BatchedAuthor {
+    private final readonly & AuthorRow author;
+
+    isolated function init(AuthorRow author) {
+        self.author = author.cloneReadOnly();
+    }
+
+    isolated resource function get name() returns string {
+        return self.author.name;
+    }
+
+    // Resolved for all the authors at once using the batch function
+    @graphql:ResourceConfig {
+        batchFunction: batchedBooksFunction
+    }
+    isolated resource function get books() returns BookData[] {
+        return [];
+    }
+
+    isolated function getId() returns int {
+        return self.author.id;
+    }
+}
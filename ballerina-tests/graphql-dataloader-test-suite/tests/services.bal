@@ -185,3 +185,14 @@ function addAuthorIdsToAuthorLoader2(graphql:Context ctx, int[] ids) {
     });
 }
 
+
+service /batch_function on wrappedListener {
+    resource function get authors(int[] ids) returns BatchedAuthor[]|error {
+        readonly & int[] authorIds = ids.cloneReadOnly();
+        readonly & AuthorRow[] authorRows;
+        lock {
+            authorRows = check trap authorIds.'map(id => authorTable.get(id)).cloneReadOnly();
+        }
+        return authorRows.'map(authorRow => new BatchedAuthor(authorRow));
+    }
+}
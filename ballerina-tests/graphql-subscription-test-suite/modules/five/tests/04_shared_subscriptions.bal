@@ -0,0 +1,48 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/graphql_test_common as common;
+import ballerina/test;
+import ballerina/websocket;
+
+@test:Config {
+    enable: false,
+    groups: ["shared_subscriptions", "subscriptions"]
+}
+isolated function testSharedSubscriptions() returns error? {
+    string document = string `subscription { ticks }`;
+    string url = "ws://localhost:9091/shared_subscriptions";
+    websocket:ClientConfiguration config = {subProtocols: [common:GRAPHQL_TRANSPORT_WS]};
+    websocket:Client wsClient1 = check new (url, config);
+    check common:initiateGraphqlWsConnection(wsClient1);
+    check common:sendSubscriptionMessage(wsClient1, document, "1");
+
+    websocket:Client wsClient2 = check new (url, config);
+    check common:initiateGraphqlWsConnection(wsClient2);
+    check common:sendSubscriptionMessage(wsClient2, document, "2");
+
+    foreach int i in 1 ..< 4 {
+        json expectedMsgPayload = {data: {ticks: i}};
+        check common:validateNextMessage(wsClient1, expectedMsgPayload, id = "1");
+        check common:validateNextMessage(wsClient2, expectedMsgPayload, id = "2");
+    }
+    check common:validateCompleteMessage(wsClient1, id = "1");
+    check common:validateCompleteMessage(wsClient2, id = "2");
+    // The subscription resolver is invoked once for both the subscribers
+    lock {
+        test:assertEquals(tickSubscriptionCount, 1);
+    }
+}
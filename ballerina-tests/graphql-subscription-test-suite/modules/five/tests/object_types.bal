@@ -14,6 +14,8 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/lang.runtime;
+
 public service class AccountDetails {
     final string name;
     final int createdYear;
@@ -43,3 +45,24 @@ public service class Product {
         return self.id;
     }
 }
+
+isolated class TickGenerator {
+    private final int count;
+    private int current = 0;
+
+    isolated function init(int count) {
+        self.count = count;
+    }
+
+    public isolated function next() returns record {|int value;|}|error? {
+        // Leaves time for the other subscribers to join before each event
+        runtime:sleep(0.5);
+        lock {
+            if self.current >= self.count {
+                return;
+            }
+            self.current += 1;
+            return {value: self.current};
+        }
+    }
+}
@@ -71,3 +71,22 @@ service /constraints on subscriptionListener {
         return movie.reviews.toStream();
     }
 }
+
+isolated int tickSubscriptionCount = 0;
+
+@graphql:ServiceConfig {
+    subscriptionSharingConfig: {}
+}
+service /shared_subscriptions on subscriptionListener {
+    isolated resource function get greet() returns string {
+        return "welcome!";
+    }
+
+    isolated resource function subscribe ticks() returns stream<int, error?> {
+        lock {
+            tickSubscriptionCount += 1;
+        }
+        TickGenerator generator = new (3);
+        return new (generator);
+    }
+}
@@ -38,6 +38,13 @@ isolated function getContextInit(GraphqlServiceConfig? serviceConfig) returns Co
     return initDefaultContext;
 }
 
+isolated function getFileUploadConfig(GraphqlServiceConfig? serviceConfig) returns FileUploadConfig {
+    if serviceConfig is GraphqlServiceConfig {
+        return serviceConfig.fileUploadConfig;
+    }
+    return {};
+}
+
 isolated function getServiceConfig(Service serviceObject) returns GraphqlServiceConfig|Error {
     typedesc<any> serviceType = typeof serviceObject;
     GraphqlServiceConfig|error config = serviceType.@ServiceConfig.ensureType();
@@ -73,9 +80,8 @@ isolated function getValidation(GraphqlServiceConfig? serviceConfig) returns boo
     return true;
 }
 
-isolated function getFieldInterceptors(service object {} serviceObj, parser:RootOperationType operationType,
-        string fieldName, string[] resourcePath) returns readonly & (readonly & Interceptor)[] {
-    GraphqlResourceConfig? resourceConfig = getResourceAnnotation(serviceObj, operationType, resourcePath, fieldName);
+isolated function getFieldInterceptors(GraphqlResourceConfig? resourceConfig)
+returns readonly & (readonly & Interceptor)[] {
     if resourceConfig is GraphqlResourceConfig {
         readonly & ((readonly & Interceptor)|(readonly & Interceptor)[]) interceptors = resourceConfig.interceptors;
         if interceptors is (readonly & Interceptor) {
@@ -96,6 +102,22 @@ isolated function getPrefetchMethodName(service object {} serviceObj, Field 'fie
     return;
 }
 
+isolated function getBatchFunction(GraphqlResourceConfig? resourceConfig) returns isolated function? {
+    if resourceConfig is GraphqlResourceConfig {
+        return resourceConfig.batchFunction;
+    }
+    return;
+}
+
+isolated function getCoalesceWindow(service object {} serviceObj, Field 'field) returns decimal? {
+    GraphqlResourceConfig? resourceConfig = getResourceAnnotation(serviceObj,
+        'field.getOperationType(), 'field.getResourcePath(), 'field.getName());
+    if resourceConfig is GraphqlResourceConfig {
+        return resourceConfig.coalesceWindow;
+    }
+    return;
+}
+
 isolated function isGlobalInterceptor(readonly & Interceptor interceptor) returns boolean {
     GraphqlInterceptorConfig? interceptorConfig = getInterceptorConfig(interceptor);
     if interceptorConfig is GraphqlInterceptorConfig {
@@ -125,9 +147,7 @@ isolated function getFieldCacheConfigFromServiceConfig(GraphqlServiceConfig? ser
     return;
 }
 
-isolated function getFieldCacheConfig(service object {} serviceObj, parser:RootOperationType operationType,
-        string fieldName, string[] resourcePath) returns ServerCacheConfig? {
-    GraphqlResourceConfig? resourceConfig = getResourceAnnotation(serviceObj, operationType, resourcePath, fieldName);
+isolated function getFieldCacheConfig(GraphqlResourceConfig? resourceConfig) returns ServerCacheConfig? {
     if resourceConfig is GraphqlResourceConfig {
         return resourceConfig.cacheConfig;
     }
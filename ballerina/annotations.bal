@@ -39,8 +39,24 @@ public type GraphqlServiceConfig record {|
     ServerCacheConfig cacheConfig?;
     # The field cache config derived from the resource annotations. This is auto-generated at the compile time
     readonly ServerCacheConfig? fieldCacheConfig = ();
+    # The configurations for caching the whole responses of the query operations
+    ResponseCacheConfig responseCacheConfig?;
+    # The configurations for the off-heap tier of the server cache
+    OffHeapCacheConfig offHeapCacheConfig?;
+    # The store of the server cache entries, to share them among the instances of the service
+    readonly & CacheStore cacheStore?;
+    # The configurations for writing the server cache to a snapshot file when the listener is stopped, and restoring it
+    # when the listener is started
+    CacheSnapshotConfig cacheSnapshotConfig?;
+    # The configurations for sharing the source streams and the event executions among the identical subscriptions
+    SubscriptionSharingConfig subscriptionSharingConfig?;
+    # The configurations for the bounded outbound queues of the subscriptions. If not provided, the messages are written
+    # to the subscribers directly by the subscriptions
+    SubscriptionQueueConfig subscriptionQueueConfig?;
     # The query complexity configuration for the service.
     QueryComplexityConfig queryComplexityConfig?;
+    # The configurations for the multipart file uploads
+    FileUploadConfig fileUploadConfig = {};
 |};
 
 # The annotation to configure a GraphQL service.
@@ -52,10 +68,20 @@ public type GraphqlResourceConfig record {|
     readonly (readonly & Interceptor)|(readonly & Interceptor)[] interceptors = [];
     # The name of the instance method to be used for prefetching
     string prefetchMethodName?;
+    # The function to resolve the field for a set of parent objects at once. The parent objects of all the
+    # invocations of the field in a request are collected and passed to this function in a single call. The function
+    # must accept an array of the parent objects and return an array of the field values in the same order
+    isolated function batchFunction?;
     # The cache configurations for the fields
     ServerCacheConfig cacheConfig?;
     # The complexity value of the field
     int complexity?;
+    # Whether to share the result of the resolver among the invocations with the same arguments in a single request.
+    # Applies only to the `get` resource methods
+    boolean memoize = false;
+    # The coalescing window of the subscription events in seconds. Only the latest event emitted by the source stream
+    # within the window is executed and sent to the subscriber. Applies only to the `subscribe` resource methods
+    decimal coalesceWindow?;
 |};
 
 # The annotation to configure a GraphQL resolver.
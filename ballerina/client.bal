@@ -20,6 +20,7 @@ import ballerina/http;
 # The Ballerina GraphQL client that can be used to communicate with GraphQL APIs.
 public isolated client class Client {
     final http:Client httpClient;
+    final boolean normalizeResponse;
 
     # Gets invoked to initialize the `connector`.
     #
@@ -27,13 +28,15 @@ public isolated client class Client {
     # + clientConfig - The configurations to be used when initializing the `connector`
     # + return - An error at the failure of client initialization
     public isolated function init(string serviceUrl, *ClientConfiguration clientConfig)  returns ClientError? {
-        http:ClientConfiguration httpClientConfig = {...clientConfig};
+        var {normalizeResponse, ...httpConfig} = clientConfig;
+        http:ClientConfiguration httpClientConfig = {...httpConfig};
         httpClientConfig.httpVersion = http:HTTP_1_1;
         http:Client|http:ClientError httpClient = new (serviceUrl, httpClientConfig);
         if httpClient is http:ClientError {
              return error HttpError("GraphQL Client Error", httpClient, body = ());
         }
         self.httpClient = httpClient;
+        self.normalizeResponse = normalizeResponse;
     }
 
     # Executes a GraphQL document and data binds the GraphQL response to a record with data and extensions
@@ -64,13 +67,16 @@ public isolated client class Client {
                                                      map<string|string[]>? headers)
                                                      returns GenericResponse|record{}|json|ClientError {
         http:Request request = new;
-        json graphqlPayload = getGraphqlPayload(document, variables, operationName);
+        json graphqlPayload = getGraphqlPayload(document, variables, operationName, self.normalizeResponse);
         request.setPayload(graphqlPayload);
         json|http:ClientError httpResponse = self.httpClient->post("", request, headers = headers);
 
         if httpResponse is http:ClientError {
             return handleHttpClientErrorResponse(httpResponse);
         }
+        if self.normalizeResponse {
+            httpResponse = getDenormalizedResponse(httpResponse);
+        }
         map<json>|error responseMap = httpResponse.ensureType();
         if responseMap is error {
             return error RequestError("GraphQL Client Error", responseMap);
@@ -107,13 +113,16 @@ public isolated client class Client {
                                              map<string|string[]>? headers)
                                              returns GenericResponseWithErrors|record{}|json|ClientError {
         http:Request request = new;
-        json graphqlPayload = getGraphqlPayload(document, variables, operationName);
+        json graphqlPayload = getGraphqlPayload(document, variables, operationName, self.normalizeResponse);
         request.setPayload(graphqlPayload);
         json|http:ClientError httpResponse = self.httpClient->post("", request, headers = headers);
 
         if httpResponse is http:ClientError {
             return handleHttpClientErrorResponse(httpResponse);
         }
+        if self.normalizeResponse {
+            httpResponse = getDenormalizedResponse(httpResponse);
+        }
         return check performDataBindingWithErrors(targetType, httpResponse);
     }
 }
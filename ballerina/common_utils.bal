@@ -16,8 +16,8 @@
 
 import graphql.parser;
 
-import ballerina/crypto;
 import ballerina/http;
+import ballerina/lang.regexp;
 
 // Error messages
 const UNABLE_TO_PERFORM_DATA_BINDING = "Unable to perform data binding";
@@ -378,8 +378,16 @@ isolated function getInputObjectFieldFormPath((string|int)[] path, string name)
     return name;
 }
 
-isolated function getGraphqlPayload(string query, map<anydata>? variables = (), string? operationName = ())
-                                    returns json {
+isolated function getGraphqlPayload(string query, map<anydata>? variables = (), string? operationName = (),
+                                    boolean normalize = false) returns json {
+    if normalize {
+        return {
+            query: query,
+            variables: variables.toJson(),
+            operationName: operationName,
+            extensions: {[NORMALIZE_EXTENSION]: true}
+        };
+    }
     return {
         query: query,
         variables: variables.toJson(),
@@ -387,6 +395,58 @@ isolated function getGraphqlPayload(string query, map<anydata>? variables = (),
     };
 }
 
+isolated function getDenormalizedResponse(json response) returns json {
+    if response !is map<json> {
+        return response;
+    }
+    json extensions = response[EXTENSIONS_FIELD];
+    if extensions !is map<json> {
+        return response;
+    }
+    json entities = extensions[ENTITIES_FIELD];
+    if entities !is map<json> {
+        return response;
+    }
+    map<json> denormalizedResponse = response.clone();
+    if denormalizedResponse[DATA_FIELD] is map<json> {
+        map<json> resolvedEntities = {};
+        denormalizedResponse[DATA_FIELD] = denormalizeValue(response.get(DATA_FIELD), entities, resolvedEntities);
+    }
+    map<json> remainingExtensions = extensions.clone();
+    _ = remainingExtensions.remove(ENTITIES_FIELD);
+    if remainingExtensions.length() == 0 {
+        _ = denormalizedResponse.remove(EXTENSIONS_FIELD);
+    } else {
+        denormalizedResponse[EXTENSIONS_FIELD] = remainingExtensions;
+    }
+    return denormalizedResponse;
+}
+
+isolated function denormalizeValue(json value, map<json> entities, map<json> resolvedEntities) returns json {
+    if value is json[] {
+        json[] result = [];
+        foreach json member in value {
+            result.push(denormalizeValue(member, entities, resolvedEntities));
+        }
+        return result;
+    }
+    if value !is map<json> {
+        return value;
+    }
+    json reference = value[ENTITY_REFERENCE_FIELD];
+    if value.length() == 1 && reference is string && entities.hasKey(reference) {
+        if !resolvedEntities.hasKey(reference) {
+            resolvedEntities[reference] = denormalizeValue(entities.get(reference), entities, resolvedEntities);
+        }
+        return resolvedEntities.get(reference).clone();
+    }
+    map<json> result = {};
+    foreach [string, json] [key, fieldValue] in value.entries() {
+        result[key] = denormalizeValue(fieldValue, entities, resolvedEntities);
+    }
+    return result;
+}
+
 isolated function handleHttpClientErrorResponse(http:ClientError clientError) returns RequestError {
     if clientError is http:ApplicationResponseError {
         anydata body = clientError.detail().get("body");
@@ -516,39 +576,60 @@ public isolated function __addError(Context context, ErrorDetail errorDetail) {
     context.addError(errorDetail);
 }
 
+// Generates the hash of the argument values directly from the argument nodes, along with the parent argument hashes and
+// the optional fields
 isolated function generateArgHash(parser:ArgumentNode[] arguments, string[] parentArgHashes = [],
-                                  string[] optionalFields = []) returns string {
-    any[] argValues = [...parentArgHashes, ...optionalFields];
-    argValues.push(...arguments.'map((arg) => getValueArrayFromArgumentNode(arg)));
-    byte[] hash = crypto:hashMd5(argValues.toString().toBytes());
-    return hash.toBase64();
+        string[] optionalFields = []) returns string = @java:Method {
+    'class: "io.ballerina.stdlib.graphql.runtime.engine.EngineUtils"
+} external;
+
+isolated function generateHash(anydata value) returns string = @java:Method {
+    'class: "io.ballerina.stdlib.graphql.runtime.engine.EngineUtils"
+} external;
+
+// Generates a hash which does not depend on the order of the map entries of the value
+isolated function generateCanonicalHash(anydata value) returns string = @java:Method {
+    'class: "io.ballerina.stdlib.graphql.runtime.engine.EngineUtils"
+} external;
+
+isolated function getCacheKeyPrefix(readonly & (string|int)[] path) returns string {
+    string prefix = "";
+    foreach string|int segment in path {
+        prefix += string `${segment}.`;
+    }
+    return prefix;
+}
+
+isolated function getCacheTag(string template, parser:ArgumentNode[] arguments, any fieldValue) returns string? {
+    string tag = "";
+    int index = 0;
+    foreach regexp:Span span in re `\{[A-Za-z_][A-Za-z0-9_]*\}`.findAll(template) {
+        anydata value = getCacheTagValue(template.substring(span.startIndex + 1, span.endIndex - 1), arguments,
+            fieldValue);
+        if value is () {
+            return;
+        }
+        tag += template.substring(index, span.startIndex) + value.toString();
+        index = span.endIndex;
+    }
+    return tag + template.substring(index);
 }
 
-isolated function getValueArrayFromArgumentNode(parser:ArgumentNode argumentNode) returns anydata[] {
-    anydata[] valueArray = [];
-    if argumentNode.isVariableDefinition() {
-        valueArray.push(argumentNode.getVariableValue());
-    } else {
-        parser:ArgumentValue|parser:ArgumentValue[] argValue = argumentNode.getValue();
-        if argValue is parser:ArgumentValue[] {
-            foreach parser:ArgumentValue argField in argValue {
-                parser:ArgumentNode|Scalar? argFieldNode = argField;
-                if argFieldNode is parser:ArgumentNode {
-                    valueArray.push(getValueArrayFromArgumentNode(argFieldNode));
-                } else {
-                    valueArray.push(argFieldNode);
-                }
-            }
-        } else {
-            parser:ArgumentNode|Scalar? argFieldNode = argValue;
-            if argFieldNode is parser:ArgumentNode {
-                valueArray.push(getValueArrayFromArgumentNode(argFieldNode));
-            } else {
-                valueArray.push(argFieldNode);
-            }
+isolated function getCacheTagValue(string name, parser:ArgumentNode[] arguments, any fieldValue) returns anydata {
+    foreach parser:ArgumentNode argument in arguments {
+        if argument.getName() != name {
+            continue;
+        }
+        if argument.isVariableDefinition() {
+            return argument.getVariableValue();
         }
+        parser:ArgumentValue|parser:ArgumentValue[] value = argument.getValue();
+        return value is Scalar ? value : ();
+    }
+    if fieldValue is map<anydata> {
+        return fieldValue[name];
     }
-    return valueArray;
+    return;
 }
 
 isolated function getNullableFieldsFromType(__Type fieldType) returns string[] {
@@ -23,11 +23,24 @@ const HTTP_HOST_HEADER = "Host";
 const PARAM_QUERY = "query";
 const PARAM_OPERATION_NAME = "operationName";
 const PARAM_VARIABLES = "variables";
+const PARAM_EXTENSIONS = "extensions";
 
 const MULTIPART_OPERATIONS = "operations";
 const MULITPART_MAP = "map";
 const UPLOAD = "Upload";
 const CONTENT_ENCODING = "Content-Encoding";
+const CONTENT_DISPOSITION = "Content-Disposition";
+const MULTIPART_BOUNDARY = "boundary";
+
+// The path and the partition of the cached responses in the server cache. The path cannot clash with the field paths,
+// as `$` is not allowed in GraphQL names.
+const RESPONSE_CACHE_PATH = "$response";
+const RESPONSE_CACHE_PARTITION = "$response";
+const CRLF = "\r\n";
+const byte HYPHEN = 45;
+const byte[] HEADER_SEPARATOR = [13, 10, 13, 10];
+const UPLOAD_TEMP_FILE_PREFIX = "graphql-upload-";
+const UPLOAD_READ_BLOCK_SIZE = 8192;
 
 const SCHEMA_FIELD = "__schema";
 const TYPE_NAME_FIELD = "__typename";
@@ -43,10 +56,17 @@ const NAME_ARGUMENT = "name";
 const KEY_ARGUMENT = "key";
 const DATA_FIELD = "data";
 const ERRORS_FIELD = "errors";
+const EXTENSIONS_FIELD = "extensions";
 const SUBSCRIPTION_FIELD = "subscriptionType";
 const IS_DEPRECATED_FIELD = "isDeprecated";
 const INCLUDE_DEPRECATED_ARGUMENT = "includeDeprecated";
 
+// Fields used in normalized responses
+const NORMALIZE_EXTENSION = "normalize";
+const ENTITIES_FIELD = "entities";
+const ENTITY_REFERENCE_FIELD = "__ref";
+const ENTITY_ID_FIELD = "id";
+
 // Scalar type names used in GraphQL
 const INT = "Int";
 const STRING = "String";
@@ -90,6 +110,31 @@ const GRAPHQL_OPERATION_NAME = "graphql_service_operation_name";
 const GRAPHQL_OPERATION_TYPE = "graphql_service_operation_type";
 const GRAPHQL_ERRORS = "graphql_service_errors";
 const GRAPHQL_FIELD_NAME = "graphql_service_field_name";
+const GRAPHQL_DATALOADER_ID = "graphql_dataloader_id";
+const GRAPHQL_DATALOADER_BATCH_SIZE_BUCKET = "graphql_dataloader_batch_size_bucket";
+const GRAPHQL_DATALOADER_BATCHES = "graphql_dataloader_batches_total";
+const GRAPHQL_DATALOADER_KEYS = "graphql_dataloader_keys_total";
+const GRAPHQL_DATALOADER_BATCH_SIZE = "graphql_dataloader_batch_size";
+const GRAPHQL_DATALOADER_DUPLICATE_KEYS = "graphql_dataloader_duplicate_keys_total";
+const GRAPHQL_DATALOADER_CACHE_HITS = "graphql_dataloader_cache_hits_total";
+const GRAPHQL_DATALOADER_BATCH_FAILURES = "graphql_dataloader_batch_failures_total";
+const GRAPHQL_DATALOADER_BATCH_LATENCY = "graphql_dataloader_batch_latency_seconds";
+const GRAPHQL_SERVER_CACHE_PARTITION = "graphql_server_cache_partition";
+const GRAPHQL_SERVER_CACHE_WEIGHT = "graphql_server_cache_weight";
+const GRAPHQL_SERVER_CACHE_OFF_HEAP_ENTRIES = "graphql_server_cache_off_heap_entries";
+const GRAPHQL_SERVER_CACHE_OFF_HEAP_BYTES = "graphql_server_cache_off_heap_bytes";
+const GRAPHQL_SERVER_CACHE_COORDINATE = "graphql_server_cache_coordinate";
+const GRAPHQL_SERVER_CACHE_HITS = "graphql_server_cache_hits_total";
+const GRAPHQL_SERVER_CACHE_MISSES = "graphql_server_cache_misses_total";
+const GRAPHQL_SERVER_CACHE_PUTS = "graphql_server_cache_puts_total";
+const GRAPHQL_SERVER_CACHE_EVICTIONS = "graphql_server_cache_evictions_total";
+const GRAPHQL_SERVER_CACHE_EXPIRATIONS = "graphql_server_cache_expirations_total";
+const GRAPHQL_SERVER_CACHE_INVALIDATIONS = "graphql_server_cache_invalidations_total";
+const GRAPHQL_SERVER_CACHE_LOOKUP_LATENCY = "graphql_server_cache_lookup_latency_seconds";
+const DEFAULT_SERVER_CACHE_PARTITION = "default";
+const GRAPHQL_SUBSCRIPTION_OVERFLOW_POLICY = "graphql_subscription_overflow_policy";
+const GRAPHQL_SUBSCRIPTION_QUEUE_DEPTH = "graphql_subscription_queue_depth";
+const GRAPHQL_SUBSCRIPTION_DROPPED_EVENTS = "graphql_subscription_dropped_events_total";
 
 const GRAPHQL_PARSING_ERROR = "graphql_service_parsing_error";
 const GRAPHQL_VALIDATION_ERROR = "graphql_service_validation_error";
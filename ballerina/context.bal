@@ -25,6 +25,8 @@ public isolated class Context {
     private final ErrorDetail[] errors = [];
     private Engine? engine = ();
     private boolean hasFileInfo = false; // This field value changed by setFileInfo method
+    private final map<dataloader:DataLoaderStats> reportedDataLoaderStats = {};
+    private decimal? responseCacheMaxAge = ();
 
     public isolated function init() {
         self.initializeContext();
@@ -94,6 +96,38 @@ public isolated class Context {
         'class: "io.ballerina.stdlib.graphql.runtime.engine.Context"
     } external;
 
+    # Retrieves the statistics collected by a DataLoader registered in the GraphQL context.
+    # ```ballerina
+    # dataloader:DataLoaderStats? stats = context.getDataLoaderStats("user");
+    # ```
+    #
+    # + key - The key corresponding to the DataLoader
+    # + return - The statistics if a `dataloader:DefaultDataLoader` is registered for the key, `()` otherwise
+    public isolated function getDataLoaderStats(string key) returns dataloader:DataLoaderStats? {
+        if self.getDataLoaderIds().indexOf(key) is () {
+            return;
+        }
+        dataloader:DataLoader dataloader = self.getDataLoader(key);
+        if dataloader is dataloader:DefaultDataLoader {
+            return dataloader.getStats();
+        }
+        return;
+    }
+
+    # Retrieves the statistics of the server cache, collected for each field coordinate since the service is attached.
+    # ```ballerina
+    # graphql:ServerCacheStats? stats = context.getServerCacheStats()["Query.person"];
+    # ```
+    #
+    # + return - The statistics of each field coordinate having cache lookups or entries
+    public isolated function getServerCacheStats() returns map<ServerCacheStats> {
+        Engine? engine = self.getEngine();
+        if engine is Engine {
+            return engine.getServerCacheStats();
+        }
+        return {};
+    }
+
     # Remove cache entries related to the given path.
     #
     # + path - The path corresponding to the cache entries to be removed (Ex: "person.address.city")
@@ -106,6 +140,18 @@ public isolated class Context {
         return;
     }
 
+    # Remove the cache entries having any of the given tags.
+    #
+    # + tags - The tags of the cache entries to be removed (Ex: `["product:1"]`)
+    # + return - The error if the cache invalidation fails or nil otherwise
+    public isolated function invalidateTags(string[] tags) returns error? {
+        Engine? engine = self.getEngine();
+        if engine is Engine {
+            return engine.invalidateTags(tags.cloneReadOnly());
+        }
+        return;
+    }
+
     # Remove all cache entries.
     #
     # + return - The error if the cache invalidateion fails or nil otherwise
@@ -164,6 +210,21 @@ public isolated class Context {
         }
     }
 
+    // Limits the time to cache the response of the operation to the given max age. A max age of `0` prevents caching
+    // the response.
+    isolated function limitResponseCacheMaxAge(decimal maxAge) {
+        lock {
+            decimal? currentMaxAge = self.responseCacheMaxAge;
+            self.responseCacheMaxAge = currentMaxAge is decimal && currentMaxAge < maxAge ? currentMaxAge : maxAge;
+        }
+    }
+
+    isolated function getResponseCacheMaxAge() returns decimal {
+        lock {
+            return self.responseCacheMaxAge ?: 0d;
+        }
+    }
+
     isolated function resetErrors() {
         lock {
             self.errors.removeAll();
@@ -171,6 +232,7 @@ public isolated class Context {
     }
 
     isolated function resolvePlaceholders() {
+        self.executeBatchFunctions();
         self.dispatchDataloaders();
         Placeholder[] unResolvedPlaceholders = self.getUnresolvedPlaceholders();
         self.removeAllUnresolvedPlaceholders();
@@ -193,6 +255,26 @@ public isolated class Context {
             placeholder.setValue(resolvedValue);
             self.decrementUnresolvedPlaceholderCount();
         }
+        if metricsEnabled {
+            self.reportDataLoaderMetrics();
+        }
+    }
+
+    // Reports the DataLoader statistics collected since the previous report, which includes the batches dispatched
+    // and the results retrieved while resolving the placeholders.
+    isolated function reportDataLoaderMetrics() {
+        foreach string dataLoaderId in self.getDataLoaderIds() {
+            dataloader:DataLoaderStats? stats = self.getDataLoaderStats(dataLoaderId);
+            if stats is () {
+                continue;
+            }
+            dataloader:DataLoaderStats reportedStats;
+            lock {
+                reportedStats = self.reportedDataLoaderStats[dataLoaderId].clone() ?: {};
+                self.reportedDataLoaderStats[dataLoaderId] = stats.clone();
+            }
+            addDataLoaderMetrics(dataLoaderId, stats, reportedStats);
+        }
     }
 
     isolated function dispatchDataloaders() {
@@ -227,9 +309,27 @@ public isolated class Context {
         foreach string dataLoaderId in nonDispatchedDataLoaderIds {
             self.getDataLoader(dataLoaderId).clearAll();
         }
+        self.clearBatches();
+        self.clearMemoTable();
         self.clearPlaceholders();
     }
 
+    // Returns a context having the attributes and the engine of this context, to resolve a field outside the request.
+    // The DataLoaders, the placeholders, and the errors of the request are not shared.
+    isolated function detach() returns Context {
+        Context context = new;
+        Engine? engine = self.getEngine();
+        if engine is Engine {
+            context.setEngine(engine);
+        }
+        self.copyAttributes(context);
+        return context;
+    }
+
+    isolated function copyAttributes(Context target) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.Context"
+    } external;
+
     isolated function setAttribute(string uuid, value:Cloneable|isolated object {} value) = @java:Method {
         'class: "io.ballerina.stdlib.graphql.runtime.engine.Context"
     } external;
@@ -242,6 +342,28 @@ public isolated class Context {
         'class: "io.ballerina.stdlib.graphql.runtime.engine.Context"
     } external;
 
+    isolated function addToBatch(isolated function batchFunction, service object {} parent, Field 'field)
+    = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.BatchResolver"
+    } external;
+
+    isolated function executeBatchFunctions() = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.BatchResolver"
+    } external;
+
+    isolated function getBatchedResult(isolated function batchFunction, service object {} parent, Field 'field)
+    returns any|error = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.BatchResolver"
+    } external;
+
+    isolated function clearBatches() = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.BatchResolver"
+    } external;
+
+    isolated function clearMemoTable() = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.Context"
+    } external;
+
     isolated function getPlaceholder(string uuid) returns Placeholder = @java:Method {
         'class: "io.ballerina.stdlib.graphql.runtime.engine.Context"
     } external;
@@ -16,8 +16,9 @@
 
 import graphql.parser;
 
-import ballerina/cache;
 import ballerina/jballerina.java;
+import ballerina/log;
+import ballerina/time;
 import ballerina/uuid;
 
 isolated class Engine {
@@ -26,14 +27,26 @@ isolated class Engine {
     private final readonly & Interceptor[] interceptors;
     private final readonly & boolean introspection;
     private final readonly & boolean validation;
-    private final cache:Cache? cache;
+    private final ServerCache? cache;
+    private final (readonly & CacheStore)? cacheStore;
+    private final readonly & CacheSnapshotConfig? cacheSnapshotConfig;
+    // The hash of the schema, used as the version of the cache snapshots
+    private final string schemaHash;
     private final readonly & ServerCacheConfig? cacheConfig;
+    private final readonly & ResponseCacheConfig? responseCacheConfig;
     private final readonly & QueryComplexityConfig? queryComplexityConfig;
+    private final readonly & SubscriptionSharingConfig? subscriptionSharingConfig;
+    private final SharedSubscriptions sharedSubscriptions = new;
+    private final readonly & SubscriptionQueueConfig? subscriptionQueueConfig;
 
     isolated function init(string schemaString, int? maxQueryDepth, Service s,
             readonly & (readonly & Interceptor)[] interceptors, boolean introspection,
             boolean validation, ServerCacheConfig? cacheConfig = (),
-            ServerCacheConfig? fieldCacheConfig = (), QueryComplexityConfig? queryComplexityConfig = ())
+            ServerCacheConfig? fieldCacheConfig = (), QueryComplexityConfig? queryComplexityConfig = (),
+            OffHeapCacheConfig? offHeapCacheConfig = (), ResponseCacheConfig? responseCacheConfig = (),
+            (readonly & CacheStore)? cacheStore = (), CacheSnapshotConfig? cacheSnapshotConfig = (),
+            SubscriptionSharingConfig? subscriptionSharingConfig = (),
+            SubscriptionQueueConfig? subscriptionQueueConfig = ())
     returns Error? {
         if maxQueryDepth is int && maxQueryDepth < 1 {
             return error Error("Max query depth value must be a positive integer");
@@ -46,14 +59,23 @@ isolated class Engine {
                 return error Error("Default field complexity value must be greater than zero");
             }
         }
+        if subscriptionQueueConfig is SubscriptionQueueConfig && subscriptionQueueConfig.maxSize < 1 {
+            return error Error("Subscription queue max size must be a positive integer");
+        }
         self.maxQueryDepth = maxQueryDepth;
         self.schema = check createSchema(schemaString);
         self.interceptors = interceptors;
         self.introspection = introspection;
         self.validation = validation;
         self.cacheConfig = cacheConfig;
+        self.responseCacheConfig = responseCacheConfig;
         self.queryComplexityConfig = queryComplexityConfig;
-        self.cache = initCacheTable(cacheConfig, fieldCacheConfig);
+        self.cache = initCacheTable(cacheConfig, fieldCacheConfig, offHeapCacheConfig);
+        self.cacheStore = cacheStore;
+        self.cacheSnapshotConfig = cacheSnapshotConfig;
+        self.schemaHash = cacheSnapshotConfig is () ? "" : generateCanonicalHash(schemaString);
+        self.subscriptionSharingConfig = subscriptionSharingConfig;
+        self.subscriptionQueueConfig = subscriptionQueueConfig;
         self.addService(s);
     }
 
@@ -73,25 +95,223 @@ isolated class Engine {
         return self.cacheConfig;
     }
 
-    isolated function addToCache(string key, any value, decimal maxAge, boolean alreadyCached = false) returns any|error {
-        if alreadyCached {
+    isolated function getSubscriptionQueueConfig() returns readonly & SubscriptionQueueConfig? {
+        return self.subscriptionQueueConfig;
+    }
+
+    isolated function addToCache(string key, any value, ServerCacheConfig config, string partition = "",
+            string[] tags = [], string coordinate = "") returns any|error {
+        (readonly & CacheStore)? cacheStore = self.cacheStore;
+        if cacheStore !is () {
+            // Values other than anydata values cannot be kept in a cache store, and are resolved on each request
+            if value is anydata {
+                self.addToCacheStore(cacheStore, key, value, config.maxAge, tags, coordinate);
+            }
+            return;
+        }
+        ServerCache? cache = self.cache;
+        if cache is ServerCache {
+            cache.put(key, value, config, partition, tags, coordinate);
+            if metricsEnabled {
+                addServerCacheMetrics(partition, cache.getWeight(partition));
+                if cache.isOffHeapEnabled() {
+                    addServerCacheOffHeapMetrics(cache.getOffHeapEntryCount(), cache.getOffHeapSize());
+                }
+            }
+            return;
+        }
+        return error("Cache table not found. Caching functionality requires Ballerina version 2201.8.5 or newer.");
+    }
+
+    // A failure to add an entry to the cache store does not fail the field, as the value is already resolved
+    private isolated function addToCacheStore(readonly & CacheStore cacheStore, string key, anydata value,
+            decimal maxAge, string[] tags, string coordinate) {
+        error? result = cacheStore.put(key, value, maxAge, tags);
+        if result is error {
+            log:printError(string `Failed to add the entry to the cache store: ${key}`, result);
+            return;
+        }
+        ServerCache? cache = self.cache;
+        if cache is ServerCache {
+            cache.recordPut(coordinate);
+        }
+    }
+
+    // Records the outcome of a cache lookup started at the given monotonic time
+    private isolated function recordCacheLookup(string coordinate, boolean hit, decimal startTime) {
+        ServerCache? cache = self.cache;
+        if cache is ServerCache {
+            cache.recordLookup(coordinate, hit, time:monotonicNow() - startTime);
+        }
+    }
+
+    isolated function getServerCacheStats() returns map<ServerCacheStats> {
+        ServerCache? cache = self.cache;
+        return cache is ServerCache ? cache.getStats() : {};
+    }
+
+    // Reports the server cache statistics collected since the previous report
+    private isolated function reportServerCacheMetrics() {
+        ServerCache? cache = self.cache;
+        if cache is () {
+            return;
+        }
+        foreach [string, ServerCacheStats] [coordinate, stats] in cache.getUnreportedStats().entries() {
+            addServerCacheStatsMetrics(coordinate, stats);
+        }
+    }
+
+    // Returns the key of the cached response of the operation, or `()` if the response of the operation is not cached
+    isolated function getResponseCacheKey(parser:OperationNode operationNode, string document, string? operationName,
+            map<json>? variables, Context context, boolean normalize) returns string? {
+        ResponseCacheConfig? responseCacheConfig = self.responseCacheConfig;
+        ServerCacheConfig? cacheConfig = self.cacheConfig;
+        if responseCacheConfig is () || cacheConfig is () || !cacheConfig.enabled || cacheConfig.maxAge <= 0d
+                || operationNode.getKind() != parser:OPERATION_QUERY {
+            return;
+        }
+        anydata[]? contextValues = getContextValues(context, responseCacheConfig.contextKeys);
+        if contextValues is () {
+            return;
+        }
+        string hash = generateCanonicalHash([document, operationName, variables, normalize, contextValues]);
+        return string `${RESPONSE_CACHE_PATH}.${hash}`;
+    }
+
+    // Returns the key of the shared subscription of the operation, or `()` if the subscription is not shared
+    isolated function getSubscriptionSharingKey(string document, string? operationName, map<json>? variables,
+            Context context) returns string? {
+        SubscriptionSharingConfig? subscriptionSharingConfig = self.subscriptionSharingConfig;
+        if subscriptionSharingConfig is () {
+            return;
+        }
+        anydata[]? contextValues = getContextValues(context, subscriptionSharingConfig.contextKeys);
+        if contextValues is () {
+            return;
+        }
+        return generateCanonicalHash([document, operationName, variables, contextValues]);
+    }
+
+    // Adds the subscriber to the shared subscription of the key. Returns the shared subscription if it is created by
+    // this call, in which case the caller must execute it.
+    isolated function joinSharedSubscription(string key, SubscriptionHandler subscriber) returns SharedSubscription? {
+        return self.sharedSubscriptions.join(key, subscriber);
+    }
+
+    isolated function removeSharedSubscription(SharedSubscription subscription) {
+        self.sharedSubscriptions.remove(subscription);
+    }
+
+    isolated function getCachedResponse(string key) returns byte[]? {
+        decimal startTime = time:monotonicNow();
+        (readonly & CacheStore)? cacheStore = self.cacheStore;
+        any|error response;
+        if cacheStore !is () {
+            response = cacheStore.get(key);
+        } else {
+            ServerCache? cache = self.cache;
+            if cache is () {
+                return;
+            }
+            response = cache.get(key);
+        }
+        self.recordCacheLookup(RESPONSE_CACHE_PATH, response is byte[], startTime);
+        return response is byte[] ? response : ();
+    }
+
+    isolated function addResponseToCache(string key, byte[] response, decimal maxAge) {
+        (readonly & CacheStore)? cacheStore = self.cacheStore;
+        if cacheStore !is () {
+            self.addToCacheStore(cacheStore, key, response.cloneReadOnly(), maxAge, [], RESPONSE_CACHE_PATH);
             return;
         }
-        cache:Cache? cache = self.cache;
-        if cache is cache:Cache {
-            return cache.put(key, value, maxAge);
+        ServerCache? cache = self.cache;
+        ServerCacheConfig? cacheConfig = self.cacheConfig;
+        if cache is ServerCache && cacheConfig is ServerCacheConfig {
+            ServerCacheConfig responseCacheConfig = {
+                maxAge,
+                maxSize: cacheConfig.maxSize,
+                maxBytes: cacheConfig.maxBytes
+            };
+            cache.put(key, response.cloneReadOnly(), responseCacheConfig, RESPONSE_CACHE_PARTITION, [],
+                      RESPONSE_CACHE_PATH);
+        }
+    }
+
+    // Limits the time to cache the response of the operation, based on how the field is resolved
+    private isolated function limitResponseCacheMaxAge(Context context, decimal maxAge) {
+        if self.responseCacheConfig is ResponseCacheConfig {
+            context.limitResponseCacheMaxAge(maxAge);
+        }
+    }
+
+    // When another request is resolving the same entry, waits until it completes or the load timeout elapses. When
+    // there is no such request, the returned error has the id of the loading started for the caller, which must
+    // resolve the value and call `completeLoading` with that id.
+    isolated function getFromCache(string key, decimal loadTimeout = 0) returns any|error {
+        (readonly & CacheStore)? cacheStore = self.cacheStore;
+        if cacheStore !is () {
+            anydata value = check cacheStore.get(key);
+            if value is () {
+                return error(string `Cache entry not found for the key: ${key}`);
+            }
+            return value;
+        }
+        ServerCache? cache = self.cache;
+        if cache is ServerCache {
+            return cache.get(key, loadTimeout);
         }
         return error("Cache table not found. Caching functionality requires Ballerina version 2201.8.5 or newer.");
     }
 
-    isolated function getFromCache(string key) returns any|error {
-        cache:Cache? cache = self.cache;
-        if cache is cache:Cache {
-            return cache.get(key);
+    isolated function lookupCache(string key, decimal loadTimeout) returns CacheLookup|error {
+        // The entries of a cache store are not kept after they expire, hence there are no stale entries
+        if self.cacheStore !is () {
+            any value = check self.getFromCache(key);
+            return {value, state: FRESH};
+        }
+        ServerCache? cache = self.cache;
+        if cache is ServerCache {
+            return cache.lookup(key, loadTimeout);
         }
         return error("Cache table not found. Caching functionality requires Ballerina version 2201.8.5 or newer.");
     }
 
+    isolated function completeLoading(string key, int loaderId) {
+        ServerCache? cache = self.cache;
+        if cache is ServerCache {
+            cache.completeLoading(key, loaderId);
+        }
+    }
+
+    // Restores the server cache from the snapshot file. The failures are logged, as the service can start with an empty
+    // cache.
+    isolated function loadCacheSnapshot() {
+        CacheSnapshotConfig? cacheSnapshotConfig = self.cacheSnapshotConfig;
+        ServerCache? cache = self.cache;
+        if cacheSnapshotConfig is () || cache is () || self.cacheStore !is () {
+            return;
+        }
+        int|error result = cache.loadSnapshot(cacheSnapshotConfig.path, self.schemaHash);
+        if result is error {
+            log:printError("Failed to restore the server cache from the snapshot", result);
+        } else if result > 0 {
+            log:printDebug(string `Restored ${result} server cache entries from the snapshot`);
+        }
+    }
+
+    isolated function writeCacheSnapshot() {
+        CacheSnapshotConfig? cacheSnapshotConfig = self.cacheSnapshotConfig;
+        ServerCache? cache = self.cache;
+        if cacheSnapshotConfig is () || cache is () || self.cacheStore !is () {
+            return;
+        }
+        int|error result = cache.writeSnapshot(cacheSnapshotConfig.path, self.schemaHash);
+        if result is error {
+            log:printError("Failed to write the server cache snapshot", result);
+        }
+    }
+
     isolated function validate(string documentString, string? operationName, map<json>? variables)
         returns parser:OperationNode|OutputObject {
 
@@ -114,8 +334,19 @@ isolated class Engine {
         return operationNode;
     }
 
-    isolated function getResult(parser:OperationNode operationNode, Context context, any|error result = ())
-    returns OutputObject {
+    isolated function getResult(parser:OperationNode operationNode, Context context, any|error result = (),
+            boolean normalize = false) returns OutputObject {
+        parser:OperationNode|OutputObject preparedOperation = self.prepareOperation(operationNode);
+        if preparedOperation is OutputObject {
+            return preparedOperation;
+        }
+        ExecutorVisitor executor = new (self, self.schema, context, result);
+        return self.executePreparedOperation(preparedOperation, executor, normalize);
+    }
+
+    // Applies the default directives and merges the duplicate fields of the operation. The returned operation can be
+    // executed any number of times, as done for each event of a subscription.
+    isolated function prepareOperation(parser:OperationNode operationNode) returns parser:OperationNode|OutputObject {
         map<()> removedNodes = {};
         map<parser:SelectionNode> modifiedSelections = {};
         DefaultDirectiveProcessorVisitor defaultDirectiveProcessor = new (self.schema, removedNodes);
@@ -137,13 +368,19 @@ isolated class Engine {
 
         OperationNodeModifierVisitor operationNodeModifier = new (modifiedSelections, removedNodes);
         operationNode.accept(operationNodeModifier);
-        parser:OperationNode modifiedOperationNode = operationNodeModifier.getOperationNode();
+        return operationNodeModifier.getOperationNode();
+    }
 
-        ExecutorVisitor executor = new (self, self.schema, context, result);
-        modifiedOperationNode.accept(executor);
+    // Executes an operation returned from `prepareOperation` against the root value set in the executor
+    isolated function executePreparedOperation(parser:OperationNode operationNode, ExecutorVisitor executor,
+            boolean normalize = false) returns OutputObject {
+        operationNode.accept(executor);
         OutputObject outputObject = executor.getOutput();
-        ResponseFormatter responseFormatter = new (self.schema);
-        return responseFormatter.getCoercedOutputObject(outputObject, modifiedOperationNode);
+        if metricsEnabled {
+            self.reportServerCacheMetrics();
+        }
+        ResponseFormatter responseFormatter = new (self.schema, normalize);
+        return responseFormatter.getCoercedOutputObject(outputObject, operationNode);
     }
 
     isolated function parse(string documentString) returns ParseResult|OutputObject {
@@ -306,9 +543,15 @@ isolated class Engine {
         if executePrefetchMethod {
             service object {}? serviceObject = 'field.getServiceObject();
             if serviceObject is service object {} {
+                isolated function? batchFunction = 'field.getBatchFunction();
+                if batchFunction is isolated function {
+                    self.limitResponseCacheMaxAge(context, 0);
+                    return self.getResultFromBatchFunction(context, 'field, serviceObject, batchFunction);
+                }
                 string prefetchMethodName = getPrefetchMethodName(serviceObject, 'field)
                     ?: getDefaultPrefetchMethodName(fieldNode.getName());
                 if self.hasPrefetchMethod(serviceObject, prefetchMethodName) {
+                    self.limitResponseCacheMaxAge(context, 0);
                     addTracingInfomation({
                         context,
                         serviceName: prefetchMethodName,
@@ -328,6 +571,7 @@ isolated class Engine {
         );
         do {
             if interceptor is readonly & Interceptor {
+                self.limitResponseCacheMaxAge(context, 0);
                 string interceptorName = self.getInterceptorName(interceptor);
                 addTracingInfomation({
                     context,
@@ -345,18 +589,8 @@ isolated class Engine {
                 string cacheName = string `${'field.getName()}.cache`;
                 addTracingInfomation({context, serviceName: cacheName, operationType});
                 addFieldMetric('field);
-                string cacheKey = 'field.getCacheKey();
-                any|error cachedValue = self.getFromCache(cacheKey);
-                if cachedValue is any {
-                    fieldValue = cachedValue;
-                } else {
-                    fieldValue = check self.getFieldValue(context, 'field, responseGenerator);
-                    decimal maxAge = 'field.getCacheMaxAge();
-                    boolean alreadyCached = 'field.isAlreadyCached();
-                    if !alreadyCached && maxAge > 0d && fieldValue !is () {
-                        _ = check self.addToCache(cacheKey, fieldValue, maxAge, alreadyCached);
-                    }
-                }
+                self.limitResponseCacheMaxAge(context, 'field.getCacheMaxAge());
+                fieldValue = check self.getCachedFieldValue(context, 'field, responseGenerator);
             } else {
                 addTracingInfomation({
                     context,
@@ -364,8 +598,12 @@ isolated class Engine {
                     operationType
                 });
                 addFieldMetric('field);
+                self.limitResponseCacheMaxAge(context, 0);
                 fieldValue = check self.getFieldValue(context, 'field, responseGenerator);
             }
+            if 'field.getCacheConfig() is ServerCacheConfig {
+                responseGenerator.setCacheTags('field.getCacheTags(fieldValue));
+            }
             anydata response = responseGenerator.getResult(fieldValue, fieldNode);
             stopTracing(context);
             return response;
@@ -389,9 +627,23 @@ isolated class Engine {
         return {__uuid: uuid};
     }
 
+    // Collects the parent object of the field to be passed to the batch function when the placeholders are resolved
+    private isolated function getResultFromBatchFunction(Context context, Field 'field,
+            service object {} serviceObject, isolated function batchFunction) returns PlaceholderNode {
+        context.addToBatch(batchFunction, serviceObject, 'field);
+        string uuid = uuid:createType1AsString();
+        Placeholder placeholder = new ('field);
+        context.addUnresolvedPlaceholder(uuid, placeholder);
+        return {__uuid: uuid};
+    }
+
     isolated function resolveResourceMethod(Context context, Field 'field, ResponseGenerator responseGenerator) returns any|error {
         service object {}? serviceObject = 'field.getServiceObject();
         if serviceObject is service object {} {
+            isolated function? batchFunction = 'field.getBatchFunction();
+            if batchFunction is isolated function {
+                return context.getBatchedResult(batchFunction, serviceObject, 'field);
+            }
             handle? resourceMethod = self.getResourceMethod(serviceObject, 'field.getResourcePath());
             if resourceMethod == () {
                 return self.resolveHierarchicalResource(context, 'field);
@@ -449,6 +701,73 @@ isolated class Engine {
         _ = resourcePath.pop();
     }
 
+    private isolated function getCachedFieldValue(Context context, Field 'field, ResponseGenerator responseGenerator)
+    returns any|error {
+        string cacheKey = 'field.getCacheKey();
+        string coordinate = 'field.getQualifiedName();
+        decimal startTime = time:monotonicNow();
+        if 'field.getCacheStaleWhileRevalidate() <= 0d && 'field.getCacheStaleIfError() <= 0d {
+            any|error cachedValue = self.getFromCache(cacheKey, 'field.getCacheLoadTimeout());
+            self.recordCacheLookup(coordinate, cachedValue is any, startTime);
+            if cachedValue is any {
+                return cachedValue;
+            }
+            return self.loadToCache(context, 'field, responseGenerator, cacheKey, getCacheLoaderId(cachedValue));
+        }
+        CacheLookup|error lookup = self.lookupCache(cacheKey, 'field.getCacheLoadTimeout());
+        // A value which can only be used if the resolution fails is not counted as a hit
+        self.recordCacheLookup(coordinate, lookup is CacheLookup && lookup.state != STALE_IF_ERROR, startTime);
+        if lookup is error {
+            return self.loadToCache(context, 'field, responseGenerator, cacheKey, getCacheLoaderId(lookup));
+        }
+        if lookup.state == REVALIDATE {
+            if 'field.isRevalidatedInRequest() {
+                any|error result = self.loadToCache(context, 'field, responseGenerator, cacheKey, lookup.loaderId);
+                if result is error {
+                    log:printError(string `Failed to revalidate the cache entry: ${cacheKey}`, result);
+                    return lookup.value;
+                }
+                return result;
+            }
+            // The entry is refreshed outside the request, hence the context and the field of the request are not used
+            _ = start self.revalidateCacheEntry(context.detach(), 'field.detach(), cacheKey, lookup.loaderId);
+        } else if lookup.state == STALE_IF_ERROR {
+            any|error result = self.loadToCache(context, 'field, responseGenerator, cacheKey, lookup.loaderId);
+            return result is error ? lookup.value : result;
+        }
+        return lookup.value;
+    }
+
+    // Refreshes a stale cache entry in the background. The stale entry is kept when the refresh fails.
+    private isolated function revalidateCacheEntry(Context context, Field 'field, string cacheKey, int? loaderId) {
+        ResponseGenerator responseGenerator = new (self, context, 'field.getFieldType(), 'field.getPath().clone(),
+            'field.getCacheConfig(), 'field.getParentArgHashes()
+        );
+        any|error result = self.loadToCache(context, 'field, responseGenerator, cacheKey, loaderId);
+        if result is error {
+            log:printError(string `Failed to revalidate the cache entry: ${cacheKey}`, result);
+        }
+    }
+
+    // Resolves the field value and adds it to the cache. When the caller has started the loading of the entry, the
+    // concurrent requests waiting for it are released even when the resolution fails.
+    private isolated function loadToCache(Context context, Field 'field, ResponseGenerator responseGenerator,
+            string cacheKey, int? loaderId) returns any|error {
+        any|error result = self.getFieldValue(context, 'field, responseGenerator);
+        any|error cacheResult = ();
+        ServerCacheConfig? cacheConfig = 'field.getCacheConfig();
+        if result is any && result !is () && cacheConfig is ServerCacheConfig && !'field.isAlreadyCached()
+                && cacheConfig.maxAge > 0d {
+            cacheResult = self.addToCache(cacheKey, result, cacheConfig, 'field.getCachePartition(),
+                                          'field.getCacheTags(result), 'field.getQualifiedName());
+        }
+        if loaderId is int {
+            self.completeLoading(cacheKey, loaderId);
+        }
+        _ = check cacheResult;
+        return result;
+    }
+
     private isolated function getFieldValue(Context context, Field 'field, ResponseGenerator responseGenerator) returns any|error {
         if 'field.getOperationType() == parser:OPERATION_QUERY {
             return self.resolveResourceMethod(context, 'field, responseGenerator);
@@ -459,22 +778,51 @@ isolated class Engine {
     }
 
     isolated function invalidate(string path) returns error? {
-        cache:Cache? cache = self.cache;
-        if cache is cache:Cache {
-            string[] keys = cache.keys().filter(isolated function(string key) returns boolean {
-                return key.startsWith(string `${path}.`);
-            });
-            foreach string key in keys {
-                _ = check cache.invalidate(key);
+        (readonly & CacheStore)? cacheStore = self.cacheStore;
+        if cacheStore !is () {
+            check cacheStore.invalidate(path);
+            if self.responseCacheConfig is ResponseCacheConfig {
+                check cacheStore.invalidate(RESPONSE_CACHE_PATH);
+            }
+            return;
+        }
+        ServerCache? cache = self.cache;
+        if cache is ServerCache {
+            cache.invalidate(path);
+            if self.responseCacheConfig is ResponseCacheConfig {
+                cache.invalidate(RESPONSE_CACHE_PATH);
+            }
+        }
+        return;
+    }
+
+    isolated function invalidateTags(readonly & string[] tags) returns error? {
+        (readonly & CacheStore)? cacheStore = self.cacheStore;
+        if cacheStore !is () {
+            check cacheStore.invalidateTags(tags);
+            if self.responseCacheConfig is ResponseCacheConfig {
+                check cacheStore.invalidate(RESPONSE_CACHE_PATH);
+            }
+            return;
+        }
+        ServerCache? cache = self.cache;
+        if cache is ServerCache {
+            cache.invalidateTags(tags);
+            if self.responseCacheConfig is ResponseCacheConfig {
+                cache.invalidate(RESPONSE_CACHE_PATH);
             }
         }
         return;
     }
 
     isolated function invalidateAll() returns error? {
-        cache:Cache? cache = self.cache;
-        if cache is cache:Cache {
-            return cache.invalidateAll();
+        (readonly & CacheStore)? cacheStore = self.cacheStore;
+        if cacheStore !is () {
+            return cacheStore.invalidateAll();
+        }
+        ServerCache? cache = self.cache;
+        if cache is ServerCache {
+            cache.invalidateAll();
         }
         return;
     }
@@ -16,7 +16,6 @@
 
 import graphql.parser;
 
-import ballerina/cache;
 import ballerina/jballerina.java;
 import ballerina/lang.regexp;
 
@@ -29,6 +28,13 @@ isolated function getOutputObjectFromErrorDetail(ErrorDetail|ErrorDetail[] error
     return {errors: errorDetail};
 }
 
+// Returns the id of the loading started for the caller by a cache miss. A miss without a loader id is resolved by the
+// caller without completing any loading, as another request owns the loading.
+isolated function getCacheLoaderId(error cacheMiss) returns int? {
+    int|error loaderId = cacheMiss.detail()["loaderId"].ensureType();
+    return loaderId is int ? loaderId : ();
+}
+
 isolated function getErrorDetailFromError(parser:Error err) returns ErrorDetail {
     int line = err.detail()["line"];
     int column = err.detail()["column"];
@@ -123,16 +129,33 @@ isolated function getDefaultPrefetchMethodName(string fieldName) returns string
     });
 }
 
-isolated function initCacheTable(ServerCacheConfig? operationCacheConfig, ServerCacheConfig? fieldCacheConfig)
-returns cache:Cache? {
+isolated function initCacheTable(ServerCacheConfig? operationCacheConfig, ServerCacheConfig? fieldCacheConfig,
+        OffHeapCacheConfig? offHeapCacheConfig = ()) returns ServerCache? {
     if operationCacheConfig is ServerCacheConfig && operationCacheConfig.enabled {
-        return new ({capacity: operationCacheConfig.maxSize, evictionFactor: 0.2, defaultMaxAge: operationCacheConfig.maxAge});
+        return new (offHeapCacheConfig);
     } else if fieldCacheConfig is ServerCacheConfig && fieldCacheConfig.enabled {
-        return new ({capacity: fieldCacheConfig.maxSize, evictionFactor: 0.2, defaultMaxAge: fieldCacheConfig.maxAge});
+        return new (offHeapCacheConfig);
     }
     return;
 }
 
+// Returns the values of the context attributes of the given keys, or `()` if a value is not an `anydata` value. A
+// missing attribute has the value `()`.
+isolated function getContextValues(Context context, string[] keys) returns anydata[]? {
+    anydata[] contextValues = [];
+    foreach string 'key in keys {
+        any|error value = context.get('key);
+        if value is error {
+            contextValues.push(());
+        } else if value is anydata {
+            contextValues.push(value);
+        } else {
+            return;
+        }
+    }
+    return contextValues;
+}
+
 isolated function hasRecordReturnType(service object {} serviceObject, string[] path)
     returns boolean = @java:Method {
     'class: "io.ballerina.stdlib.graphql.runtime.engine.Engine"
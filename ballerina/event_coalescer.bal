@@ -0,0 +1,89 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+// Coalesces the events of a subscription source stream. The source stream is pulled in a separate strand, and only the
+// latest event emitted within the coalescing window is returned, so that the events replaced by a later one are
+// neither executed nor written to the subscriber.
+isolated class EventCoalescer {
+    isolated function init(stream<any, error?> sourceStream, decimal window) {
+        self.initialize(sourceStream, window);
+    }
+
+    // Pulls the source stream until it is completed or the coalescer is closed. This is run in the strand started when
+    // the coalescer is initialized. A panic of the source stream is returned as the last event.
+    isolated function pull(stream<any, error?> sourceStream) {
+        while !self.isClosed() {
+            record {|any value;|}|error? next = trap sourceStream.next();
+            if next is () {
+                break;
+            }
+            self.offer(next);
+            if next is error {
+                break;
+            }
+        }
+        if self.complete() {
+            // The coalescer is closed while pulling, hence the source stream is not closed by the caller
+            closeSourceStream(sourceStream);
+        }
+    }
+
+    // Returns the latest event, at most once within the coalescing window. Returns `()` once the source stream is
+    // completed, or once the coalescer is closed.
+    isolated function next() returns record {|any value;|}|error? = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.EventCoalescer"
+    } external;
+
+    // Stops pulling the source stream. Returns `true` if the source stream is already completed, in which case it must
+    // be closed by the caller. Otherwise, it is closed by the puller once the pending `next` call returns.
+    isolated function close() returns boolean = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.EventCoalescer"
+    } external;
+
+    private isolated function offer(record {|any value;|}|error event) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.EventCoalescer"
+    } external;
+
+    // Returns `true` if the coalescer is already closed
+    private isolated function complete() returns boolean = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.EventCoalescer"
+    } external;
+
+    private isolated function isClosed() returns boolean = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.EventCoalescer"
+    } external;
+
+    private isolated function initialize(stream<any, error?> sourceStream, decimal window) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.EventCoalescer"
+    } external;
+}
+
+// Returns an event coalescer for the source stream if a coalescing window is configured for the subscription field
+isolated function getEventCoalescer(Engine engine, Field 'field, stream<any, error?> sourceStream)
+returns EventCoalescer? {
+    decimal? coalesceWindow = getCoalesceWindow(engine.getService(), 'field);
+    if coalesceWindow is decimal && coalesceWindow > 0d {
+        return new (sourceStream, coalesceWindow);
+    }
+    return;
+}
+
+isolated function getNextEvent(stream<any, error?> sourceStream, EventCoalescer? coalescer)
+returns record {|any value;|}|error? {
+    return coalescer is EventCoalescer ? coalescer.next() : sourceStream.next();
+}
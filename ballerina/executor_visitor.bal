@@ -35,6 +35,13 @@ isolated class ExecutorVisitor {
         self.initializeDataMap();
     }
 
+    // Prepares the executor to execute the same operation again against a new root value, such as the next event of
+    // a subscription
+    isolated function reset(any|error result) {
+        self.setResult(result);
+        self.initializeDataMap();
+    }
+
     public isolated function visitDocument(parser:DocumentNode documentNode, anydata data = ()) {}
 
     public isolated function visitOperation(parser:OperationNode operationNode, anydata data = ()) {
@@ -27,10 +27,16 @@ public class Field {
     private final readonly & (string|int)[] path;
     private string[] resourcePath;
     private readonly & Interceptor[] fieldInterceptors;
+    private final (isolated function)? batchFunction;
     private final ServerCacheConfig? cacheConfig;
     private final readonly & string[] parentArgHashes;
+    private final readonly & string[]? parentCacheTags;
+    private final boolean hasFieldCacheConfig;
     private final boolean cacheEnabled;
     private final decimal cacheMaxAge;
+    private final decimal cacheLoadTimeout;
+    private final string cachePartition;
+    private final string cacheKeyPrefix;
     private boolean hasRequestedNullableFields;
     private final boolean alreadyCached;
     private int nextInterceptor = 0;
@@ -39,7 +45,7 @@ public class Field {
             service object {}? serviceObject = (), readonly & (string|int)[] path = [],
             parser:RootOperationType operationType = parser:OPERATION_QUERY, string[] resourcePath = [],
             any|error fieldValue = (), ServerCacheConfig? cacheConfig = (), readonly & string[] parentArgHashes = [],
-            boolean isAlreadyCached = false) {
+            readonly & string[]? parentCacheTags = (), boolean isAlreadyCached = false) {
         self.internalNode = internalNode;
         self.serviceObject = serviceObject;
         self.fieldType = fieldType;
@@ -50,20 +56,37 @@ public class Field {
         self.fieldValue = fieldValue;
         self.resourcePath.push(internalNode.getName());
         self.alreadyCached = isAlreadyCached;
-        self.fieldInterceptors = serviceObject is service object {} ?
-            getFieldInterceptors(serviceObject, operationType, internalNode.getName(), self.resourcePath) : [];
-        ServerCacheConfig? fieldCache = serviceObject is service object {} ?
-            getFieldCacheConfig(serviceObject, operationType, internalNode.getName(), self.resourcePath) : ();
+        // The resource config is looked up once, as it is searched in the methods of the service
+        GraphqlResourceConfig? resourceConfig = serviceObject is service object {} ?
+            getResourceAnnotation(serviceObject, operationType, self.resourcePath, internalNode.getName()) : ();
+        self.fieldInterceptors = getFieldInterceptors(resourceConfig);
+        self.batchFunction = operationType == parser:OPERATION_QUERY ? getBatchFunction(resourceConfig) : ();
+        ServerCacheConfig? fieldCache = getFieldCacheConfig(resourceConfig);
         ServerCacheConfig? updatedCacheConfig = fieldCache is ServerCacheConfig ? fieldCache : cacheConfig;
         self.cacheConfig = updatedCacheConfig;
         self.parentArgHashes = parentArgHashes;
+        self.parentCacheTags = parentCacheTags;
+        self.hasFieldCacheConfig = fieldCache is ServerCacheConfig;
         if updatedCacheConfig is ServerCacheConfig {
             self.cacheEnabled = updatedCacheConfig.enabled;
             self.cacheMaxAge = updatedCacheConfig.maxAge;
+            self.cacheLoadTimeout = updatedCacheConfig.loadTimeout;
+            // The fields having a field level cache config get a partition of their own unless a partition is given
+            string? partition = updatedCacheConfig.partition;
+            if partition is string {
+                self.cachePartition = partition;
+            } else if fieldCache is ServerCacheConfig {
+                self.cachePartition = string `${getOfType(parentType).name.toString()}.${internalNode.getName()}`;
+            } else {
+                self.cachePartition = "";
+            }
         } else {
             self.cacheEnabled = false;
             self.cacheMaxAge = 0d;
+            self.cacheLoadTimeout = 0d;
+            self.cachePartition = "";
         }
+        self.cacheKeyPrefix = self.cacheEnabled ? getCacheKeyPrefix(path) : "";
         self.hasRequestedNullableFields = self.cacheEnabled && serviceObject is service object {}
             && hasFields(getOfType(self.fieldType)) && hasRecordReturnType(serviceObject, self.resourcePath);
     }
@@ -201,6 +224,11 @@ public class Field {
         return self.fieldInterceptors;
     }
 
+    // Returns the batch function of the field. The batch functions are only used for the query operations.
+    isolated function getBatchFunction() returns isolated function? {
+        return self.batchFunction;
+    }
+
     isolated function isCacheEnabled() returns boolean {
         return self.cacheEnabled;
     }
@@ -213,10 +241,68 @@ public class Field {
         return self.generateCacheKey();
     }
 
+    isolated function getCacheTags(any fieldValue) returns readonly & string[] {
+        ServerCacheConfig? cacheConfig = self.cacheConfig;
+        if cacheConfig is () {
+            return [];
+        }
+        // The tag templates refer to the arguments and the value of the field the cache config is given for. Hence, a
+        // field inheriting the cache config of its parent gets the tags resolved for the parent.
+        readonly & string[]? parentCacheTags = self.parentCacheTags;
+        if !self.hasFieldCacheConfig && parentCacheTags is readonly & string[] {
+            return parentCacheTags;
+        }
+        string[] tags = [];
+        foreach string template in cacheConfig.tags {
+            string? tag = getCacheTag(template, self.internalNode.getArguments(), fieldValue);
+            if tag is string {
+                tags.push(tag);
+            }
+        }
+        return tags.cloneReadOnly();
+    }
+
     isolated function getCacheMaxAge() returns decimal {
         return self.cacheMaxAge;
     }
 
+    isolated function getCacheLoadTimeout() returns decimal {
+        return self.cacheLoadTimeout;
+    }
+
+    isolated function getCachePartition() returns string {
+        return self.cachePartition;
+    }
+
+    isolated function getCacheStaleWhileRevalidate() returns decimal {
+        ServerCacheConfig? cacheConfig = self.cacheConfig;
+        return cacheConfig is ServerCacheConfig ? cacheConfig.staleWhileRevalidate : 0d;
+    }
+
+    isolated function getCacheStaleIfError() returns decimal {
+        ServerCacheConfig? cacheConfig = self.cacheConfig;
+        return cacheConfig is ServerCacheConfig ? cacheConfig.staleIfError : 0d;
+    }
+
+    // The batched results of a field belong to the request, hence such a field is always revalidated in the request
+    isolated function isRevalidatedInRequest() returns boolean {
+        ServerCacheConfig? cacheConfig = self.cacheConfig;
+        return self.batchFunction is isolated function
+            || (cacheConfig is ServerCacheConfig && cacheConfig.revalidateInRequest);
+    }
+
+    // Returns a copy of the field, which does not share the interceptor state of the request, to resolve the field
+    // again outside the request
+    isolated function detach() returns Field {
+        string[] resourcePath = self.resourcePath.clone();
+        // The name of the field is added to the resource path when the field is created
+        _ = resourcePath.pop();
+        return new (self.internalNode, self.fieldType, self.parentType, self.serviceObject, self.path,
+            self.operationType, resourcePath, self.fieldValue, self.cacheConfig, self.parentArgHashes,
+            self.parentCacheTags, self.alreadyCached
+        );
+    }
+
     isolated function getParentArgHashes() returns readonly & string[] {
         return self.parentArgHashes;
     }
@@ -226,12 +312,9 @@ public class Field {
         if self.hasRequestedNullableFields {
             requestedNullableFields = self.getRequestedNullableFields();
         }
-        string resourcePath = "";
-        foreach string|int path in self.path {
-            resourcePath += string `${path}.`;
-        }
+        string prefix = self.cacheEnabled ? self.cacheKeyPrefix : getCacheKeyPrefix(self.path);
         string hash = generateArgHash(self.internalNode.getArguments(), self.parentArgHashes, requestedNullableFields);
-        return string `${resourcePath}${hash}`;
+        return prefix + hash;
     }
 
     private isolated function getRequestedNullableFields() returns string[] {
@@ -29,6 +29,7 @@ public class Listener {
     // kept in an array to process in the `start` method.
     // https://github.com/ballerina-platform/ballerina-lang/issues/43162
     private final Service[] services = [];
+    private final Engine[] engines = [];
 
     # Invoked during the initialization of a `graphql:Listener`. Either an `http:Listener` or a port number must be
     # provided to initialize the listener.
@@ -73,7 +74,10 @@ public class Listener {
         ServerCacheConfig? fieldCacheConfig = getFieldCacheConfigFromServiceConfig(serviceConfig);
         QueryComplexityConfig? queryComplexityConfig = serviceConfig.queryComplexityConfig;
         Engine engine  = check new (schemaString, maxQueryDepth, s, interceptors, introspection, validation,
-                                    operationCacheConfig, fieldCacheConfig, queryComplexityConfig);
+                                    operationCacheConfig, fieldCacheConfig, queryComplexityConfig,
+                                    serviceConfig.offHeapCacheConfig, serviceConfig.responseCacheConfig,
+                                    serviceConfig.cacheStore, serviceConfig.cacheSnapshotConfig,
+                                    serviceConfig.subscriptionSharingConfig, serviceConfig.subscriptionQueueConfig);
         if self.graphiql.enabled {
             check validateGraphiqlPath(self.graphiql.path);
             check self.initGraphiqlService(s, engine, name, serviceConfig);
@@ -99,6 +103,7 @@ public class Listener {
             }
         }
         self.services.push(s);
+        self.engines.push(engine);
     }
 
     # Detaches the provided service from the Listener.
@@ -139,6 +144,9 @@ public class Listener {
     # + return - A `graphql:Error`, if an error occurred during the service starting process, otherwise nil
     public isolated function 'start() returns Error? {
         analyzeServices(self.services);
+        foreach Engine engine in self.engines {
+            engine.loadCacheSnapshot();
+        }
         error? result = self.httpListener.'start();
         if result is error {
             return error Error("Error occurred while starting the service", result);
@@ -158,6 +166,8 @@ public class Listener {
     }
 
     # Gracefully stops the graphql listener. Already accepted requests will be served before the connection closure.
+    # The server caches of the services configured with a `cacheSnapshotConfig` are then written to their snapshot
+    # files.
     #
     # + return - A `graphql:Error`, if an error occurred during the service stopping process, otherwise nil
     public isolated function gracefulStop() returns Error? {
@@ -172,6 +182,9 @@ public class Listener {
                 return error Error("Error occurred while stopping the websocket service", result);
             }
         }
+        foreach Engine engine in self.engines {
+            engine.writeCacheSnapshot();
+        }
     }
 
     # Stops the service listener immediately.
@@ -19,7 +19,7 @@ import graphql.parser;
 import ballerina/http;
 import ballerina/io;
 import ballerina/jballerina.java;
-import ballerina/mime;
+import ballerina/log;
 import ballerina/websocket;
 
 isolated function handleGetRequests(Engine engine, Context context, http:Request request) returns http:Response {
@@ -27,8 +27,10 @@ isolated function handleGetRequests(Engine engine, Context context, http:Request
     if query is string && query != "" {
         string? operationName = request.getQueryParamValue(PARAM_OPERATION_NAME);
         json? variables = request.getQueryParamValue(PARAM_VARIABLES);
+        string? extensions = request.getQueryParamValue(PARAM_EXTENSIONS);
+        boolean normalize = extensions is string && isResponseNormalizationRequested(extensions.fromJsonString());
         if variables is map<json> || variables == () {
-            return getResponseFromQuery(engine, query, operationName, variables, context);
+            return getResponseFromQuery(engine, query, operationName, variables, context, normalize = normalize);
         } else {
             return createResponse("Invalid format in request parameter: variables", http:STATUS_BAD_REQUEST);
         }
@@ -37,14 +39,15 @@ isolated function handleGetRequests(Engine engine, Context context, http:Request
     }
 }
 
-isolated function handlePostRequests(Engine engine, Context context, http:Request request) returns http:Response {
+isolated function handlePostRequests(Engine engine, Context context, http:Request request,
+        FileUploadConfig uploadConfig = {}) returns http:Response {
     string contentType = request.getContentType();
     if contentType == CONTENT_TYPE_JSON {
         return getResponseFromJsonPayload(engine, context, request);
     } else if contentType == CONTENT_TYPE_GQL {
         return createResponse("Content-Type 'application/graphql' is not yet supported", http:STATUS_BAD_REQUEST);
     } else if contentType.includes(CONTENT_TYPE_MULTIPART_FORM_DATA) {
-        return getResponseFromMultipartPayload(engine, context, request);
+        return getResponseFromMultipartPayload(engine, context, request, uploadConfig);
     } else {
         return createResponse("Invalid 'Content-type' received", http:STATUS_BAD_REQUEST);
     }
@@ -63,13 +66,15 @@ isolated function getResponseFromJsonPayload(Engine engine, Context context, htt
     json|error variables = payload.variables;
     variables = variables is error ? () : variables;
     if variables is map<json> || variables is () {
-        return getResponseFromQuery(engine, document, getOperationName(payload), variables, context, fileInfo);
+        boolean normalize = isResponseNormalizationRequested(payload.extensions);
+        return getResponseFromQuery(engine, document, getOperationName(payload), variables, context, fileInfo,
+                                    normalize);
     }
     return createResponse("Invalid format in request parameter: variables", http:STATUS_BAD_REQUEST);
 }
 
 isolated function getResponseFromQuery(Engine engine, string document, string? operationName, map<json>? variables,
-        Context context, map<Upload|Upload[]> fileInfo = {}) returns http:Response {
+        Context context, map<Upload|Upload[]> fileInfo = {}, boolean normalize = false) returns http:Response {
     TraceObserverContext traceObserverContext = {
         context,
         operationName: OPERATION_VALIDATION
@@ -79,6 +84,14 @@ isolated function getResponseFromQuery(Engine engine, string document, string? o
     http:Response response;
     if validationResult is parser:OperationNode {
         stopTracing(context);
+        string? responseCacheKey = engine.getResponseCacheKey(validationResult, document, operationName, variables,
+                                                              context, normalize);
+        if responseCacheKey is string {
+            byte[]? cachedResponse = engine.getCachedResponse(responseCacheKey);
+            if cachedResponse is byte[] {
+                return createResponseFromBytes(cachedResponse);
+            }
+        }
         context.setFileInfo(fileInfo);
         traceObserverContext = {
             context,
@@ -86,7 +99,7 @@ isolated function getResponseFromQuery(Engine engine, string document, string? o
             operationName: OPERATION_EXECUTION
         };
         addTracingInfomation(traceObserverContext);
-        response = getResponseFromExecution(engine, validationResult, context);
+        response = getResponseFromExecution(engine, validationResult, context, normalize, responseCacheKey);
         stopTracing(context);
     } else {
         response = createResponse(validationResult.toJson(), http:STATUS_BAD_REQUEST);
@@ -96,9 +109,15 @@ isolated function getResponseFromQuery(Engine engine, string document, string? o
     return response;
 }
 
-isolated function getResponseFromExecution(Engine engine, parser:OperationNode operationNode, Context context)
-returns http:Response {
-    OutputObject outputObject = engine.getResult(operationNode, context);
+isolated function getResponseFromExecution(Engine engine, parser:OperationNode operationNode, Context context,
+        boolean normalize = false, string? responseCacheKey = ()) returns http:Response {
+    OutputObject outputObject = engine.getResult(operationNode, context, normalize = normalize);
+    decimal maxAge = context.getResponseCacheMaxAge();
+    if responseCacheKey is string && outputObject.errors is () && maxAge > 0d {
+        byte[] payload = outputObject.toJsonString().toBytes();
+        engine.addResponseToCache(responseCacheKey, payload, maxAge);
+        return createResponseFromBytes(payload);
+    }
     return createResponse(outputObject.toJson());
 }
 
@@ -111,6 +130,12 @@ isolated function createResponse(json payload, int? statusCode = ()) returns htt
     return response;
 }
 
+isolated function createResponseFromBytes(byte[] payload) returns http:Response {
+    http:Response response = new;
+    response.setBinaryPayload(payload, CONTENT_TYPE_JSON);
+    return response;
+}
+
 isolated function getOperationName(json payload) returns string? {
     json|error operationName = payload.operationName;
     if operationName is string {
@@ -119,78 +144,103 @@ isolated function getOperationName(json payload) returns string? {
     return;
 }
 
-isolated function getResponseFromMultipartPayload(Engine engine, Context context, http:Request request)
-    returns http:Response {
+isolated function isResponseNormalizationRequested(json|error extensions) returns boolean {
+    if extensions is map<json> {
+        return extensions[NORMALIZE_EXTENSION] == true;
+    }
+    return false;
+}
+
+isolated function getResponseFromMultipartPayload(Engine engine, Context context, http:Request request,
+        FileUploadConfig uploadConfig) returns http:Response {
+    MultipartReader|error reader = getMultipartReader(request, uploadConfig);
+    if reader is error {
+        return createResponse(reader.message(), http:STATUS_BAD_REQUEST);
+    }
+    BufferedPartContent[] bufferedContents = [];
+    http:Response response = getResponseFromMultipartReader(engine, context, reader, bufferedContents);
+    foreach BufferedPartContent content in bufferedContents {
+        error? result = content.release();
+        if result is error {
+            log:printError("Failed to release the multipart request content", result);
+        }
+    }
+    return response;
+}
+
+// The `operations` and the `map` fields are expected before the file fields in a multipart request. Therefore, the
+// content of each file field except the last one is buffered, so that the request can be read up to the last file
+// field before executing the operation. The last file field is streamed directly from the request.
+isolated function getResponseFromMultipartReader(Engine engine, Context context, MultipartReader reader,
+        BufferedPartContent[] bufferedContents) returns http:Response {
     map<Upload> fileInfo = {};
     map<json> pathMap = {};
     map<json> variables = {};
     json payload = ();
-    mime:Entity[]|http:ClientError bodyParts = request.getBodyParts();
-    if bodyParts is mime:Entity[] {
-        foreach mime:Entity part in bodyParts {
-            mime:ContentDisposition contentDisposition = part.getContentDisposition();
-            if contentDisposition.name == MULTIPART_OPERATIONS {
-                json|mime:ParserError operation = part.getJson();
-                if operation is json {
-                    payload = operation;
-                    json|error variableValues = operation.variables;
-                    if variableValues is map<json> {
-                        variables = variableValues;
-                    } else {
-                        return createResponse("Invlaid Mulitpart Request", http:STATUS_BAD_REQUEST);
-                    }
+    MultipartHeaders|error? headers = reader.nextPart();
+    while headers is MultipartHeaders {
+        if headers.name == MULTIPART_OPERATIONS {
+            json|error operation = reader.readPartAsJson();
+            if operation is json {
+                payload = operation;
+                json|error variableValues = operation.variables;
+                if variableValues is map<json> {
+                    variables = variableValues;
                 } else {
-                    return createResponse(operation.message(), http:STATUS_BAD_REQUEST);
-                }
-            } else if contentDisposition.name == MULITPART_MAP {
-                json|mime:ParserError paths = part.getJson();
-                if paths is json {
-                    if paths is map<json> {
-                        pathMap = paths;
-                    } else {
-                        return createResponse("Invalid type for multipart request field ‘map’",
-                                http:STATUS_BAD_REQUEST);
-                    }
-                } else {
-                    return createResponse(paths.message(), http:STATUS_BAD_REQUEST);
+                    return createResponse("Invlaid Mulitpart Request", http:STATUS_BAD_REQUEST);
                 }
             } else {
-                Upload|error handleFileFieldResult = handleFileField(part);
-                if handleFileFieldResult is Upload {
-                    fileInfo[part.getContentDisposition().name] = handleFileFieldResult;
+                return createResponse(operation.message(), http:STATUS_BAD_REQUEST);
+            }
+        } else if headers.name == MULITPART_MAP {
+            json|error paths = reader.readPartAsJson();
+            if paths is json {
+                if paths is map<json> {
+                    pathMap = paths;
                 } else {
-                    return createResponse(handleFileFieldResult.message(), http:STATUS_BAD_REQUEST);
+                    return createResponse("Invalid type for multipart request field ‘map’",
+                            http:STATUS_BAD_REQUEST);
                 }
+            } else {
+                return createResponse(paths.message(), http:STATUS_BAD_REQUEST);
+            }
+        } else {
+            boolean isLastFileField = pathMap.length() > 0 && fileInfo.length() == pathMap.length() - 1;
+            Upload|error upload = isLastFileField ? getStreamingUpload(reader, headers)
+                : getBufferedUpload(reader, headers, bufferedContents);
+            if upload is error {
+                return createResponse(upload.message(), http:STATUS_BAD_REQUEST);
+            }
+            fileInfo[headers.name] = upload;
+            if isLastFileField {
+                break;
             }
         }
-        if fileInfo.length() == 0 {
-            return createResponse("File content is missing in multipart request", http:STATUS_BAD_REQUEST);
-        }
-        map<Upload|Upload[]>|http:Response fileInfoResult = getUploadValues(fileInfo, pathMap, variables);
-        if fileInfoResult is map<Upload|Upload[]> {
-            return forwardMultipartRequestToExecution(fileInfoResult, engine, context, payload);
-        }
-        return fileInfoResult;
-    } else {
-        return createResponse((<http:ClientError>bodyParts).message(), http:STATUS_BAD_REQUEST);
+        headers = reader.nextPart();
+    }
+    if headers is error {
+        return createResponse(headers.message(), http:STATUS_BAD_REQUEST);
+    }
+    if fileInfo.length() == 0 {
+        return createResponse("File content is missing in multipart request", http:STATUS_BAD_REQUEST);
+    }
+    map<Upload|Upload[]>|http:Response fileInfoResult = getUploadValues(fileInfo, pathMap, variables);
+    if fileInfoResult is map<Upload|Upload[]> {
+        return forwardMultipartRequestToExecution(fileInfoResult, engine, context, payload);
     }
+    return fileInfoResult;
 }
 
-isolated function handleFileField(mime:Entity bodyPart) returns Upload|error {
-    string encoding = bodyPart.getContentType();
-    string fileName = bodyPart.getContentDisposition().fileName;
-    mime:MediaType mediaType = check mime:getMediaType(bodyPart.getContentType());
-    string|mime:HeaderNotFoundError contentEncoding = bodyPart.getHeader(CONTENT_ENCODING);
-    if contentEncoding is string {
-        encoding = contentEncoding;
-    }
-    stream<byte[], io:Error?> byteStream = check bodyPart.getByteStream();
-    return {
-        fileName: fileName,
-        mimeType: mediaType.getBaseType(),
-        encoding: encoding,
-        byteStream: byteStream
-    };
+isolated function getStreamingUpload(MultipartReader reader, MultipartHeaders headers) returns Upload|error {
+    MultipartPartContent content = new (reader);
+    return getUpload(headers, new stream<byte[], io:Error?>(content));
+}
+
+isolated function getBufferedUpload(MultipartReader reader, MultipartHeaders headers,
+        BufferedPartContent[] bufferedContents) returns Upload|error {
+    BufferedPartContent content = check reader.getBufferedPartContent();
+    bufferedContents.push(content);
+    return getUpload(headers, new stream<byte[], io:Error?>(content));
 }
 
 isolated function getUploadValues(map<Upload> fileInfo, map<json> pathMap, map<json> variables)
@@ -306,6 +356,7 @@ isolated function getHttpService(Engine gqlEngine, GraphqlServiceConfig? service
     final readonly & ListenerAuthConfig[]? authConfigurations = getListenerAuthConfig(serviceConfig).cloneReadOnly();
     final ContextInit contextInitFunction = getContextInit(serviceConfig);
     final CorsConfig corsConfig = getCorsConfig(serviceConfig);
+    final FileUploadConfig fileUploadConfig = getFileUploadConfig(serviceConfig);
 
     HttpService httpService = @http:ServiceConfig {
         cors: corsConfig
@@ -318,6 +369,7 @@ isolated function getHttpService(Engine gqlEngine, GraphqlServiceConfig? service
         private final Engine engine = gqlEngine;
         private final readonly & ListenerAuthConfig[]? authConfig = authConfigurations;
         private final ContextInit contextInit = contextInitFunction;
+        private final FileUploadConfig uploadConfig = fileUploadConfig;
 
         isolated resource function get .(http:RequestContext requestContext,
                 http:Request request) returns http:Response {
@@ -345,7 +397,7 @@ isolated function getHttpService(Engine gqlEngine, GraphqlServiceConfig? service
                 if authResult is http:Response {
                     return authResult;
                 }
-                return handlePostRequests(self.engine, context, request);
+                return handlePostRequests(self.engine, context, request, self.uploadConfig);
             } else {
                 panic error("Unsupported type found for context");
             }
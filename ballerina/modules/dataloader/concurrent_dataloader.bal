@@ -0,0 +1,96 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Represents a DataLoader implementation backed by concurrent hash maps. Adding keys and retrieving results do not
+# acquire a lock on the DataLoader. Hence, it is suitable for the DataLoaders shared among many concurrent strands.
+public isolated class ConcurrentDataLoader {
+    *DataLoader;
+    private final BatchLoadFunction batchFunction;
+
+    # Initializes the DataLoader with the given batch function.
+    #
+    # + loadFunction - The batch function to be used
+    public isolated function init(BatchLoadFunction loadFunction) {
+        self.batchFunction = loadFunction;
+        self.initDataLoader();
+    }
+
+    # Collects a key to perform a batch operation at a later time.
+    #
+    # + key - The key to load later
+    public isolated function add(anydata key) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ConcurrentDataLoader"
+    } external;
+
+    # Retrieves the result for a particular key.
+    #
+    # + key - The key to retrieve the result
+    # + 'type - The type of the result
+    # + return - The result for the key on success, error on failure
+    public isolated function get(anydata key, typedesc<anydata> 'type = <>) returns 'type|error = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.DataLoader"
+    } external;
+
+    private isolated function processGet(anydata key, typedesc<anydata> 'type) returns anydata|error {
+        anydata|error result = self.getResult(key);
+        if result is error {
+            return result.clone();
+        }
+        return (check result.ensureType('type)).clone();
+    }
+
+    # Dispatches a user-defined batch load operation for all keys that have been collected.
+    public isolated function dispatch() {
+        handle? batch = self.startBatch();
+        if batch is () {
+            return;
+        }
+        readonly & anydata[] batchKeys = getBatchKeys(batch).cloneReadOnly();
+        // A panic of the batch function is trapped, as the batch must be completed to release the waiting loaders
+        anydata[]|error batchResult = trap self.batchFunction(batchKeys);
+        if batchResult is anydata[] && batchKeys.length() != batchResult.length() {
+            batchResult = error("The batch function should return a number of results equal to the number of keys");
+        }
+        completeBatch(batch, batchResult);
+    }
+
+    # Clears all the keys and results from the data loader cache.
+    public isolated function clearAll() = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ConcurrentDataLoader"
+    } external;
+
+    private isolated function initDataLoader() = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ConcurrentDataLoader"
+    } external;
+
+    private isolated function getResult(anydata key) returns anydata|error = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ConcurrentDataLoader"
+    } external;
+
+    private isolated function startBatch() returns handle? = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ConcurrentDataLoader"
+    } external;
+}
+
+isolated function getBatchKeys(handle batch) returns anydata[] = @java:Method {
+    'class: "io.ballerina.stdlib.graphql.runtime.engine.ConcurrentDataLoader"
+} external;
+
+isolated function completeBatch(handle batch, anydata[]|error batchResult) = @java:Method {
+    'class: "io.ballerina.stdlib.graphql.runtime.engine.ConcurrentDataLoader"
+} external;
@@ -15,6 +15,7 @@
 // under the License.
 
 import ballerina/jballerina.java;
+import ballerina/time;
 
 # Represents the type of the batch function to be used in the DataLoader.
 public type BatchLoadFunction isolated function (readonly & anydata[] keys) returns anydata[]|error;
@@ -45,14 +46,28 @@ public type DataLoader isolated object {
 public isolated class DefaultDataLoader {
     *DataLoader;
     private final table<Key> key(key) keyTable = table [];
+    private final table<InFlightKey> key(key) inFlightKeyTable = table [];
     private final table<Result> key(key) resultTable = table [];
     private final BatchLoadFunction batchFunction;
+    private final int? maxBatchSize;
+    private final int maxConcurrentBatches;
+    private final SharedCache? sharedCache;
+    private final decimal? sharedCacheMaxAge;
+    private final DataLoaderStats stats = {};
+    private int nextBatchId = 0;
 
     # Initializes the DataLoader with the given batch function.
     #
     # + loadFunction - The batch function to be used
-    public isolated function init(BatchLoadFunction loadFunction) {
+    # + config - The configurations of the DataLoader
+    public isolated function init(BatchLoadFunction loadFunction, *DataLoaderConfig config) {
         self.batchFunction = loadFunction;
+        int? maxBatchSize = config.maxBatchSize;
+        self.maxBatchSize = maxBatchSize is int ? int:max(maxBatchSize, 1) : ();
+        self.maxConcurrentBatches = int:max(config.maxConcurrentBatches, 1);
+        self.sharedCache = config.sharedCache;
+        self.sharedCacheMaxAge = config.sharedCacheMaxAge;
+        self.initInFlightBatches();
     }
 
     # Collects a key to perform a batch operation at a later time.
@@ -62,10 +77,31 @@ public isolated class DefaultDataLoader {
         readonly & anydata clonedKey = key.cloneReadOnly();
         lock {
             // Avoid duplicating keys and get values from cache if available
-            if self.keyTable.hasKey(clonedKey) || self.resultTable.hasKey(clonedKey) {
+            if self.hasKey(clonedKey) {
+                self.stats.duplicateKeyCount += 1;
                 return;
             }
-            self.keyTable.add({key: clonedKey});
+        }
+        SharedCache? sharedCache = self.sharedCache;
+        readonly & anydata|error sharedResult = sharedCache is () ? error("Shared cache not found")
+            : sharedCache.get(clonedKey);
+        lock {
+            if self.hasKey(clonedKey) {
+                self.stats.duplicateKeyCount += 1;
+                return;
+            }
+            if sharedResult is error {
+                self.keyTable.add({key: clonedKey});
+            } else {
+                // Read through the shared cache, the key does not have to be loaded by the batch function
+                self.resultTable.add({key: clonedKey, value: sharedResult, cached: true});
+            }
+        }
+    }
+
+    private isolated function hasKey(readonly & anydata key) returns boolean {
+        lock {
+            return self.keyTable.hasKey(key) || self.inFlightKeyTable.hasKey(key) || self.resultTable.hasKey(key);
         }
     }
 
@@ -80,53 +116,305 @@ public isolated class DefaultDataLoader {
 
     private isolated function processGet(anydata key, typedesc<anydata> 'type) returns anydata|error {
         readonly & anydata clonedKey = key.cloneReadOnly();
+        int? inFlightBatchId = self.getInFlightBatchId(clonedKey);
+        if inFlightBatchId is int {
+            // The key is being loaded by a batch dispatched from another strand. Hence, wait for that batch to
+            // complete without holding the lock.
+            self.waitForInFlightBatch(inFlightBatchId);
+        }
         lock {
             if self.resultTable.hasKey(clonedKey) {
-                anydata|error result = self.resultTable.get(clonedKey).value;
+                Result resultEntry = self.resultTable.get(clonedKey);
+                if resultEntry.cached {
+                    self.stats.cacheHitCount += 1;
+                }
+                // The subsequent retrievals of the result are served from the cache
+                resultEntry.cached = true;
+                anydata|error result = resultEntry.value;
                 if result is error {
                     return result.clone();
                 }
-                return (check result.ensureType('type)).clone();
+                anydata value = check result.ensureType('type);
+                // The results read through the shared cache are immutable. Hence, a mutable copy is returned.
+                return value.isReadOnly() ? value.cloneWithType('type) : value.clone();
             }
         }
         return error(string `No result found for the given key ${key.toString()}`);
     }
 
+    // Returns whether the key is being loaded by a dispatched batch
+    isolated function isInFlight(anydata key) returns boolean {
+        readonly & anydata clonedKey = key.cloneReadOnly();
+        lock {
+            return self.inFlightKeyTable.hasKey(clonedKey);
+        }
+    }
+
+    private isolated function getInFlightBatchId(readonly & anydata key) returns int? {
+        lock {
+            if !self.resultTable.hasKey(key) && self.inFlightKeyTable.hasKey(key) {
+                return self.inFlightKeyTable.get(key).batchId;
+            }
+        }
+        return;
+    }
+
     # Dispatches a user-defined batch load operation for all keys that have been collected.
     public isolated function dispatch() {
+        readonly & anydata[] batchKeys;
+        int batchId;
         lock {
             if self.keyTable.length() == 0 {
                 return;
             }
-            readonly & anydata[] batchKeys = self.keyTable.toArray().'map((key) => key.key).cloneReadOnly();
+            batchKeys = self.keyTable.toArray().'map((key) => key.key).cloneReadOnly();
             self.keyTable.removeAll();
-            anydata[]|error batchResult = self.batchFunction(batchKeys);
-            if batchResult is anydata[] && batchKeys.length() != batchResult.length() {
-                batchResult = error("The batch function should return a number of results equal to the number of keys");
+            batchId = self.nextBatchId;
+            self.nextBatchId += 1;
+            foreach readonly & anydata batchKey in batchKeys {
+                self.inFlightKeyTable.add({key: batchKey, batchId});
             }
-            foreach int i in 0 ..< batchKeys.length() {
-                if self.resultTable.hasKey(batchKeys[i]) {
+            self.registerInFlightBatch(batchId);
+        }
+        // The batch function is executed without holding the lock, so that the other strands can add keys, get
+        // results and dispatch other batches while this batch is in flight.
+        readonly & anydata[][] chunks = getChunks(batchKeys, self.maxBatchSize);
+        BatchResult[] batchResults = self.executeChunks(chunks);
+        (anydata[]|error)[] chunkResults = batchResults.'map(batchResult => batchResult.results);
+        readonly & decimal[] latencies = batchResults.'map(batchResult => batchResult.latency).cloneReadOnly();
+        lock {
+            foreach int chunkIndex in 0 ..< chunks.length() {
+                readonly & anydata[] chunk = chunks[chunkIndex];
+                anydata[]|error results = chunkResults[chunkIndex].clone();
+                recordBatch(self.stats, chunk.length(), results is error, latencies[chunkIndex]);
+                foreach int i in 0 ..< chunk.length() {
+                    readonly & anydata batchKey = chunk[i];
+                    // The key is removed from the in-flight keys if the DataLoader is cleared while the batch is in
+                    // flight
+                    if !self.inFlightKeyTable.hasKey(batchKey)
+                        || self.inFlightKeyTable.get(batchKey).batchId != batchId {
+                        continue;
+                    }
+                    _ = self.inFlightKeyTable.remove(batchKey);
+                    if self.resultTable.hasKey(batchKey) {
+                        continue;
+                    }
+                    self.resultTable.add({key: batchKey, value: results is error ? results : results[i]});
+                }
+            }
+        }
+        self.completeInFlightBatch(batchId);
+        SharedCache? sharedCache = self.sharedCache;
+        if sharedCache is SharedCache {
+            foreach int chunkIndex in 0 ..< chunks.length() {
+                anydata[]|error results = chunkResults[chunkIndex];
+                if results is error {
+                    // Errors are not shared with the other requests
                     continue;
                 }
-                self.resultTable.add({key: batchKeys[i], value: batchResult is error ? batchResult : batchResult[i]});
+                readonly & anydata[] chunk = chunks[chunkIndex];
+                foreach int i in 0 ..< chunk.length() {
+                    sharedCache.put(chunk[i], results[i], self.sharedCacheMaxAge);
+                }
             }
         }
     }
 
+    // Executes the batch function for each chunk. At most `maxConcurrentBatches` chunks are executed in parallel. Each
+    // worker strand starts the next pending chunk as soon as its current chunk finishes, so that a slow chunk does not
+    // hold back the other chunks.
+    private isolated function executeChunks(readonly & anydata[][] chunks) returns BatchResult[] {
+        if chunks.length() == 1 {
+            return [executeBatchFunction(self.batchFunction, chunks[0])];
+        }
+        ChunkCursor cursor = new (chunks.length());
+        future<[int, BatchResult][]>[] workers = [];
+        foreach int i in 0 ..< int:min(self.maxConcurrentBatches, chunks.length()) {
+            workers.push(start executePendingChunks(self.batchFunction, chunks, cursor));
+        }
+        [int, BatchResult][] chunkResults = [];
+        foreach future<[int, BatchResult][]> worker in workers {
+            chunkResults.push(...wait worker);
+        }
+        return from [int, BatchResult] [index, result] in chunkResults
+            order by index
+            select result;
+    }
+
     # Clears all the keys and results from the data loader cache.
     public isolated function clearAll() {
         lock {
             self.keyTable.removeAll();
+            self.inFlightKeyTable.removeAll();
             self.resultTable.removeAll();
         }
     }
+
+    # Retrieves the statistics collected by the DataLoader since its initialization. The statistics are not reset
+    # when the DataLoader is cleared.
+    #
+    # + return - The statistics of the DataLoader
+    public isolated function getStats() returns DataLoaderStats {
+        lock {
+            return self.stats.clone();
+        }
+    }
+
+    private isolated function initInFlightBatches() = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.DataLoader"
+    } external;
+
+    private isolated function registerInFlightBatch(int batchId) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.DataLoader"
+    } external;
+
+    private isolated function completeInFlightBatch(int batchId) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.DataLoader"
+    } external;
+
+    private isolated function waitForInFlightBatch(int batchId) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.DataLoader"
+    } external;
+}
+
+# Provides a set of configurations for the DataLoader.
+public type DataLoaderConfig record {|
+    # The maximum number of keys passed to a single invocation of the batch function. When the number of collected
+    # keys exceeds this limit, the keys are split into chunks and the batch function is invoked for each chunk. The
+    # keys are not split if this is not provided
+    int maxBatchSize?;
+    # The maximum number of chunks loaded in parallel
+    int maxConcurrentBatches = 4;
+    # The application-scoped cache to read the results through. The results loaded by this DataLoader are added to
+    # the shared cache, and the keys found in the shared cache are not loaded again
+    SharedCache sharedCache?;
+    # The time-to-live in seconds of the results added to the shared cache by this DataLoader. The default max age of
+    # the shared cache is used if not provided
+    decimal sharedCacheMaxAge?;
+|};
+
+# Represents the statistics collected by a DataLoader.
+public type DataLoaderStats record {|
+    # The number of batch function invocations
+    int batchCount = 0;
+    # The total number of keys passed to the batch function
+    int keyCount = 0;
+    # The number of batches grouped by the batch size. The key of an entry is the upper bound of the batch sizes
+    # counted in the entry, which is a power of two
+    map<int> batchSizeHistogram = {};
+    # The number of keys which are not loaded again, as they are already collected, in flight or loaded
+    int duplicateKeyCount = 0;
+    # The number of results retrieved from the cache without being loaded for the retrieval
+    int cacheHitCount = 0;
+    # The number of batch function invocations which returned an error
+    int batchFailureCount = 0;
+    # The total time spent on the batch function invocations in seconds
+    decimal totalBatchLatency = 0;
+    # The maximum time spent on a single batch function invocation in seconds
+    decimal maxBatchLatency = 0;
+|};
+
+isolated function getChunks(readonly & anydata[] keys, int? maxBatchSize) returns readonly & anydata[][] {
+    if maxBatchSize is () || keys.length() <= maxBatchSize {
+        return [keys];
+    }
+    anydata[][] chunks = [];
+    int index = 0;
+    while index < keys.length() {
+        int end = int:min(index + maxBatchSize, keys.length());
+        chunks.push(keys.slice(index, end));
+        index = end;
+    }
+    return chunks.cloneReadOnly();
+}
+
+isolated function executeBatchFunction(BatchLoadFunction batchFunction, readonly & anydata[] keys)
+    returns BatchResult {
+    decimal startTime = time:monotonicNow();
+    // A panic of the batch function is trapped, as the batch must be completed to release the waiting loaders
+    anydata[]|error batchResult = trap batchFunction(keys);
+    decimal latency = time:monotonicNow() - startTime;
+    if batchResult is anydata[] && keys.length() != batchResult.length() {
+        return {
+            results: error("The batch function should return a number of results equal to the number of keys"),
+            latency
+        };
+    }
+    return {results: batchResult, latency};
+}
+
+// Executes the pending chunks one after the other, until no chunk is left
+isolated function executePendingChunks(BatchLoadFunction batchFunction, readonly & anydata[][] chunks,
+        ChunkCursor cursor) returns [int, BatchResult][] {
+    [int, BatchResult][] results = [];
+    int? index = cursor.next();
+    while index is int {
+        results.push([index, executeBatchFunction(batchFunction, chunks[index])]);
+        index = cursor.next();
+    }
+    return results;
+}
+
+// Hands out the indexes of the chunks of a batch to the worker strands executing them
+isolated class ChunkCursor {
+    private final int chunkCount;
+    private int nextIndex = 0;
+
+    isolated function init(int chunkCount) {
+        self.chunkCount = chunkCount;
+    }
+
+    isolated function next() returns int? {
+        lock {
+            if self.nextIndex >= self.chunkCount {
+                return;
+            }
+            int index = self.nextIndex;
+            self.nextIndex += 1;
+            return index;
+        }
+    }
 }
 
+isolated function recordBatch(DataLoaderStats stats, int batchSize, boolean failed, decimal latency) {
+    stats.batchCount += 1;
+    stats.keyCount += batchSize;
+    string bucket = getBatchSizeBucket(batchSize).toString();
+    stats.batchSizeHistogram[bucket] = (stats.batchSizeHistogram[bucket] ?: 0) + 1;
+    if failed {
+        stats.batchFailureCount += 1;
+    }
+    stats.totalBatchLatency += latency;
+    if latency > stats.maxBatchLatency {
+        stats.maxBatchLatency = latency;
+    }
+}
+
+// Returns the smallest power of two which is greater than or equal to the batch size
+isolated function getBatchSizeBucket(int batchSize) returns int {
+    int bucket = 1;
+    while bucket < batchSize {
+        bucket *= 2;
+    }
+    return bucket;
+}
+
+type BatchResult record {|
+    anydata[]|error results;
+    decimal latency;
+|};
+
 type Result record {|
     readonly anydata key;
     anydata|error value;
+    boolean cached = false;
 |};
 
 type Key record {|
     readonly anydata key;
 |};
+
+type InFlightKey record {|
+    readonly anydata key;
+    int batchId;
+|};
@@ -0,0 +1,99 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/cache;
+import ballerina/log;
+
+# Provides a set of configurations for the shared DataLoader cache.
+public type SharedCacheConfig record {|
+    # The maximum number of results kept in the cache
+    int capacity = 1000;
+    # The default time-to-live of a result in seconds
+    decimal defaultMaxAge = 60;
+    # The fraction of the results evicted when the cache is full
+    float evictionFactor = 0.25;
+|};
+
+# Represents an application-scoped store of DataLoader results. A `SharedCache` is created once (e.g. at the module
+# level) and passed to the request-scoped DataLoaders, so that a result loaded in one request is reused by the
+# subsequent requests until it expires or is invalidated.
+public isolated class SharedCache {
+    private final cache:Cache cache;
+
+    # Initializes the shared cache.
+    #
+    # + config - The configurations of the shared cache
+    public isolated function init(*SharedCacheConfig config) {
+        self.cache = new ({
+            capacity: config.capacity,
+            defaultMaxAge: config.defaultMaxAge,
+            evictionFactor: config.evictionFactor
+        });
+    }
+
+    # Retrieves the cached result for a particular key.
+    #
+    # + key - The key of the result
+    # + return - The cached result, or an error if there is no unexpired result for the key
+    public isolated function get(anydata key) returns readonly & anydata|error {
+        any|cache:Error value = self.cache.get(getSharedCacheKey(key));
+        if value is readonly & anydata {
+            return value;
+        }
+        return error(string `No result found in the shared cache for the given key ${key.toString()}`);
+    }
+
+    # Adds a result to the cache. A `()` result is not cached, as the underlying cache does not accept nil values.
+    #
+    # + key - The key of the result
+    # + value - The result
+    # + maxAge - The time-to-live of the result in seconds. The default max age of the cache is used if not provided
+    public isolated function put(anydata key, anydata value, decimal? maxAge = ()) {
+        if value is () {
+            return;
+        }
+        cache:Error? result = self.cache.put(getSharedCacheKey(key), value.cloneReadOnly(), maxAge ?: -1);
+        if result is cache:Error {
+            log:printError("Failed to add the result to the DataLoader shared cache", result);
+        }
+    }
+
+    # Removes the cached result for a particular key.
+    #
+    # + key - The key of the result
+    public isolated function invalidate(anydata key) {
+        string cacheKey = getSharedCacheKey(key);
+        if !self.cache.hasKey(cacheKey) {
+            return;
+        }
+        cache:Error? result = self.cache.invalidate(cacheKey);
+        if result is cache:Error {
+            log:printError("Failed to invalidate the result in the DataLoader shared cache", result);
+        }
+    }
+
+    # Removes all the cached results.
+    public isolated function invalidateAll() {
+        cache:Error? result = self.cache.invalidateAll();
+        if result is cache:Error {
+            log:printError("Failed to invalidate the DataLoader shared cache", result);
+        }
+    }
+}
+
+isolated function getSharedCacheKey(anydata key) returns string {
+    return key.toBalString();
+}
@@ -0,0 +1,141 @@
+import ballerina/test;
+
+@test:Config {
+    groups: ["concurrent_dataloader"]
+}
+isolated function testConcurrentDataLoaderDispatch() returns error? {
+    final DataLoader loader = new ConcurrentDataLoader(authorLoaderFunction);
+    lock {
+        readonly & int[] keys = [...authorTable.keys(), 1];
+        keys.forEach(key => loader.add(key));
+        loader.dispatch();
+        foreach int key in keys {
+            AuthorRow author = check loader.get(key);
+            test:assertEquals(author, authorTable.get(key));
+        }
+    }
+}
+
+@test:Config {
+    groups: ["concurrent_dataloader"]
+}
+isolated function testConcurrentDataLoaderDataBindingError() returns error? {
+    final DataLoader loader = new ConcurrentDataLoader(authorLoaderFunction);
+    loader.add(1);
+    loader.dispatch();
+    int|error author = loader.get(1);
+    test:assertTrue(author is error);
+}
+
+@test:Config {
+    groups: ["concurrent_dataloader"]
+}
+isolated function testConcurrentDataLoaderBatchLoadFunctionReturingError() returns error? {
+    final DataLoader loader = new ConcurrentDataLoader(authorLoaderFunction);
+    loader.add(10);
+    loader.dispatch();
+    AuthorRow|error author = loader.get(10);
+    test:assertTrue(author is error);
+    if author is error {
+        test:assertEquals(author.message(), "Invalid keys found for authors");
+    }
+}
+
+@test:Config {
+    groups: ["concurrent_dataloader"]
+}
+isolated function testConcurrentDataLoaderClearAll() returns error? {
+    final DataLoader loader = new ConcurrentDataLoader(authorLoaderFunction);
+    lock {
+        authorTable.keys().forEach(key => loader.add(key));
+        loader.dispatch();
+        loader.clearAll();
+        foreach int key in authorTable.keys() {
+            AuthorRow|error author = loader.get(key);
+            test:assertTrue(author is error);
+            if author is error {
+                test:assertEquals(author.message(), string `No result found for the given key ${key}`);
+            }
+        }
+    }
+}
+
+@test:Config {
+    groups: ["concurrent_dataloader"]
+}
+isolated function testConcurrentDataLoaderHavingFaultyBatchLoadFunction() returns error? {
+    final DataLoader loader = new ConcurrentDataLoader(faultyAuthorLoaderFunction);
+    lock {
+        authorTable.keys().forEach(key => loader.add(key));
+        loader.dispatch();
+        foreach int key in authorTable.keys() {
+            AuthorRow|error author = loader.get(key);
+            test:assertTrue(author is error);
+            if author is error {
+                test:assertEquals(author.message(),
+                    "The batch function should return a number of results equal to the number of keys");
+            }
+        }
+    }
+}
+
+@test:Config {
+    groups: ["concurrent_dataloader"]
+}
+isolated function testConcurrentDataLoaderWithStructuredKeys() returns error? {
+    final DataLoader loader = new ConcurrentDataLoader(bookLoaderFunction);
+    map<anydata> key = {authorId: 1, title: "Harry Potter"};
+    loader.add(key);
+    loader.add({title: "Harry Potter", authorId: 1});
+    // Modifying the original key should not affect the key stored in the DataLoader
+    key["title"] = "Changed";
+    loader.dispatch();
+    string book = check loader.get({title: "Harry Potter", authorId: 1});
+    test:assertEquals(book, "1:Harry Potter");
+    lock {
+        test:assertEquals(bookLoaderInvocations, [1]);
+    }
+}
+
+@test:Config {
+    groups: ["concurrent_dataloader"]
+}
+isolated function testConcurrentDataLoaderWithConcurrentStrands() returns error? {
+    final DataLoader loader = new ConcurrentDataLoader(authorLoaderFunction);
+    readonly & int[] keys = [1, 2, 3, 4, 5];
+    future<()>[] adders = [];
+    foreach int i in 0 ..< 50 {
+        adders.push(start loader.add(keys[i % keys.length()]));
+    }
+    foreach future<()> adder in adders {
+        check wait adder;
+    }
+    loader.dispatch();
+    future<AuthorRow|error>[] getters = [];
+    foreach int i in 0 ..< 50 {
+        getters.push(start loader.get(keys[i % keys.length()]));
+    }
+    foreach int i in 0 ..< 50 {
+        AuthorRow author = check wait getters[i];
+        lock {
+            test:assertEquals(author, authorTable.get(keys[i % keys.length()]));
+        }
+    }
+}
+
+@test:Config {
+    groups: ["concurrent_dataloader"]
+}
+isolated function testConcurrentDataLoaderHavingPanickingBatchLoadFunction() {
+    final DataLoader loader = new ConcurrentDataLoader(panickingLoaderFunction);
+    loader.add(1);
+    loader.add(2);
+    loader.dispatch();
+    foreach int key in [1, 2] {
+        int|error result = loader.get(key);
+        test:assertTrue(result is error);
+        if result is error {
+            test:assertEquals(result.message(), "The batch function panicked");
+        }
+    }
+}
@@ -1,3 +1,4 @@
+import ballerina/lang.runtime;
 import ballerina/test;
 
 @test:Config
@@ -85,3 +86,279 @@ isolated function authorLoaderFunction(readonly & anydata[] ids) returns AuthorR
 isolated function faultyAuthorLoaderFunction(readonly & anydata[] ids) returns AuthorRow[]|error {
     return [];
 };
+
+@test:Config {
+    groups: ["contention"]
+}
+isolated function testDataLoaderAccessWhileBatchIsInFlight() returns error? {
+    final BatchGate gate = new (true);
+    final DefaultDataLoader loader = new (getGatedLoaderFunction(gate));
+    loader.add(1);
+    loader.dispatch();
+    gate.close();
+    loader.add(2);
+    future<()> blockedDispatch = start loader.dispatch();
+    while !loader.isInFlight(2) {
+        runtime:sleep(0.01);
+    }
+
+    // The strands do not wait for the in-flight batch, which is blocked until the gate is opened
+    future<int|error>[] strands = [];
+    foreach int i in 0 ..< 100 {
+        strands.push(start addAndGetLoadedKey(loader, i + 100));
+    }
+    foreach future<int|error> strand in strands {
+        int result = check wait strand;
+        test:assertEquals(result, 10);
+    }
+    test:assertTrue(loader.isInFlight(2));
+
+    // A get on a key of the in-flight batch waits for the batch instead of failing
+    future<int|error> inFlightGet = start getLoadedKey(loader, 2);
+    gate.open();
+    int result = check wait inFlightGet;
+    test:assertEquals(result, 20);
+    check wait blockedDispatch;
+}
+
+@test:Config {
+    groups: ["contention"]
+}
+isolated function testDataLoaderWithManyConcurrentSubscriptions() returns error? {
+    final BatchGate gate = new;
+    final DataLoader loader = new DefaultDataLoader(getGatedLoaderFunction(gate));
+    final int subscriptionCount = 50;
+    final int eventCount = 2;
+    future<int[]|error>[] subscriptions = [];
+    foreach int i in 0 ..< subscriptionCount {
+        subscriptions.push(start simulateSubscription(loader, i, eventCount));
+    }
+    // The batches of the first events are in flight at the same time, as the batch function is executed without
+    // holding the lock of the DataLoader
+    while gate.getWaitingCount() < subscriptionCount {
+        runtime:sleep(0.01);
+    }
+    gate.open();
+    foreach int i in 0 ..< subscriptionCount {
+        int[] results = check wait subscriptions[i];
+        test:assertEquals(results, from int event in 0 ..< eventCount select (i * eventCount + event) * 10);
+    }
+}
+
+@test:Config {
+    groups: ["contention"]
+}
+isolated function testDataLoaderHavingPanickingBatchLoadFunction() {
+    final DefaultDataLoader loader = new (panickingLoaderFunction);
+    loader.add(1);
+    loader.dispatch();
+    // The batch is completed, hence the key is no longer in flight and the get does not wait
+    test:assertFalse(loader.isInFlight(1));
+    int|error result = loader.get(1);
+    test:assertTrue(result is error);
+    if result is error {
+        test:assertEquals(result.message(), "The batch function panicked");
+    }
+}
+
+isolated function addAndGetLoadedKey(DataLoader loader, int key) returns int|error {
+    loader.add(key);
+    return loader.get(1);
+}
+
+isolated function getLoadedKey(DataLoader loader, int key) returns int|error {
+    return loader.get(key);
+}
+
+isolated function simulateSubscription(DataLoader loader, int subscriptionId, int eventCount) returns int[]|error {
+    int[] results = [];
+    foreach int event in 0 ..< eventCount {
+        int key = subscriptionId * eventCount + event;
+        loader.add(key);
+        loader.dispatch();
+        results.push(check loader.get(key));
+    }
+    return results;
+}
+
+@test:Config {
+    groups: ["max_batch_size"]
+}
+isolated function testDispatchWithMaxBatchSize() returns error? {
+    final DataLoader loader = new DefaultDataLoader(trackingLoaderFunction, maxBatchSize = 3, maxConcurrentBatches = 2);
+    lock {
+        batchStats = {activeBatches: 0, maxActiveBatches: 0, batchSizes: []};
+    }
+    foreach int key in 0 ..< 10 {
+        loader.add(key);
+    }
+    loader.dispatch();
+    foreach int key in 0 ..< 10 {
+        int result = check loader.get(key);
+        test:assertEquals(result, key * 10);
+    }
+    lock {
+        test:assertEquals(batchStats.batchSizes.sort(), [1, 3, 3, 3]);
+        test:assertEquals(batchStats.maxActiveBatches, 2);
+    }
+}
+
+@test:Config {
+    groups: ["max_batch_size"]
+}
+isolated function testSlowChunkDoesNotHoldBackOtherChunks() returns error? {
+    final DataLoader loader = new DefaultDataLoader(slowFirstChunkLoaderFunction, maxBatchSize = 1,
+        maxConcurrentBatches = 2);
+    lock {
+        completedFastChunkCount = 0;
+        fastChunksCompletedBeforeSlowChunk = 0;
+    }
+    foreach int key in 0 ..< 5 {
+        loader.add(key);
+    }
+    loader.dispatch();
+    foreach int key in 0 ..< 5 {
+        int result = check loader.get(key);
+        test:assertEquals(result, key * 10);
+    }
+    // The other chunks are executed one after the other by the second worker while the slow chunk is in flight
+    lock {
+        test:assertEquals(fastChunksCompletedBeforeSlowChunk, 4);
+    }
+}
+
+@test:Config {
+    groups: ["max_batch_size"]
+}
+isolated function testBatchFunctionErrorsWithMaxBatchSize() returns error? {
+    final DataLoader loader = new DefaultDataLoader(authorLoaderFunction, maxBatchSize = 2);
+    readonly & int[] keys = [1, 2, 3, 4, 5, 10];
+    keys.forEach(key => loader.add(key));
+    loader.dispatch();
+    // Only the keys of the chunk having the invalid key should get the error
+    foreach int key in [1, 2, 3, 4] {
+        AuthorRow author = check loader.get(key);
+        lock {
+            test:assertEquals(author, authorTable.get(key));
+        }
+    }
+    foreach int key in [5, 10] {
+        AuthorRow|error author = loader.get(key);
+        test:assertTrue(author is error);
+        if author is error {
+            test:assertEquals(author.message(), "Invalid keys found for authors");
+        }
+    }
+}
+
+@test:Config {
+    groups: ["shared_cache"]
+}
+isolated function testSharedCacheAcrossDataLoaders() returns error? {
+    final SharedCache sharedCache = new;
+    lock {
+        currencyLoaderInvocations = [];
+    }
+    final DataLoader firstLoader = new DefaultDataLoader(currencyLoaderFunction, sharedCache = sharedCache);
+    firstLoader.add("USD");
+    firstLoader.add("EUR");
+    firstLoader.dispatch();
+    string currency = check firstLoader.get("USD");
+    test:assertEquals(currency, "Currency USD");
+
+    // A loader of another request reads the results through the shared cache
+    final DataLoader secondLoader = new DefaultDataLoader(currencyLoaderFunction, sharedCache = sharedCache);
+    secondLoader.add("USD");
+    secondLoader.add("LKR");
+    secondLoader.dispatch();
+    currency = check secondLoader.get("USD");
+    test:assertEquals(currency, "Currency USD");
+    currency = check secondLoader.get("LKR");
+    test:assertEquals(currency, "Currency LKR");
+    lock {
+        test:assertEquals(currencyLoaderInvocations, [["USD", "EUR"], ["LKR"]]);
+    }
+}
+
+@test:Config {
+    groups: ["shared_cache"]
+}
+isolated function testSharedCacheExpiryAndInvalidation() returns error? {
+    final SharedCache sharedCache = new (defaultMaxAge = 1);
+    sharedCache.put("USD", "Currency USD");
+    sharedCache.put("EUR", "Currency EUR", 10);
+    sharedCache.put("LKR", "Currency LKR", 10);
+    runtime:sleep(1.5);
+    test:assertTrue(sharedCache.get("USD") is error);
+    test:assertEquals(check sharedCache.get("EUR"), "Currency EUR");
+
+    sharedCache.invalidate("EUR");
+    test:assertTrue(sharedCache.get("EUR") is error);
+    test:assertEquals(check sharedCache.get("LKR"), "Currency LKR");
+
+    sharedCache.invalidateAll();
+    test:assertTrue(sharedCache.get("LKR") is error);
+
+    // Nil results are not cached
+    sharedCache.put("JPY", ());
+    test:assertTrue(sharedCache.get("JPY") is error);
+}
+
+@test:Config {
+    groups: ["shared_cache"]
+}
+isolated function testSharedCacheWithFailedBatch() returns error? {
+    final SharedCache sharedCache = new;
+    final DataLoader loader = new DefaultDataLoader(authorLoaderFunction, sharedCache = sharedCache);
+    loader.add(1);
+    loader.add(10);
+    loader.dispatch();
+    test:assertTrue(loader.get(1, AuthorRow) is error);
+    // Errors are not shared with the other requests
+    test:assertTrue(sharedCache.get(1) is error);
+    test:assertTrue(sharedCache.get(10) is error);
+}
+
+@test:Config {
+    groups: ["shared_cache"]
+}
+isolated function testMutatingResultReadThroughSharedCache() returns error? {
+    final SharedCache sharedCache = new;
+    sharedCache.put(1, {id: 1, name: "Author 1"});
+    final DataLoader loader = new DefaultDataLoader(authorLoaderFunction, sharedCache = sharedCache);
+    loader.add(1);
+    loader.dispatch();
+    AuthorRow author = check loader.get(1);
+    author.name = "Updated Author 1";
+    test:assertEquals(check sharedCache.get(1), {id: 1, name: "Author 1"});
+}
+
+@test:Config {
+    groups: ["stats"]
+}
+isolated function testDataLoaderStats() returns error? {
+    final DefaultDataLoader loader = new (authorLoaderFunction, maxBatchSize = 2);
+    readonly & int[] keys = [1, 2, 3, 1, 2];
+    keys.forEach(key => loader.add(key));
+    loader.dispatch();
+    foreach int key in keys {
+        AuthorRow _ = check loader.get(key);
+    }
+    loader.add(10);
+    loader.dispatch();
+    AuthorRow|error author = loader.get(10);
+    test:assertTrue(author is error);
+
+    DataLoaderStats stats = loader.getStats();
+    test:assertEquals(stats.batchCount, 3);
+    test:assertEquals(stats.keyCount, 4);
+    test:assertEquals(stats.batchSizeHistogram, {"1": 2, "2": 1});
+    test:assertEquals(stats.duplicateKeyCount, 2);
+    test:assertEquals(stats.cacheHitCount, 2);
+    test:assertEquals(stats.batchFailureCount, 1);
+    test:assertTrue(stats.totalBatchLatency >= stats.maxBatchLatency);
+
+    // The statistics are retained when the DataLoader is cleared
+    loader.clearAll();
+    test:assertEquals(loader.getStats(), stats);
+}
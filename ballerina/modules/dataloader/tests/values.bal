@@ -1,3 +1,5 @@
+import ballerina/lang.runtime;
+
 type AuthorRow record {|
     readonly int id;
     string name;
@@ -10,3 +12,134 @@ final isolated table<AuthorRow> key(id) authorTable = table [
     {id: 4, name: "Author 4"},
     {id: 5, name: "Author 5"}
 ];
+
+isolated int[] bookLoaderInvocations = [];
+
+isolated function bookLoaderFunction(readonly & anydata[] keys) returns string[]|error {
+    lock {
+        bookLoaderInvocations.push(keys.length());
+    }
+    string[] books = [];
+    foreach anydata key in keys {
+        map<anydata> bookKey = check key.ensureType();
+        books.push(string `${bookKey["authorId"].toString()}:${bookKey["title"].toString()}`);
+    }
+    return books;
+}
+
+// Blocks the batch functions until it is opened, so that the tests can keep the batches in flight
+isolated class BatchGate {
+    private boolean open;
+    private int waitingCount = 0;
+
+    isolated function init(boolean open = false) {
+        self.open = open;
+    }
+
+    isolated function open() {
+        lock {
+            self.open = true;
+        }
+    }
+
+    isolated function close() {
+        lock {
+            self.open = false;
+        }
+    }
+
+    isolated function pass() {
+        lock {
+            self.waitingCount += 1;
+        }
+        while !self.isOpen() {
+            runtime:sleep(0.01);
+        }
+    }
+
+    // Returns the number of the batch functions which have reached the gate
+    isolated function getWaitingCount() returns int {
+        lock {
+            return self.waitingCount;
+        }
+    }
+
+    private isolated function isOpen() returns boolean {
+        lock {
+            return self.open;
+        }
+    }
+}
+
+isolated function getGatedLoaderFunction(BatchGate gate) returns BatchLoadFunction {
+    return isolated function(readonly & anydata[] keys) returns int[]|error {
+        gate.pass();
+        readonly & int[] intKeys = check keys.ensureType();
+        return intKeys.'map(key => key * 10);
+    };
+}
+
+type BatchStats record {|
+    int activeBatches;
+    int maxActiveBatches;
+    int[] batchSizes;
+|};
+
+isolated BatchStats batchStats = {activeBatches: 0, maxActiveBatches: 0, batchSizes: []};
+
+isolated function trackingLoaderFunction(readonly & anydata[] keys) returns int[]|error {
+    lock {
+        batchStats.activeBatches += 1;
+        batchStats.maxActiveBatches = int:max(batchStats.maxActiveBatches, batchStats.activeBatches);
+        batchStats.batchSizes.push(keys.length());
+    }
+    runtime:sleep(0.1);
+    lock {
+        batchStats.activeBatches -= 1;
+    }
+    readonly & int[] intKeys = check keys.ensureType();
+    return intKeys.'map(key => key * 10);
+}
+
+isolated int[][] currencyLoaderInvocations = [];
+
+isolated function currencyLoaderFunction(readonly & anydata[] keys) returns string[]|error {
+    readonly & string[] codes = check keys.ensureType();
+    lock {
+        currencyLoaderInvocations.push(codes);
+    }
+    return codes.'map(code => string `Currency ${code}`);
+}
+
+isolated function panickingLoaderFunction(readonly & anydata[] keys) returns int[]|error {
+    panic error("The batch function panicked");
+}
+
+isolated int completedFastChunkCount = 0;
+isolated int fastChunksCompletedBeforeSlowChunk = 0;
+
+// Keeps the chunk of the key `0` in flight until the other chunks are completed, or until a timeout
+isolated function slowFirstChunkLoaderFunction(readonly & anydata[] keys) returns int[]|error {
+    readonly & int[] intKeys = check keys.ensureType();
+    if intKeys[0] == 0 {
+        int attempts = 0;
+        while getCompletedFastChunkCount() < 4 && attempts < 500 {
+            runtime:sleep(0.01);
+            attempts += 1;
+        }
+        lock {
+            fastChunksCompletedBeforeSlowChunk = completedFastChunkCount;
+        }
+    } else {
+        lock {
+            completedFastChunkCount += 1;
+        }
+    }
+    return intKeys.'map(key => key * 10);
+}
+
+isolated function getCompletedFastChunkCount() returns int {
+    lock {
+        return completedFastChunkCount;
+    }
+}
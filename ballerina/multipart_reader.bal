@@ -0,0 +1,289 @@
+// Copyright (c) 2024, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/http;
+import ballerina/io;
+import ballerina/mime;
+
+type MultipartHeaders record {|
+    string name;
+    string fileName;
+    string contentType;
+    string? contentEncoding;
+|};
+
+// Reads a `multipart/form-data` request body part by part directly from the request byte stream, without
+// materializing the whole body.
+class MultipartReader {
+    private final stream<byte[], io:Error?> byteStream;
+    private final byte[] delimiter;
+    private byte[] buffer;
+    private int availableMemory;
+
+    isolated function init(stream<byte[], io:Error?> byteStream, string boundary, int maxInMemorySize) {
+        self.byteStream = byteStream;
+        self.delimiter = string `${CRLF}--${boundary}`.toBytes();
+        // The first delimiter of the body is not preceded by a CRLF. Hence, a CRLF is prepended to the buffer to
+        // handle the first delimiter the same way as the rest of the delimiters.
+        self.buffer = CRLF.toBytes();
+        self.availableMemory = maxInMemorySize;
+    }
+
+    // Skips the remaining content of the current part and returns the headers of the next part. Returns `()` when the
+    // closing delimiter is reached.
+    isolated function nextPart() returns MultipartHeaders|error? {
+        byte[]? chunk = check self.readPartChunk();
+        while chunk is byte[] {
+            chunk = check self.readPartChunk();
+        }
+        int delimiterLength = self.delimiter.length();
+        while self.buffer.length() < delimiterLength + 2 {
+            check self.fill();
+        }
+        if self.buffer[delimiterLength] == HYPHEN && self.buffer[delimiterLength + 1] == HYPHEN {
+            return;
+        }
+        int headerEnd = check self.findInBuffer(HEADER_SEPARATOR, delimiterLength);
+        string headerSection = check string:fromBytes(self.buffer.slice(delimiterLength, headerEnd));
+        self.buffer = self.buffer.slice(headerEnd + HEADER_SEPARATOR.length());
+        return getMultipartHeaders(headerSection);
+    }
+
+    // Returns the next available chunk of the current part content. Returns `()` when the end of the part is reached.
+    isolated function readPartChunk() returns byte[]|error? {
+        int? delimiterIndex = indexOfBytes(self.buffer, self.delimiter);
+        int safeLength = self.buffer.length() - self.delimiter.length() + 1;
+        while delimiterIndex is () && safeLength <= 0 {
+            check self.fill();
+            delimiterIndex = indexOfBytes(self.buffer, self.delimiter);
+            safeLength = self.buffer.length() - self.delimiter.length() + 1;
+        }
+        int chunkLength = delimiterIndex is int ? delimiterIndex : safeLength;
+        if chunkLength == 0 {
+            return;
+        }
+        byte[] chunk = self.buffer.slice(0, chunkLength);
+        self.buffer = self.buffer.slice(chunkLength);
+        return chunk;
+    }
+
+    isolated function readPartAsJson() returns json|error {
+        byte[] content = [];
+        byte[]? chunk = check self.readPartChunk();
+        while chunk is byte[] {
+            content.push(...chunk);
+            chunk = check self.readPartChunk();
+        }
+        string jsonString = check string:fromBytes(content);
+        return jsonString.fromJsonString();
+    }
+
+    // Reads the current part content to the memory until the memory limit of the request is reached. The remaining
+    // content is written to a temporary file.
+    isolated function getBufferedPartContent() returns BufferedPartContent|error {
+        BufferedPartContent content = new;
+        byte[]? chunk = check self.readPartChunk();
+        while chunk is byte[] {
+            if !content.isSpilled() && chunk.length() <= self.availableMemory {
+                content.addChunk(chunk);
+                self.availableMemory -= chunk.length();
+            } else {
+                check content.spill(chunk);
+            }
+            chunk = check self.readPartChunk();
+        }
+        check content.closeWriter();
+        return content;
+    }
+
+    isolated function findInBuffer(byte[] target, int fromIndex) returns int|error {
+        int? index = indexOfBytes(self.buffer, target, fromIndex);
+        while index is () {
+            check self.fill();
+            index = indexOfBytes(self.buffer, target, fromIndex);
+        }
+        return <int>index;
+    }
+
+    isolated function fill() returns error? {
+        record {|byte[] value;|}? next = check self.byteStream.next();
+        if next is () {
+            return error Error("Unexpected end of the multipart request body");
+        }
+        self.buffer.push(...next.value);
+    }
+}
+
+// Streams the content of the current part of the multipart reader. The content is read from the network only when
+// the consumer requests the next chunk.
+class MultipartPartContent {
+    private final MultipartReader reader;
+
+    isolated function init(MultipartReader reader) {
+        self.reader = reader;
+    }
+
+    public isolated function next() returns record {|byte[] value;|}|io:Error? {
+        byte[]|error? chunk = self.reader.readPartChunk();
+        if chunk is error {
+            return error io:GenericError(chunk.message(), chunk);
+        }
+        return chunk is byte[] ? {value: chunk} : ();
+    }
+}
+
+// Holds the content of a multipart part which is read before the operation is executed.
+class BufferedPartContent {
+    private final byte[][] chunks = [];
+    private int index = 0;
+    private string? filePath = ();
+    private io:WritableByteChannel? writer = ();
+    private stream<io:Block, io:Error?>? fileStream = ();
+
+    isolated function addChunk(byte[] chunk) {
+        self.chunks.push(chunk);
+    }
+
+    isolated function isSpilled() returns boolean {
+        return self.filePath is string;
+    }
+
+    isolated function spill(byte[] chunk) returns error? {
+        io:WritableByteChannel? currentWriter = self.writer;
+        io:WritableByteChannel writer = currentWriter is () ? check self.openWriter() : currentWriter;
+        int offset = 0;
+        while offset < chunk.length() {
+            offset += check writer.write(chunk, offset);
+        }
+    }
+
+    isolated function openWriter() returns io:WritableByteChannel|error {
+        string filePath = check file:createTemp(prefix = UPLOAD_TEMP_FILE_PREFIX);
+        self.filePath = filePath;
+        io:WritableByteChannel writer = check io:openWritableFile(filePath, io:APPEND);
+        self.writer = writer;
+        return writer;
+    }
+
+    isolated function closeWriter() returns error? {
+        io:WritableByteChannel? writer = self.writer;
+        if writer is io:WritableByteChannel {
+            self.writer = ();
+            check writer.close();
+        }
+    }
+
+    public isolated function next() returns record {|byte[] value;|}|io:Error? {
+        if self.index < self.chunks.length() {
+            byte[] chunk = self.chunks[self.index];
+            self.index += 1;
+            return {value: chunk};
+        }
+        string? filePath = self.filePath;
+        if filePath is () {
+            return;
+        }
+        stream<io:Block, io:Error?>? currentStream = self.fileStream;
+        stream<io:Block, io:Error?> fileStream = currentStream is () ? check self.openFileStream(filePath)
+            : currentStream;
+        record {|io:Block value;|}? next = check fileStream.next();
+        return next is () ? () : {value: next.value};
+    }
+
+    public isolated function close() returns io:Error? {
+        stream<io:Block, io:Error?>? fileStream = self.fileStream;
+        if fileStream is stream<io:Block, io:Error?> {
+            self.fileStream = ();
+            check fileStream.close();
+        }
+    }
+
+    isolated function openFileStream(string filePath) returns stream<io:Block, io:Error?>|io:Error {
+        stream<io:Block, io:Error?> fileStream = check io:fileReadBlocksAsStream(filePath, UPLOAD_READ_BLOCK_SIZE);
+        self.fileStream = fileStream;
+        return fileStream;
+    }
+
+    // Releases the resources held for the part content, including the temporary file.
+    isolated function release() returns error? {
+        check self.close();
+        check self.closeWriter();
+        string? filePath = self.filePath;
+        if filePath is string {
+            self.filePath = ();
+            check file:remove(filePath);
+        }
+    }
+}
+
+isolated function getMultipartReader(http:Request request, FileUploadConfig uploadConfig)
+    returns MultipartReader|error {
+    mime:MediaType mediaType = check mime:getMediaType(request.getContentType());
+    string? boundary = mediaType.parameters[MULTIPART_BOUNDARY];
+    if boundary is () || boundary == "" {
+        return error Error("Boundary not found in multipart request");
+    }
+    stream<byte[], io:Error?> byteStream = check request.getByteStream();
+    return new MultipartReader(byteStream, re `^"|"$`.replaceAll(boundary, ""), uploadConfig.maxInMemorySize);
+}
+
+isolated function getMultipartHeaders(string headerSection) returns MultipartHeaders|error {
+    map<string> headers = {};
+    foreach string line in re `\r\n`.split(headerSection) {
+        int? separatorIndex = line.indexOf(":");
+        if separatorIndex is int {
+            headers[line.substring(0, separatorIndex).trim().toLowerAscii()] = line.substring(separatorIndex + 1).trim();
+        }
+    }
+    string? contentDisposition = headers[CONTENT_DISPOSITION.toLowerAscii()];
+    if contentDisposition is () {
+        return error Error("Content-Disposition header not found in multipart request part");
+    }
+    mime:ContentDisposition disposition = mime:getContentDispositionObject(contentDisposition);
+    return {
+        name: disposition.name,
+        fileName: disposition.fileName,
+        contentType: headers[mime:CONTENT_TYPE.toLowerAscii()] ?: mime:TEXT_PLAIN,
+        contentEncoding: headers[CONTENT_ENCODING.toLowerAscii()]
+    };
+}
+
+isolated function getUpload(MultipartHeaders headers, stream<byte[], io:Error?> byteStream) returns Upload|error {
+    mime:MediaType mediaType = check mime:getMediaType(headers.contentType);
+    return {
+        fileName: headers.fileName,
+        mimeType: mediaType.getBaseType(),
+        encoding: headers.contentEncoding ?: headers.contentType,
+        byteStream: byteStream
+    };
+}
+
+isolated function indexOfBytes(byte[] source, byte[] target, int fromIndex = 0) returns int? {
+    int lastIndex = source.length() - target.length();
+    int index = fromIndex;
+    while index <= lastIndex {
+        int matchedLength = 0;
+        while matchedLength < target.length() && source[index + matchedLength] == target[matchedLength] {
+            matchedLength += 1;
+        }
+        if matchedLength == target.length() {
+            return index;
+        }
+        index += 1;
+    }
+    return;
+}
@@ -14,6 +14,8 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import graphql.dataloader;
+
 import ballerina/jballerina.java;
 import ballerina/observe;
 
@@ -46,6 +48,101 @@ isolated function addObservabilityMetricsTags(string key, string value) {
     }
 }
 
+isolated function addDataLoaderMetrics(string dataLoaderId, dataloader:DataLoaderStats stats,
+        dataloader:DataLoaderStats reportedStats) {
+    map<string> tags = {[GRAPHQL_DATALOADER_ID]: dataLoaderId};
+    int batchCount = stats.batchCount - reportedStats.batchCount;
+    incrementCounter(GRAPHQL_DATALOADER_BATCHES, "Number of DataLoader batch function invocations", tags, batchCount);
+    incrementCounter(GRAPHQL_DATALOADER_KEYS, "Number of keys loaded by the DataLoader batch function", tags,
+            stats.keyCount - reportedStats.keyCount);
+    incrementCounter(GRAPHQL_DATALOADER_DUPLICATE_KEYS, "Number of duplicate keys removed by the DataLoader", tags,
+            stats.duplicateKeyCount - reportedStats.duplicateKeyCount);
+    incrementCounter(GRAPHQL_DATALOADER_CACHE_HITS, "Number of DataLoader results retrieved from the cache", tags,
+            stats.cacheHitCount - reportedStats.cacheHitCount);
+    incrementCounter(GRAPHQL_DATALOADER_BATCH_FAILURES, "Number of failed DataLoader batch function invocations", tags,
+            stats.batchFailureCount - reportedStats.batchFailureCount);
+    foreach [string, int] [bucket, count] in stats.batchSizeHistogram.entries() {
+        map<string> bucketTags = {...tags, [GRAPHQL_DATALOADER_BATCH_SIZE_BUCKET]: bucket};
+        incrementCounter(GRAPHQL_DATALOADER_BATCH_SIZE, "Number of DataLoader batches by the batch size", bucketTags,
+                count - (reportedStats.batchSizeHistogram[bucket] ?: 0));
+    }
+    if batchCount > 0 {
+        decimal latency = (stats.totalBatchLatency - reportedStats.totalBatchLatency) / <decimal>batchCount;
+        observe:Gauge gauge = new (GRAPHQL_DATALOADER_BATCH_LATENCY,
+            "Average time spent on a DataLoader batch function invocation", tags);
+        if gauge.register() is () {
+            gauge.setValue(<float>latency);
+        }
+    }
+}
+
+isolated function addServerCacheMetrics(string partition, int weight) {
+    map<string> tags = {[GRAPHQL_SERVER_CACHE_PARTITION]: partition == "" ? DEFAULT_SERVER_CACHE_PARTITION : partition};
+    observe:Gauge gauge = new (GRAPHQL_SERVER_CACHE_WEIGHT,
+        "Estimated size of the server cache partition entries in bytes, or the number of entries without maxBytes",
+        tags);
+    if gauge.register() is () {
+        gauge.setValue(<float>weight);
+    }
+}
+
+isolated function addServerCacheOffHeapMetrics(int entryCount, int byteCount) {
+    observe:Gauge entriesGauge = new (GRAPHQL_SERVER_CACHE_OFF_HEAP_ENTRIES,
+        "Number of entries in the off-heap tier of the server cache");
+    if entriesGauge.register() is () {
+        entriesGauge.setValue(<float>entryCount);
+    }
+    observe:Gauge bytesGauge = new (GRAPHQL_SERVER_CACHE_OFF_HEAP_BYTES,
+        "Size of the serialized values in the off-heap tier of the server cache in bytes");
+    if bytesGauge.register() is () {
+        bytesGauge.setValue(<float>byteCount);
+    }
+}
+
+isolated function addServerCacheStatsMetrics(string coordinate, ServerCacheStats stats) {
+    map<string> tags = {[GRAPHQL_SERVER_CACHE_COORDINATE]: coordinate};
+    incrementCounter(GRAPHQL_SERVER_CACHE_HITS, "Number of server cache lookups which found a value", tags,
+            stats.hitCount);
+    incrementCounter(GRAPHQL_SERVER_CACHE_MISSES, "Number of server cache lookups which did not find a value", tags,
+            stats.missCount);
+    incrementCounter(GRAPHQL_SERVER_CACHE_PUTS, "Number of entries added to the server cache", tags, stats.putCount);
+    incrementCounter(GRAPHQL_SERVER_CACHE_EVICTIONS, "Number of server cache entries evicted", tags,
+            stats.evictionCount);
+    incrementCounter(GRAPHQL_SERVER_CACHE_EXPIRATIONS, "Number of expired server cache entries removed", tags,
+            stats.expirationCount);
+    incrementCounter(GRAPHQL_SERVER_CACHE_INVALIDATIONS, "Number of server cache entries invalidated", tags,
+            stats.invalidationCount);
+    int lookupCount = stats.hitCount + stats.missCount;
+    if lookupCount > 0 {
+        observe:Gauge gauge = new (GRAPHQL_SERVER_CACHE_LOOKUP_LATENCY, "Average time spent on a server cache lookup",
+            tags);
+        if gauge.register() is () {
+            gauge.setValue(<float>(stats.totalLookupLatency / <decimal>lookupCount));
+        }
+    }
+}
+
+isolated function addSubscriptionQueueMetrics(string overflowPolicy, int droppedCount, int queuedCount) {
+    incrementCounter(GRAPHQL_SUBSCRIPTION_DROPPED_EVENTS,
+            "Number of subscription events dropped as the outbound queue of the subscriber is full",
+            {[GRAPHQL_SUBSCRIPTION_OVERFLOW_POLICY]: overflowPolicy}, droppedCount);
+    observe:Gauge gauge = new (GRAPHQL_SUBSCRIPTION_QUEUE_DEPTH,
+        "Number of messages queued to be written to the subscribers");
+    if gauge.register() is () {
+        gauge.setValue(<float>queuedCount);
+    }
+}
+
+isolated function incrementCounter(string name, string description, map<string> tags, int amount) {
+    if amount <= 0 {
+        return;
+    }
+    observe:Counter counter = new (name, description, tags);
+    if counter.register() is () {
+        counter.increment(amount);
+    }
+}
+
 isolated function addTracingInfomation(TraceObserverContext|TraceInformation traceInformation) {
     if !tracingEnabled {
         return;
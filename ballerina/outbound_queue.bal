@@ -0,0 +1,77 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+// The bounded queue of the serialized messages to be written to a subscriber. The messages are taken from the queue
+// and written to the subscriber by a separate strand, so that a slow subscriber does not stall the execution of the
+// events until the queue is full.
+isolated class OutboundQueue {
+    private final QueueOverflowPolicy overflowPolicy;
+
+    isolated function init(SubscriptionQueueConfig config) {
+        self.overflowPolicy = config.overflowPolicy;
+        self.initialize(config.maxSize, config.overflowPolicy);
+    }
+
+    // Adds a serialized message to the queue. The events are subjected to the overflow policy when the queue is full,
+    // while the other messages are always added. Returns `false` if the subscriber must be disconnected.
+    isolated function add(string message, boolean event) returns boolean {
+        int droppedCount = self.getDroppedCount();
+        boolean accepted = self.offer(message, event);
+        if metricsEnabled {
+            addSubscriptionQueueMetrics(self.overflowPolicy, self.getDroppedCount() - droppedCount,
+                    getTotalOutboundQueueSize());
+        }
+        return accepted;
+    }
+
+    // Returns the next message, waiting until one is available. Returns `()` once the queue is closed and empty.
+    isolated function next() returns string? {
+        string? message = self.take();
+        if metricsEnabled {
+            addSubscriptionQueueMetrics(self.overflowPolicy, 0, getTotalOutboundQueueSize());
+        }
+        return message;
+    }
+
+    // Closes the queue. The queued messages are still written to the subscriber, unless they are discarded.
+    isolated function close(boolean discard = false) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.OutboundQueue"
+    } external;
+
+    isolated function getDroppedCount() returns int = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.OutboundQueue"
+    } external;
+
+    private isolated function initialize(int maxSize, QueueOverflowPolicy overflowPolicy) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.OutboundQueue"
+    } external;
+
+    private isolated function offer(string message, boolean event) returns boolean = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.OutboundQueue"
+    } external;
+
+    private isolated function take() returns string? = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.OutboundQueue"
+    } external;
+}
+
+// Returns the total number of messages queued for all the subscribers
+isolated function getTotalOutboundQueueSize() returns int = @java:Method {
+    'class: "io.ballerina.stdlib.graphql.runtime.engine.OutboundQueue",
+    name: "getTotalSize"
+} external;
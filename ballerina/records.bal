@@ -106,6 +106,8 @@ public type ProxyConfig record {|
 # + secureSocket - SSL/TLS-related options
 # + proxy - Proxy server related options
 # + validation - Enables the inbound payload validation functionality which provided by the constraint package. Enabled by default
+# + normalizeResponse - Requests a normalized response from the server, in which the repeated entities are sent only
+#                       once, and rehydrates it before data binding. Disabled by default
 public type ClientConfiguration record {|
     ClientHttp1Settings http1Settings = {};
     decimal timeout = 60;
@@ -122,6 +124,7 @@ public type ClientConfiguration record {|
     ClientSecureSocket? secureSocket = ();
     ProxyConfig? proxy = ();
     boolean validation = true;
+    boolean normalizeResponse = false;
 |};
 
 type Data record {
@@ -141,6 +144,7 @@ public type ErrorDetail record {|
 type OutputObject record {|
     ErrorDetail[] errors?;
     Data? data?;
+    map<anydata> extensions?;
 |};
 
 type __Schema record {|
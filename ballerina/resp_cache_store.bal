@@ -0,0 +1,81 @@
+// Copyright (c) 2024, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# A `graphql:CacheStore` that keeps the server cache entries in a server speaking the RESP protocol, such as Redis. The
+# commands of the concurrent requests are pipelined over a single connection. The entries retrieved from the server are
+# kept in a local near-cache for a short time, so that the frequently used entries do not need a round trip to the
+# server on each request. The tags of the entries are kept as sets in the server, and require Redis 7.0 or newer.
+public isolated readonly class RespCacheStore {
+    *CacheStore;
+
+    # Initializes the cache store and connects to the RESP server.
+    #
+    # + config - The configurations of the cache store
+    # + return - A `graphql:Error` if the connection to the RESP server fails
+    public isolated function init(*RespCacheStoreConfig config) returns Error? {
+        return self.initialize(config.cloneReadOnly());
+    }
+
+    isolated function initialize(RespCacheStoreConfig config) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.RespCacheStore"
+    } external;
+
+    # Retrieves a cache entry, from the near-cache if it is available there.
+    #
+    # + key - The key of the entry
+    # + return - The value of the entry, `()` if the entry is not found, or an error if the retrieval fails
+    public isolated function get(string key) returns anydata|error = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.RespCacheStore"
+    } external;
+
+    # Adds a cache entry. The values that are neither simple values, nor structures of `anydata` values other than
+    # tables and XML values, are not added.
+    #
+    # + key - The key of the entry
+    # + value - The value of the entry
+    # + maxAge - The time in seconds to keep the entry
+    # + tags - The tags of the entry
+    # + return - An error if the entry cannot be added
+    public isolated function put(string key, anydata value, decimal maxAge, string[] tags) returns error? =
+    @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.RespCacheStore"
+    } external;
+
+    # Removes the entries under the given path.
+    #
+    # + path - The path of the entries
+    # + return - An error if the entries cannot be removed
+    public isolated function invalidate(string path) returns error? = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.RespCacheStore"
+    } external;
+
+    # Removes the entries having any of the given tags.
+    #
+    # + tags - The tags of the entries
+    # + return - An error if the entries cannot be removed
+    public isolated function invalidateTags(string[] tags) returns error? = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.RespCacheStore"
+    } external;
+
+    # Removes all the entries having the key prefix of the cache store.
+    #
+    # + return - An error if the entries cannot be removed
+    public isolated function invalidateAll() returns error? = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.RespCacheStore"
+    } external;
+}
@@ -21,19 +21,68 @@ import graphql.parser;
 class ResponseFormatter {
     private final readonly & __Schema schema;
     private OutputObject coercedOutputObject;
+    private final boolean normalize;
 
-    isolated function init(readonly & __Schema schema) {
+    isolated function init(readonly & __Schema schema, boolean normalize = false) {
         self.schema = schema;
         self.coercedOutputObject = {};
+        self.normalize = normalize;
     }
 
     isolated function getCoercedOutputObject(OutputObject outputObject, parser:OperationNode operationNode)
     returns OutputObject {
         self.coerceErrors(outputObject);
         self.coerceData(outputObject, operationNode);
+        if self.normalize {
+            self.normalizeData();
+        }
         return self.coercedOutputObject;
     }
 
+    // Moves every object that has both a `__typename` and an `id` into the `extensions.entities` table and replaces
+    // each occurrence in the data with a `{"__ref": "<typename>:<id>"}` object. An occurrence that differs from the
+    // already stored entity (i.e. a different selection set on the same entity) is kept inline.
+    isolated function normalizeData() {
+        Data? data = self.coercedOutputObject?.data;
+        if data is () {
+            return;
+        }
+        map<Data> entities = {};
+        anydata normalizedData = self.normalizeValue(data, entities, true);
+        if entities.length() == 0 {
+            return;
+        }
+        self.coercedOutputObject[DATA_FIELD] = <Data>normalizedData;
+        self.coercedOutputObject[EXTENSIONS_FIELD] = {[ENTITIES_FIELD]: entities};
+    }
+
+    isolated function normalizeValue(anydata value, map<Data> entities, boolean isRoot = false) returns anydata {
+        if value is anydata[] {
+            anydata[] result = [];
+            foreach anydata member in value {
+                result.push(self.normalizeValue(member, entities));
+            }
+            return result;
+        }
+        if value !is Data {
+            return value;
+        }
+        Data result = {};
+        foreach [string, anydata] [key, fieldValue] in value.entries() {
+            result[key] = self.normalizeValue(fieldValue, entities);
+        }
+        string? entityKey = isRoot ? () : getEntityKey(result);
+        if entityKey is () {
+            return result;
+        }
+        if !entities.hasKey(entityKey) {
+            entities[entityKey] = result;
+        } else if entities.get(entityKey) != result {
+            return result;
+        }
+        return {[ENTITY_REFERENCE_FIELD]: entityKey};
+    }
+
     isolated function coerceErrors(OutputObject outputObject) {
         ErrorDetail[]? originalErrors = outputObject?.errors;
         if originalErrors == () {
@@ -229,3 +278,12 @@ isolated function getTypeFromPossibleTypes(__Type[] possibleTypes, string onType
     }
     return;
 }
+
+isolated function getEntityKey(Data data) returns string? {
+    anydata typeName = data[TYPE_NAME_FIELD];
+    anydata id = data[ENTITY_ID_FIELD];
+    if typeName is string && (id is string || id is int) {
+        return string `${typeName}:${id}`;
+    }
+    return;
+}
@@ -25,6 +25,8 @@ isolated class ResponseGenerator {
     private final readonly & __Type fieldType;
     private final readonly & ServerCacheConfig? cacheConfig;
     private final readonly & string[] parentArgHashes;
+    // The cache tags resolved for the field, which are inherited by the subfields sharing its cache config
+    private readonly & string[]? cacheTags = ();
 
     private final string functionNameGetFragmentFromService = "";
 
@@ -38,6 +40,18 @@ isolated class ResponseGenerator {
         self.parentArgHashes = parentArgHashes;
     }
 
+    isolated function setCacheTags(readonly & string[] cacheTags) {
+        lock {
+            self.cacheTags = cacheTags;
+        }
+    }
+
+    private isolated function getCacheTags() returns readonly & string[]? {
+        lock {
+            return self.cacheTags;
+        }
+    }
+
     isolated function getResult(any|error parentValue, parser:FieldNode parentNode, (string|int)[] path = [])
     returns anydata {
         if parentValue is ErrorDetail {
@@ -84,7 +98,8 @@ isolated class ResponseGenerator {
             __Type parentType = self.fieldType;
             __Type fieldType = getFieldTypeFromParentType(parentType, self.engine.getSchema().types, fieldNode);
             Field 'field = new (fieldNode, fieldType, parentType, parentValue, clonedPath,
-                cacheConfig = self.cacheConfig, parentArgHashes = self.parentArgHashes
+                cacheConfig = self.cacheConfig, parentArgHashes = self.parentArgHashes,
+                parentCacheTags = self.getCacheTags()
             );
             return self.engine.resolve(self.context, 'field);
         }
@@ -157,7 +172,7 @@ returns anydata {
         readonly & (string|int)[] clonedPath = [...self.path, ...path, fieldNode.getAlias()];
         Field 'field = new (fieldNode, fieldType, parentType, path = clonedPath, fieldValue = fieldValue,
             cacheConfig = self.cacheConfig, parentArgHashes = self.parentArgHashes,
-            isAlreadyCached = isAlreadyCached
+            parentCacheTags = self.getCacheTags(), isAlreadyCached = isAlreadyCached
         );
         return self.engine.resolve(self.context, 'field);
     }
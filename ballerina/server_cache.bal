@@ -0,0 +1,134 @@
+// Copyright (c) 2024, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+// The state of a cache entry returned from a lookup
+type CacheEntryState FRESH|STALE|REVALIDATE|STALE_IF_ERROR;
+
+// The entry is not expired
+const FRESH = "FRESH";
+// The entry is expired but within its stale-while-revalidate window, and it is being revalidated
+const STALE = "STALE";
+// The entry is expired but within its stale-while-revalidate window, and the caller must refresh it
+const REVALIDATE = "REVALIDATE";
+// The entry is expired but within its stale-if-error window. The value can only be used if the resolution fails
+const STALE_IF_ERROR = "STALE_IF_ERROR";
+
+type CacheLookup record {|
+    any value;
+    CacheEntryState state;
+    // The id of the loading started for the caller, which must complete it after resolving the value
+    int loaderId?;
+|};
+
+// The server-side cache of the resolved field values. The entries are indexed by the path of their keys and by their
+// tags, so that the entries of a path or a tag can be invalidated without scanning the whole cache. The entries are
+// kept in partitions, each having the capacity given by the `maxSize` or the `maxBytes` of the configuration of its
+// first entry. When the off-heap tier is configured, the large values are kept outside the heap in a serialized form.
+// The statistics of the entries are collected for the field coordinate given when they are added.
+isolated class ServerCache {
+    private final boolean offHeapEnabled;
+
+    isolated function init(OffHeapCacheConfig? offHeapConfig = ()) {
+        self.offHeapEnabled = offHeapConfig is OffHeapCacheConfig && offHeapConfig.thresholdBytes > 0;
+        self.initialize(offHeapConfig);
+    }
+
+    isolated function initialize(OffHeapCacheConfig? offHeapConfig) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    isolated function put(string key, any value, ServerCacheConfig config, string partition = "",
+            string[] tags = [], string coordinate = "") = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    // Returns the total weight of the entries of the partition, which is either the number of entries or their estimated
+    // size in bytes
+    isolated function getWeight(string partition = "") returns int = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    isolated function isOffHeapEnabled() returns boolean {
+        return self.offHeapEnabled;
+    }
+
+    // Returns the total size of the serialized values in the off-heap tier in bytes
+    isolated function getOffHeapSize() returns int = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    isolated function getOffHeapEntryCount() returns int = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    isolated function get(string key, decimal loadTimeout = 0) returns any|error = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    // Returns the entry along with its state, including the expired entries within their stale windows
+    isolated function lookup(string key, decimal loadTimeout = 0) returns CacheLookup|error = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    // Records a lookup of an entry of the coordinate, along with its latency in seconds
+    isolated function recordLookup(string coordinate, boolean hit, decimal latency) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    // Records an entry of the coordinate added to a cache store, as such entries are not added to this cache
+    isolated function recordPut(string coordinate) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    isolated function getStats() returns map<ServerCacheStats> = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    // Returns the statistics collected since the previous call, without the maximum lookup latencies
+    isolated function getUnreportedStats() returns map<ServerCacheStats> = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    // Completes the loading of the key, only if it is still the loading of the given loader id
+    isolated function completeLoading(string key, int loaderId) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    isolated function invalidate(string path) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    isolated function invalidateTags(string[] tags) = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    isolated function invalidateAll() = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    // Writes the unexpired entries to a snapshot file, and returns the number of entries written
+    isolated function writeSnapshot(string path, string version) returns int|error = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+
+    // Restores the unexpired entries of a snapshot file written for the same version, and returns the number of entries
+    // restored
+    isolated function loadSnapshot(string path, string version) returns int|error = @java:Method {
+        'class: "io.ballerina.stdlib.graphql.runtime.engine.ServerCache"
+    } external;
+}
@@ -0,0 +1,149 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/websocket;
+
+// A subscription whose source stream and event executions are shared by the subscribers of the same operation. Once
+// closed, it does not accept new subscribers, and a new shared subscription is created for them. The messages are
+// written outside the lock, so that a slow subscriber does not block adding or removing the other subscribers.
+isolated class SharedSubscription {
+    private final string key;
+    // The subscribers by the order they joined, as the IDs of the subscribers are only unique within a connection
+    private final map<SubscriptionHandler> subscribers = {};
+    private int joinedCount = 0;
+    private boolean closed = false;
+
+    isolated function init(string key, SubscriptionHandler subscriber) {
+        self.key = key;
+        _ = self.addSubscriber(subscriber);
+    }
+
+    isolated function getKey() returns string {
+        return self.key;
+    }
+
+    // Returns `false` if the subscription is already closed
+    isolated function addSubscriber(SubscriptionHandler subscriber) returns boolean {
+        lock {
+            if self.closed {
+                return false;
+            }
+            self.subscribers[self.joinedCount.toString()] = subscriber;
+            self.joinedCount += 1;
+            return true;
+        }
+    }
+
+    // Removes the subscribers which have unsubscribed or closed their connections. When no subscriber is left, the
+    // subscription is closed and `true` is returned.
+    isolated function closeIfUnsubscribed() returns boolean {
+        lock {
+            foreach [string, SubscriptionHandler] [subscriberKey, subscriber] in self.subscribers.entries() {
+                if !subscriber.isActive() {
+                    _ = self.subscribers.remove(subscriberKey);
+                    subscriber.close();
+                }
+            }
+            if self.subscribers.length() == 0 {
+                self.closed = true;
+            }
+            return self.closed;
+        }
+    }
+
+    // Writes the serialized payload of an event to all the subscribers. A failed write is logged, as it must not stop
+    // the event delivery to the other subscribers.
+    isolated function publish(string payload) {
+        foreach string subscriberKey in self.getSubscriberKeys() {
+            SubscriptionHandler? subscriber = self.getSubscriber(subscriberKey);
+            if subscriber is () || !subscriber.isActive() {
+                continue;
+            }
+            websocket:Error? result = subscriber.sendNext(payload);
+            if result is websocket:Error {
+                logError("Failed to write the subscription event", result);
+            }
+        }
+    }
+
+    // Closes the subscription, and sends a `complete` message, or an `error` message with the given errors, to the
+    // remaining subscribers
+    isolated function complete(json & readonly errors = ()) {
+        lock {
+            self.closed = true;
+        }
+        foreach string subscriberKey in self.getSubscriberKeys() {
+            SubscriptionHandler? subscriber = self.getSubscriber(subscriberKey);
+            if subscriber is () {
+                continue;
+            }
+            if !subscriber.isActive() {
+                subscriber.close();
+                continue;
+            }
+            OutboundMessage message = errors is ()
+                ? {'type: WS_COMPLETE, id: subscriber.getId()}
+                : {'type: WS_ERROR, id: subscriber.getId(), payload: errors};
+            websocket:Error? result = subscriber.send(message);
+            if result is websocket:Error {
+                logError("Failed to complete the subscription", result);
+            }
+            subscriber.close();
+        }
+    }
+
+    private isolated function getSubscriberKeys() returns string[] {
+        lock {
+            return self.subscribers.keys().clone();
+        }
+    }
+
+    // Returns `()` if the subscriber is already removed
+    private isolated function getSubscriber(string subscriberKey) returns SubscriptionHandler? {
+        lock {
+            return self.subscribers[subscriberKey];
+        }
+    }
+}
+
+// The shared subscriptions of a service, by the keys of their operations
+isolated class SharedSubscriptions {
+    private final map<SharedSubscription> subscriptions = {};
+
+    // Adds the subscriber to the open shared subscription of the key. When there is no such subscription, a new one is
+    // created and returned, and the caller is expected to execute it.
+    isolated function join(string key, SubscriptionHandler subscriber) returns SharedSubscription? {
+        lock {
+            SharedSubscription? subscription = self.subscriptions[key];
+            if subscription is SharedSubscription && subscription.addSubscriber(subscriber) {
+                return;
+            }
+            SharedSubscription newSubscription = new (key, subscriber);
+            self.subscriptions[key] = newSubscription;
+            return newSubscription;
+        }
+    }
+
+    // Removes a closed subscription, unless it is already replaced by a new subscription of the same key
+    isolated function remove(SharedSubscription subscription) {
+        lock {
+            SharedSubscription? current = self.subscriptions[subscription.getKey()];
+            if current === subscription {
+                _ = self.subscriptions.remove(subscription.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import graphql.parser;
+
+// Executes the events of a subscription. The operation is prepared once when the subscription starts, and each event
+// only executes the selections of the prepared operation against the event value, reusing the same executor. The events
+// of a subscription are executed one after the other.
+isolated class SubscriptionExecutor {
+    private final Engine engine;
+    private final readonly & (parser:OperationNode|OutputObject) preparedOperation;
+    private final ExecutorVisitor executor;
+
+    isolated function init(Engine engine, readonly & __Schema schema, Context context,
+            parser:OperationNode operationNode) {
+        self.engine = engine;
+        parser:OperationNode|OutputObject preparedOperation = engine.prepareOperation(operationNode);
+        self.preparedOperation = preparedOperation is OutputObject ? preparedOperation.cloneReadOnly()
+            : preparedOperation;
+        self.executor = new (engine, schema, context);
+    }
+
+    isolated function execute(any|error result) returns OutputObject {
+        readonly & (parser:OperationNode|OutputObject) preparedOperation = self.preparedOperation;
+        // An operation which can not be prepared results in the same errors for every event
+        if preparedOperation !is parser:OperationNode {
+            return preparedOperation.clone();
+        }
+        self.executor.reset(result);
+        return self.engine.executePreparedOperation(preparedOperation, self.executor);
+    }
+}
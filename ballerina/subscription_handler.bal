@@ -14,12 +14,18 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/websocket;
+
 isolated class SubscriptionHandler {
     private final string id;
+    private final websocket:Caller caller;
+    private final OutboundQueue? queue;
     private boolean isUnsubscribed;
 
-    isolated function init(string id) {
+    isolated function init(string id, websocket:Caller caller, SubscriptionQueueConfig? queueConfig = ()) {
         self.id = id;
+        self.caller = caller;
+        self.queue = queueConfig is () ? () : new (queueConfig);
         self.isUnsubscribed = false;
     }
 
@@ -27,10 +33,50 @@ isolated class SubscriptionHandler {
         return self.id;
     }
 
+    isolated function getQueue() returns OutboundQueue? {
+        return self.queue;
+    }
+
+    // Writes the `next` message of a serialized payload. When the subscription has an outbound queue, the message is
+    // added to the queue, and the subscriber is disconnected if the overflow policy rejects it.
+    isolated function sendNext(string payload) returns websocket:Error? {
+        string message = getNextMessageFrame(self.id, payload);
+        OutboundQueue? queue = self.queue;
+        if queue is () {
+            return writeMessage(self.caller, message);
+        }
+        if !queue.add(message, true) {
+            self.setUnsubscribed();
+            SubscriptionError err = error("Subscriber is too slow to receive the events", code = 4429);
+            closeConnection(self.caller, err);
+        }
+    }
+
+    isolated function send(OutboundMessage message) returns websocket:Error? {
+        OutboundQueue? queue = self.queue;
+        if queue is () {
+            return writeMessage(self.caller, message);
+        }
+        _ = queue.add(message.toJsonString(), false);
+    }
+
+    // Closes the outbound queue once the subscription has sent its last message
+    isolated function close() {
+        OutboundQueue? queue = self.queue;
+        if queue is OutboundQueue {
+            queue.close();
+        }
+    }
+
+    // The queued messages are discarded, as they must not be written after the subscriber has unsubscribed
     isolated function setUnsubscribed() {
         lock {
             self.isUnsubscribed = true;
         }
+        OutboundQueue? queue = self.queue;
+        if queue is OutboundQueue {
+            queue.close(true);
+        }
     }
 
     isolated function getUnsubscribed() returns boolean {
@@ -38,4 +84,9 @@ isolated class SubscriptionHandler {
             return self.isUnsubscribed;
         }
     }
+
+    // Returns whether the subscriber is still subscribed and connected
+    isolated function isActive() returns boolean {
+        return !self.getUnsubscribed() && self.caller.isOpen();
+    }
 }
@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/lang.runtime;
 import ballerina/test;
 import graphql.parser;
 
@@ -42,3 +43,76 @@ function dataProviderSubscriptionValidation() returns (string[][]) {
         ["multiple_subscriptions_root_fields_in_fragments"]
     ];
 }
+
+@test:Config {
+    groups: ["subscriptions", "outbound_queue"]
+}
+isolated function testOutboundQueueOverflowPolicies() {
+    OutboundQueue dropOldestQueue = new ({maxSize: 2, overflowPolicy: QUEUE_OVERFLOW_DROP_OLDEST});
+    OutboundQueue coalesceLatestQueue = new ({maxSize: 2, overflowPolicy: QUEUE_OVERFLOW_COALESCE_LATEST});
+    foreach OutboundQueue queue in [dropOldestQueue, coalesceLatestQueue] {
+        foreach string event in ["1", "2", "3"] {
+            test:assertTrue(queue.add(event, true));
+        }
+        // The messages other than the events are added even when the queue is full
+        test:assertTrue(queue.add("complete", false));
+        queue.close();
+    }
+    test:assertEquals(dropOldestQueue.getDroppedCount(), 1);
+    test:assertEquals([dropOldestQueue.next(), dropOldestQueue.next(), dropOldestQueue.next(), dropOldestQueue.next()],
+                      ["2", "3", "complete", ()]);
+    // All the queued events are replaced with the latest event
+    test:assertEquals(coalesceLatestQueue.getDroppedCount(), 2);
+    test:assertEquals([coalesceLatestQueue.next(), coalesceLatestQueue.next(), coalesceLatestQueue.next()],
+                      ["3", "complete", ()]);
+
+    OutboundQueue disconnectQueue = new ({maxSize: 2, overflowPolicy: QUEUE_OVERFLOW_DISCONNECT});
+    test:assertTrue(disconnectQueue.add("1", true));
+    test:assertTrue(disconnectQueue.add("2", true));
+    test:assertFalse(disconnectQueue.add("3", true));
+
+    // The queued messages are not taken once they are discarded
+    disconnectQueue.close(true);
+    test:assertEquals(disconnectQueue.next(), ());
+}
+
+@test:Config {
+    groups: ["subscriptions", "event_coalescing"]
+}
+isolated function testEventCoalescer() returns error? {
+    stream<any, error?> sourceStream = [1, 2, 3, 4, 5, 6, 7, 8, 9, 10].toStream();
+    EventCoalescer coalescer = new (sourceStream, 10);
+    int[] events = [];
+    record {|any value;|}|error? next = coalescer.next();
+    while next !is () {
+        events.push(<int>(check next).value);
+        next = coalescer.next();
+    }
+    // The first event is not delayed, and the pending event is taken without waiting for the window once the source
+    // stream is completed
+    test:assertTrue(events.length() <= 2);
+    test:assertEquals(events[events.length() - 1], 10);
+}
+
+@test:Config {
+    groups: ["subscriptions", "event_coalescing"]
+}
+isolated function testEventCoalescerClosedWhilePulling() returns error? {
+    GatedEventGenerator generator = new;
+    stream<int, error?> sourceStream = new (generator);
+    EventCoalescer coalescer = new (sourceStream, 10);
+    while !generator.isPulling() {
+        runtime:sleep(0.01);
+    }
+    // The source stream is not closed while the puller waits for the next event
+    closeStream(sourceStream, coalescer);
+    test:assertFalse(generator.isClosed());
+    test:assertEquals(coalescer.next(), ());
+
+    // The puller closes the source stream once the pending event is received
+    generator.release();
+    while !generator.isClosed() {
+        runtime:sleep(0.01);
+    }
+    test:assertFalse(generator.isClosedWhilePulling());
+}
@@ -15,6 +15,8 @@
 // under the License.
 import graphql.parser;
 
+import ballerina/file;
+import ballerina/lang.runtime;
 import ballerina/test;
 
 @test:Config {
@@ -26,7 +28,7 @@ function testCacheUtils() returns error? {
     Field 'field = getField(fields[0], Person, PersonQuery, ["person"], {maxAge: 10});
     test:assertTrue('field.isCacheEnabled());
     test:assertEquals('field.getCacheMaxAge(), 10d);
-    test:assertEquals('field.getCacheKey(), "person.Jq9sXPlesvC6Q7cU5RPkZA==");
+    test:assertEquals('field.getCacheKey(), "person.8938946a213650ed40060b80b500e605");
 }
 
 @test:Config {
@@ -38,7 +40,10 @@ function testCacheConfigInferring() returns error? {
     Field 'field = getField(fields[0], Person, PersonQuery, ["person"], {maxAge: 10});
     test:assertTrue('field.getSubfields() is Field[]);
     Field[] subfields = <Field[]>'field.getSubfields();
-    string[] expectedCacheKey = ["person.name.11FxOYiYfpMxmANj4kGJzg==", "person.address.nj4v+q6cUjv3W/MbZdNQXg=="];
+    string[] expectedCacheKey = [
+        "person.name.93c9703a64df170374bde03b1ae6ebe0",
+        "person.address.96bd1cff76add426742da1aef543788f"
+    ];
     foreach int i in 0 ..< subfields.length() {
         test:assertTrue(subfields[i].isCacheEnabled());
         test:assertEquals(subfields[i].getCacheMaxAge(), 10d);
@@ -50,8 +55,327 @@ function testCacheConfigInferring() returns error? {
             Field subSubfield = (<Field[]>subSubfields)[0];
             test:assertTrue(subSubfield.isCacheEnabled());
             test:assertEquals(subSubfield.getCacheMaxAge(), 10d);
-            test:assertEquals(subSubfield.getCacheKey(), string `person.address.city.11FxOYiYfpMxmANj4kGJzg==`);
+            test:assertEquals(subSubfield.getCacheKey(), "person.address.city.93c9703a64df170374bde03b1ae6ebe0");
         }
     }
 }
 
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheInvalidation() returns error? {
+    ServerCache cache = new;
+    ServerCacheConfig config = {maxAge: 60, maxSize: 10};
+    cache.put("person.name.a1", "Walter", config);
+    cache.put("person.address.city.a1", "Albuquerque", config);
+    cache.put("person.address.street.a1", "Negra Arroyo Lane", config);
+    cache.put("personal.a1", "Skyler", config);
+
+    cache.invalidate("person.address");
+    test:assertTrue(cache.get("person.address.city.a1") is error);
+    test:assertTrue(cache.get("person.address.street.a1") is error);
+    test:assertEquals(check cache.get("person.name.a1"), "Walter");
+
+    cache.invalidate("person");
+    test:assertTrue(cache.get("person.name.a1") is error);
+    test:assertEquals(check cache.get("personal.a1"), "Skyler");
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheLoadingOwnership() returns error? {
+    ServerCache cache = new;
+    any|error miss = cache.get("person.name.a1", 10);
+    test:assertTrue(miss is error);
+    int loaderId = check getCacheLoaderId(<error>miss).ensureType();
+
+    // A miss waiting for the loading times out without a loader id
+    any|error timedOutMiss = cache.get("person.name.a1", 0.1);
+    test:assertTrue(timedOutMiss is error);
+    test:assertEquals(getCacheLoaderId(<error>timedOutMiss), ());
+
+    // Only the loader can complete the loading
+    cache.completeLoading("person.name.a1", loaderId + 1);
+    timedOutMiss = cache.get("person.name.a1", 0.1);
+    test:assertEquals(getCacheLoaderId(<error>timedOutMiss), ());
+
+    cache.put("person.name.a1", "Walter", {maxAge: 60, maxSize: 10});
+    cache.completeLoading("person.name.a1", loaderId);
+    test:assertEquals(check cache.get("person.name.a1", 10), "Walter");
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheInvalidationAfterEviction() returns error? {
+    ServerCache cache = new;
+    ServerCacheConfig config = {maxAge: 60, maxSize: 5};
+    foreach int i in 0 ..< 5 {
+        cache.put(string `people.${i}.name.a1`, i, config);
+    }
+    // A single entry is evicted when the capacity is exceeded
+    cache.put("person.name.a1", "Walter", config);
+    int cachedPeopleCount = 0;
+    foreach int i in 0 ..< 5 {
+        if cache.get(string `people.${i}.name.a1`) !is error {
+            cachedPeopleCount += 1;
+        }
+    }
+    test:assertEquals(cachedPeopleCount, 4);
+
+    cache.invalidate("people");
+    foreach int i in 0 ..< 5 {
+        test:assertTrue(cache.get(string `people.${i}.name.a1`) is error);
+    }
+    test:assertEquals(check cache.get("person.name.a1"), "Walter");
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheScanResistance() returns error? {
+    ServerCache cache = new;
+    ServerCacheConfig config = {maxAge: 60, maxSize: 5};
+    foreach int i in 0 ..< 4 {
+        cache.put(string `hot.${i}.a1`, i, config);
+        foreach int _ in 0 ..< 3 {
+            _ = check cache.get(string `hot.${i}.a1`);
+        }
+    }
+    // Entries used only once are not admitted over the frequently used entries
+    foreach int i in 0 ..< 20 {
+        cache.put(string `scan.${i}.a1`, i, config);
+    }
+    foreach int i in 0 ..< 4 {
+        test:assertEquals(check cache.get(string `hot.${i}.a1`), i);
+    }
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCachePartitions() returns error? {
+    ServerCache cache = new;
+    ServerCacheConfig config = {maxAge: 60, maxSize: 2};
+    cache.put("person.name.a1", "Walter", config, "Person.name");
+    foreach int i in 0 ..< 10 {
+        cache.put(string `people.${i}.a1`, i, config, "Query.people");
+    }
+    // Entries of a partition do not evict the entries of another partition
+    test:assertEquals(check cache.get("person.name.a1"), "Walter");
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheWithMaxBytes() returns error? {
+    ServerCache cache = new;
+    ServerCacheConfig config = {maxAge: 60, maxBytes: 10000};
+    string[] largeValue = [];
+    foreach int i in 0 ..< 100 {
+        largeValue.push(string `value-${i}`);
+    }
+    cache.put("large.a1", largeValue.cloneReadOnly(), config);
+    int largeValueWeight = cache.getWeight();
+    test:assertTrue(largeValueWeight > 1000);
+
+    cache.put("small.a1", "small", config);
+    test:assertTrue(cache.getWeight() > largeValueWeight);
+
+    // Values larger than the capacity are not kept
+    string[] largerValue = [];
+    foreach int i in 0 ..< 1000 {
+        largerValue.push(string `value-${i}`);
+    }
+    cache.put("larger.a1", largerValue.cloneReadOnly(), config);
+    test:assertTrue(cache.get("larger.a1") is error);
+    test:assertTrue(cache.getWeight() <= 10000);
+}
+
+type CachedProduct record {|
+    string name;
+    decimal price;
+    string[] tags;
+|};
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheOffHeapTier() returns error? {
+    ServerCache cache = new ({thresholdBytes: 1000, maxBytes: 100000});
+    ServerCacheConfig config = {maxAge: 60};
+    CachedProduct[] products = [];
+    foreach int i in 0 ..< 20 {
+        products.push({name: string `product-${i}`, price: 10.5d, tags: ["sale", "new"]});
+    }
+    cache.put("products.a1", products.cloneReadOnly(), config);
+    cache.put("product.name.a1", "product-0", config);
+    test:assertEquals(cache.getOffHeapEntryCount(), 1);
+    test:assertTrue(cache.getOffHeapSize() > 0);
+
+    // The values read from the off-heap tier have their original types
+    any cachedProducts = check cache.get("products.a1");
+    test:assertTrue(cachedProducts is readonly & CachedProduct[]);
+    test:assertEquals(cachedProducts, products);
+    test:assertEquals(check cache.get("product.name.a1"), "product-0");
+
+    cache.invalidate("products");
+    test:assertTrue(cache.get("products.a1") is error);
+    test:assertEquals(cache.getOffHeapEntryCount(), 0);
+}
+
+@test:Config {
+    groups: ["server_cache", "cache_snapshot"]
+}
+isolated function testServerCacheSnapshot() returns error? {
+    string path = check file:joinPath(check file:createTempDir(), "cache.snapshot");
+    ServerCache cache = new;
+    CachedProduct product = {name: "product-0", price: 10.5d, tags: ["sale"]};
+    cache.put("person.name.a1", "Walter", {maxAge: 60}, "Person.name", ["people"]);
+    cache.put("person.age.a1", 52, {maxAge: 0.001});
+    cache.put("product.a1", product.cloneReadOnly(), {maxAge: 60, maxBytes: 10000}, "Query.product");
+    runtime:sleep(0.01);
+    // The expired entries are not written
+    test:assertEquals(check cache.writeSnapshot(path, "v1"), 2);
+
+    // The snapshots written for another version are skipped
+    ServerCache restoredCache = new;
+    test:assertEquals(check restoredCache.loadSnapshot(path, "v2"), 0);
+    test:assertEquals(check restoredCache.loadSnapshot(path, "v1"), 2);
+    test:assertEquals(check restoredCache.get("person.name.a1"), "Walter");
+    test:assertEquals(check restoredCache.get("product.a1"), product);
+    test:assertTrue(restoredCache.get("person.age.a1") is error);
+    test:assertTrue(restoredCache.getWeight("Query.product") > 0);
+
+    // The restored entries keep their tags, and the snapshot is removed once restored
+    restoredCache.invalidateTags(["people"]);
+    test:assertTrue(restoredCache.get("person.name.a1") is error);
+    test:assertFalse(check file:test(path, file:EXISTS));
+}
+
+@test:Config {
+    groups: ["server_cache", "cache_snapshot"]
+}
+isolated function testServerCacheSnapshotWithOffHeapTier() returns error? {
+    string path = check file:joinPath(check file:createTempDir(), "cache.snapshot");
+    OffHeapCacheConfig offHeapConfig = {thresholdBytes: 1000, maxBytes: 100000};
+    ServerCache cache = new (offHeapConfig);
+    CachedProduct[] products = [];
+    foreach int i in 0 ..< 20 {
+        products.push({name: string `product-${i}`, price: 10.5d, tags: ["sale", "new"]});
+    }
+    // Only the field-level configs are used, hence there is no default partition
+    cache.put("products.a1", products.cloneReadOnly(), {maxAge: 60}, "Query.products");
+    cache.put("product.name.a1", "product-0", {maxAge: 60}, "Product.name");
+    test:assertEquals(cache.getOffHeapEntryCount(), 1);
+    test:assertEquals(check cache.writeSnapshot(path, "v1"), 2);
+
+    ServerCache restoredCache = new (offHeapConfig);
+    test:assertEquals(check restoredCache.loadSnapshot(path, "v1"), 2);
+    test:assertEquals(restoredCache.getOffHeapEntryCount(), 1);
+    test:assertEquals(check restoredCache.get("products.a1"), products);
+    test:assertEquals(check restoredCache.get("product.name.a1"), "product-0");
+}
+
+@test:Config {
+    groups: ["server_cache"]
+}
+isolated function testServerCacheStats() returns error? {
+    ServerCache cache = new;
+    cache.put("person.name.a1", "Walter", {maxAge: 60, maxSize: 1}, "Person.name", ["people"], "Person.name");
+    cache.put("person.name.a2", "Jesse", {maxAge: 60, maxSize: 1}, "Person.name", [], "Person.name");
+    cache.put("person.age.a1", 52, {maxAge: 0.001}, coordinate = "Person.age");
+    cache.recordLookup("Person.name", true, 0.002);
+    cache.recordLookup("Person.name", false, 0.001);
+    runtime:sleep(0.01);
+    test:assertTrue(cache.lookup("person.age.a1") is error);
+    cache.invalidateTags(["people"]);
+    cache.invalidateAll();
+
+    map<ServerCacheStats> stats = cache.getStats();
+    ServerCacheStats nameStats = check stats["Person.name"].ensureType();
+    test:assertEquals(nameStats.hitCount, 1);
+    test:assertEquals(nameStats.missCount, 1);
+    test:assertEquals(nameStats.putCount, 2);
+    test:assertEquals(nameStats.totalLookupLatency, 0.003d);
+    test:assertEquals(nameStats.maxLookupLatency, 0.002d);
+    // The first entry is evicted as the partition holds a single entry, hence only the second entry is invalidated
+    test:assertEquals(nameStats.evictionCount, 1);
+    test:assertEquals(nameStats.invalidationCount, 1);
+    ServerCacheStats ageStats = check stats["Person.age"].ensureType();
+    test:assertEquals(ageStats.putCount, 1);
+    test:assertEquals(ageStats.expirationCount, 1);
+    test:assertEquals(ageStats.invalidationCount, 0);
+
+    // Only the statistics collected since the previous report are reported
+    test:assertEquals(cache.getUnreportedStats()["Person.name"]?.putCount, 2);
+    cache.recordLookup("Person.name", true, 0.001);
+    map<ServerCacheStats> unreportedStats = cache.getUnreportedStats();
+    test:assertEquals(unreportedStats["Person.name"]?.hitCount, 1);
+    test:assertEquals(unreportedStats["Person.name"]?.putCount, 0);
+    test:assertFalse(unreportedStats.hasKey("Person.age"));
+}
+
+const RESP_SERVER_PORT = 6390;
+
+@test:Config {
+    groups: ["server_cache", "cache_store"]
+}
+isolated function testRespCacheStore() returns error? {
+    check startEmbeddedRespServer(RESP_SERVER_PORT);
+    RespCacheStore store = check new (port = RESP_SERVER_PORT, keyPrefix = "test:", nearCacheMaxAge = 0);
+    CachedProduct product = {name: "product-0", price: 10.5d, tags: ["sale"]};
+    check store.put("product.a1", product.cloneReadOnly(), 60, ["products"]);
+    check store.put("product.name.a1", "product-0", 60, []);
+    check store.put("person.name.a1", "Walter", 60, ["people"]);
+
+    // The records retrieved from the store have the types and the immutability of the records added
+    anydata cachedProduct = check store.get("product.a1");
+    test:assertTrue(cachedProduct is readonly & CachedProduct);
+    test:assertEquals(cachedProduct, product);
+    test:assertEquals(check store.get("product.name.a1"), "product-0");
+    test:assertEquals(check store.get("unknown.a1"), ());
+
+    check store.invalidateTags(["products"]);
+    test:assertEquals(check store.get("product.a1"), ());
+    test:assertEquals(check store.get("product.name.a1"), "product-0");
+
+    check store.invalidate("product");
+    test:assertEquals(check store.get("product.name.a1"), ());
+    test:assertEquals(check store.get("person.name.a1"), "Walter");
+
+    check store.invalidateAll();
+    test:assertEquals(check store.get("person.name.a1"), ());
+    stopEmbeddedRespServer(RESP_SERVER_PORT);
+}
+
+@test:Config {
+    groups: ["server_cache", "cache_store"]
+}
+isolated function testRespCacheStoreNearCache() returns error? {
+    int port = RESP_SERVER_PORT + 1;
+    check startEmbeddedRespServer(port);
+    RespCacheStore store = check new (port = port, nearCacheMaxAge = 60);
+    RespCacheStore otherStore = check new (port = port, nearCacheMaxAge = 60);
+    check store.put("person.name.a1", "Walter", 60, []);
+
+    // The entries retrieved once are served from the near-cache
+    test:assertEquals(check otherStore.get("person.name.a1"), "Walter");
+    test:assertEquals(check otherStore.get("person.name.a1"), "Walter");
+    test:assertEquals(getEmbeddedRespServerCommandCount(port, "GET"), 1);
+
+    // The invalidations clear the near-cache of the store
+    check otherStore.invalidate("person");
+    test:assertEquals(check otherStore.get("person.name.a1"), ());
+    stopEmbeddedRespServer(port);
+}
+
+@test:Config {
+    groups: ["server_cache", "cache_store"]
+}
+isolated function testRespCacheStoreConnectionFailure() {
+    RespCacheStore|Error store = new (port = RESP_SERVER_PORT + 2, timeout = 1);
+    test:assertTrue(store is Error);
+}
@@ -18,6 +18,8 @@ import graphql.parser;
 
 import ballerina/file;
 import ballerina/io;
+import ballerina/jballerina.java;
+import ballerina/lang.runtime;
 
 isolated function getGraphqlDocumentFromFile(string fileName) returns string|error {
     string gqlFileName = string `${fileName}.graphql`;
@@ -61,3 +63,76 @@ isolated function getField(parser:FieldNode fieldNode, __Type fieldType, __Type
         ServerCacheConfig? cacheConfig = ()) returns Field {
     return new (fieldNode, fieldType, parentType, path = path, cacheConfig = cacheConfig);
 }
+
+isolated function startEmbeddedRespServer(int port) returns error? = @java:Method {
+    'class: "io.ballerina.stdlib.graphql.runtime.engine.EmbeddedRespServer",
+    name: "start"
+} external;
+
+isolated function stopEmbeddedRespServer(int port) = @java:Method {
+    'class: "io.ballerina.stdlib.graphql.runtime.engine.EmbeddedRespServer",
+    name: "stop"
+} external;
+
+isolated function getEmbeddedRespServerCommandCount(int port, string command) returns int = @java:Method {
+    'class: "io.ballerina.stdlib.graphql.runtime.engine.EmbeddedRespServer",
+    name: "getCommandCount"
+} external;
+
+// An event generator whose `next` calls wait until the generator is released
+isolated class GatedEventGenerator {
+    private boolean released = false;
+    private boolean pulling = false;
+    private boolean closed = false;
+    private boolean closedWhilePulling = false;
+
+    public isolated function next() returns record {|int value;|}? {
+        lock {
+            self.pulling = true;
+        }
+        while !self.isReleased() {
+            runtime:sleep(0.01);
+        }
+        lock {
+            self.pulling = false;
+        }
+        return {value: 1};
+    }
+
+    public isolated function close() returns error? {
+        lock {
+            self.closedWhilePulling = self.pulling;
+            self.closed = true;
+        }
+    }
+
+    isolated function release() {
+        lock {
+            self.released = true;
+        }
+    }
+
+    isolated function isReleased() returns boolean {
+        lock {
+            return self.released;
+        }
+    }
+
+    isolated function isPulling() returns boolean {
+        lock {
+            return self.pulling;
+        }
+    }
+
+    isolated function isClosed() returns boolean {
+        lock {
+            return self.closed;
+        }
+    }
+
+    isolated function isClosedWhilePulling() returns boolean {
+        lock {
+            return self.closedWhilePulling;
+        }
+    }
+}
@@ -49,6 +49,136 @@ public type Upload record {|
     stream<byte[], io:Error?> byteStream;
 |};
 
+# Represents the configurations for the multipart file uploads.
+#
+# + maxInMemorySize - The maximum number of bytes of the uploaded files kept in memory per request. The files which are
+#                     received before the last file of a request are buffered until the operation is executed. Once
+#                     this limit is reached, the rest of the file content is written to temporary files
+public type FileUploadConfig readonly & record {|
+    int maxInMemorySize = 1048576;
+|};
+
+# Represents the configurations of the response cache. When the operation-level cache is enabled using the `cacheConfig`
+# of the service, the serialized responses of the query operations are cached as a whole, unless a field of the
+# operation is not cached, or is resolved using an interceptor, a prefetch method, or a batch function. A response is
+# cached for the shortest `maxAge` of its fields. All the cached responses are removed when a cache entry is
+# invalidated.
+#
+# + contextKeys - Keys of the context attributes to be included in the cache key, in addition to the document, the
+#                 operation name, and the variables (Ex: the key of the tenant ID)
+public type ResponseCacheConfig readonly & record {|
+    string[] contextKeys = [];
+|};
+
+# Represents the configurations of the shared subscriptions. The subscriptions with the same document, operation name,
+# variables, and context attribute values share a single source stream, and each event is executed once for all of
+# them. The source stream is created and every event is executed using the context of the first subscriber, including
+# the attributes set for its connection by the `contextInit` function. The other subscribers get the events resolved
+# with the attribute values of the first subscriber, hence the context attributes used by the subscription resolvers
+# (Ex: the attributes used for authorization) must be included in the `contextKeys`.
+#
+# + contextKeys - Keys of the context attributes to be included in the sharing key, in addition to the document, the
+#                 operation name, and the variables (Ex: the key of the user ID)
+public type SubscriptionSharingConfig readonly & record {|
+    string[] contextKeys = [];
+|};
+
+# The subscription waits until the outbound queue of the subscriber has room for the new event. When the subscription
+# is shared, all of its subscribers wait for the slowest subscriber.
+public const QUEUE_OVERFLOW_BLOCK = "BLOCK";
+
+# The oldest event in the outbound queue of the subscriber is dropped to make room for the new event.
+public const QUEUE_OVERFLOW_DROP_OLDEST = "DROP_OLDEST";
+
+# The events in the outbound queue of the subscriber are replaced with the new event, as only the latest event is of
+# interest. The messages other than the events are kept.
+public const QUEUE_OVERFLOW_COALESCE_LATEST = "COALESCE_LATEST";
+
+# The connection of the subscriber is closed.
+public const QUEUE_OVERFLOW_DISCONNECT = "DISCONNECT";
+
+# The policies to handle a new event when the outbound queue of a subscriber is full.
+public type QueueOverflowPolicy QUEUE_OVERFLOW_BLOCK|QUEUE_OVERFLOW_DROP_OLDEST|QUEUE_OVERFLOW_COALESCE_LATEST|
+    QUEUE_OVERFLOW_DISCONNECT;
+
+# Represents the configurations of the outbound queues of the subscriptions. The messages of each subscription are
+# added to its own bounded queue, and are written to the subscriber separately from the execution of the events. The
+# `complete` and `error` messages are never dropped, and are not counted towards the size of the queue.
+#
+# + maxSize - Maximum number of events queued for a subscription
+# + overflowPolicy - The policy to handle a new event when the queue is full
+public type SubscriptionQueueConfig readonly & record {|
+    int maxSize = 100;
+    QueueOverflowPolicy overflowPolicy = QUEUE_OVERFLOW_BLOCK;
+|};
+
+# Represents the configurations of the off-heap tier of the server cache. The cached values larger than the threshold
+# are kept outside the heap in a serialized form, and are deserialized each time they are retrieved. Only the `anydata`
+# values other than tables and XML values are kept in the off-heap tier.
+#
+# + thresholdBytes - Minimum estimated size of a value in bytes to keep it in the off-heap tier
+# + maxBytes - Maximum total size of the serialized values kept in the off-heap tier in bytes
+public type OffHeapCacheConfig readonly & record {|
+    int thresholdBytes = 65536;
+    int maxBytes = 67108864;
+|};
+
+# Represents the configurations of the server cache snapshots. When the listener is gracefully stopped, the unexpired
+# entries of the server cache are written to the snapshot file along with their remaining times to live. When the
+# listener is started, the entries still unexpired are restored from the snapshot file, and the file is removed. A
+# snapshot is not restored if the schema of the service has changed since it was written. Only the `anydata` values
+# other than tables and XML values are written to a snapshot.
+#
+# + path - The path of the snapshot file
+public type CacheSnapshotConfig readonly & record {|
+    string path;
+|};
+
+# Represents the statistics of the server cache entries of a field coordinate (Ex: `Query.person`). The statistics of
+# the cached responses are collected for the `$response` coordinate.
+public type ServerCacheStats record {|
+    # The number of lookups which found a value, including the stale values returned while being revalidated
+    int hitCount = 0;
+    # The number of lookups which did not find a value, and resolved it
+    int missCount = 0;
+    # The number of entries added to the cache
+    int putCount = 0;
+    # The number of entries removed to make room for other entries
+    int evictionCount = 0;
+    # The number of entries removed as they are expired
+    int expirationCount = 0;
+    # The number of entries removed by an invalidation
+    int invalidationCount = 0;
+    # The total time spent on the lookups in seconds, including the time spent waiting for a concurrent resolution
+    decimal totalLookupLatency = 0;
+    # The maximum time spent on a single lookup in seconds
+    decimal maxLookupLatency = 0;
+|};
+
+# Represents the configurations of a `graphql:RespCacheStore`.
+#
+# + host - The host of the RESP server
+# + port - The port of the RESP server
+# + password - The password to authenticate to the RESP server
+# + database - The index of the database of the RESP server
+# + keyPrefix - The prefix of the keys of the cache entries in the RESP server. The services sharing a RESP server must
+#               use different prefixes
+# + timeout - The time in seconds to wait for a reply of the RESP server
+# + nearCacheMaxAge - The maximum time in seconds to keep an entry retrieved from the RESP server in the memory of the
+#                     service. An entry invalidated by another instance of the service may be used during this time.
+#                     Setting this to zero disables the near-cache
+# + nearCacheMaxSize - The maximum number of entries kept in the near-cache
+public type RespCacheStoreConfig record {|
+    string host = "localhost";
+    int port = 6379;
+    string password?;
+    int database = 0;
+    string keyPrefix = "graphql:";
+    decimal timeout = 5;
+    decimal nearCacheMaxAge = 1;
+    int nearCacheMaxSize = 1000;
+|};
+
 # Represent CORS configurations for internal HTTP service
 public type CorsConfig record {|
     *http:CorsConfig;
@@ -70,10 +200,39 @@ public type Graphiql record {|
 # + enabled - State of the caching
 # + maxAge - TTL of the cache in seconds
 # + maxSize - Maximum number of cache entries
+# + maxBytes - Maximum estimated size of the cache entries in bytes. When this is set to a positive value, the entries
+#              are evicted based on their estimated sizes instead of the `maxSize`
+# + tags - Tags of the cache entries, which can be used to invalidate the entries using `graphql:Context`. A tag can
+#          include placeholders in the form of `{name}`, which are replaced by the value of the argument with the given
+#          name, or by the value of the field with the given name in the resolved record value
+#          (Ex: `"product:{id}"`). A tag is not added when a placeholder cannot be resolved
+# + loadTimeout - Maximum time in seconds to wait for a concurrent request that is resolving the same cache entry.
+#                 When the value is not available within this time, the value is resolved again. Setting this to `0`
+#                 resolves the value in each concurrent request
+# + staleWhileRevalidate - Time in seconds after the `maxAge` during which the stale value is returned while the value
+#                          is refreshed in the background. The stale value is kept if the refresh fails. The
+#                          background refresh uses a copy of the context having its attributes, but not its
+#                          DataLoaders
+# + revalidateInRequest - Whether a stale value is refreshed by the request revalidating it instead of in the
+#                         background. This is needed when the resolver depends on the state of the request, such as
+#                         the DataLoaders. The request then waits for the refresh, and gets the stale value if the
+#                         refresh fails, while the other requests get the stale value without waiting
+# + staleIfError - Time in seconds after the `maxAge` during which the stale value is returned if resolving the value
+#                  fails
+# + partition - Name of the cache partition to keep the entries in. Each partition has its own capacity, given by the
+#               `maxSize` or the `maxBytes` of the first entry added to it. By default, each field with a field-level cache
+#               configuration has a partition of its own, while the other fields share a single partition
 public type ServerCacheConfig  readonly & record{|
     boolean enabled = true;
     decimal maxAge = 60;
     int maxSize = 120;
+    int maxBytes = 0;
+    string[] tags = [];
+    decimal loadTimeout = 5;
+    decimal staleWhileRevalidate = 0;
+    boolean revalidateInRequest = false;
+    decimal staleIfError = 0;
+    string partition?;
 |};
 
 # Internal HTTP service class for GraphQL services
@@ -91,6 +250,45 @@ public type Interceptor distinct service object {
     isolated remote function execute(Context context, Field 'field) returns anydata|error;
 };
 
+# Represents a store of the server cache entries. By default, the entries are kept in the memory of each instance of
+# the service. When a cache store is configured, the entries are kept in the store instead, so that they are shared
+# among the instances of the service, and the invalidations done by an instance apply to all the instances. Only the
+# `anydata` values are kept in a cache store.
+public type CacheStore isolated object {
+    # Retrieves a cache entry.
+    #
+    # + key - The key of the entry
+    # + return - The value of the entry, `()` if the entry is not found, or an error if the retrieval fails
+    public isolated function get(string key) returns anydata|error;
+
+    # Adds a cache entry. An existing entry with the same key is replaced.
+    #
+    # + key - The key of the entry, of the form `segment1.segment2...segmentN.hash`, where the segments are the path of
+    #         the field
+    # + value - The value of the entry
+    # + maxAge - The time in seconds to keep the entry
+    # + tags - The tags of the entry
+    # + return - An error if the entry cannot be added
+    public isolated function put(string key, anydata value, decimal maxAge, string[] tags) returns error?;
+
+    # Removes the entries under the given path.
+    #
+    # + path - The path of the entries, of the form `segment1.segment2...segmentN`
+    # + return - An error if the entries cannot be removed
+    public isolated function invalidate(string path) returns error?;
+
+    # Removes the entries having any of the given tags.
+    #
+    # + tags - The tags of the entries
+    # + return - An error if the entries cannot be removed
+    public isolated function invalidateTags(string[] tags) returns error?;
+
+    # Removes all the entries.
+    #
+    # + return - An error if the entries cannot be removed
+    public isolated function invalidateAll() returns error?;
+};
+
 // GraphQL client related data binding types representation
 
 # Represents the target type binding record with data and extensions of a GraphQL response for `executeWithType` method.
@@ -96,17 +96,27 @@ isolated service class WsService {
 
     private isolated function handleSubscriptionRequest(websocket:Caller caller, SubscribeMessage message)
     returns websocket:Error? {
-        SubscriptionHandler|SubscriptionError handler = self.validateSubscriptionRequest(message);
+        SubscriptionHandler|SubscriptionError handler = self.validateSubscriptionRequest(caller, message);
         if handler is SubscriptionError {
             return closeConnection(caller, handler);
         }
         parser:OperationNode|json node = validateSubscriptionPayload(message, self.engine);
         if node is parser:OperationNode {
-            _ = start executeOperation(self.engine, self.context, self.schema, caller, node, handler);
+            string? sharingKey = self.engine.getSubscriptionSharingKey(message.payload.query.trim(),
+                    message.payload?.operationName, message.payload?.variables, self.context);
+            if sharingKey is () {
+                _ = start executeOperation(self.engine, self.context, self.schema, node, handler);
+                return;
+            }
+            SharedSubscription? subscription = self.engine.joinSharedSubscription(sharingKey, handler);
+            if subscription is SharedSubscription {
+                _ = start executeSharedOperation(self.engine, self.context, self.schema, node, subscription);
+            }
             return;
         }
         ErrorMessage response = {'type: WS_ERROR, id: handler.getId(), payload: node};
-        check writeMessage(caller, response);
+        check handler.send(response);
+        handler.close();
     }
 
     private isolated function handleCompleteRequest(CompleteMessage message) {
@@ -146,9 +156,9 @@ isolated service class WsService {
         }
     }
 
-    private isolated function validateSubscriptionRequest(SubscribeMessage message)
+    private isolated function validateSubscriptionRequest(websocket:Caller caller, SubscribeMessage message)
     returns SubscriptionHandler|SubscriptionError {
-        SubscriptionHandler handler = new (message.id);
+        SubscriptionHandler handler = new (message.id, caller, self.engine.getSubscriptionQueueConfig());
         lock {
             if !self.initiatedConnection {
                 return error("Unauthorized", code = 4401);
@@ -158,6 +168,10 @@ isolated service class WsService {
             }
             self.activeConnections[message.id] = handler;
         }
+        OutboundQueue? queue = handler.getQueue();
+        if queue is OutboundQueue {
+            _ = start writeQueuedMessages(caller, queue);
+        }
         return handler;
     }
 
@@ -19,9 +19,10 @@ import ballerina/websocket;
 import ballerina/lang.value;
 import graphql.parser;
 
-isolated function executeOperation(Engine engine, Context context, readonly & __Schema schema, websocket:Caller caller,
+isolated function executeOperation(Engine engine, Context context, readonly & __Schema schema,
                                    parser:OperationNode node, SubscriptionHandler subscriptionHandler) {
     stream<any, error?>|json sourceStream;
+    EventCoalescer? coalescer = ();
     do {
         SubscriptionHandler handler = subscriptionHandler;
         RootFieldVisitor rootFieldVisitor = new (node);
@@ -29,52 +30,102 @@ isolated function executeOperation(Engine engine, Context context, readonly & __
         Field 'field = getFieldObject(fieldNode, parser:OPERATION_SUBSCRIPTION, schema, engine);
         sourceStream = getSubscriptionResponse(engine, schema, context, 'field, node);
         if sourceStream is stream<any, error?> {
-            record {|any value;|}|error? next = sourceStream.next();
+            coalescer = getEventCoalescer(engine, 'field, sourceStream);
+            SubscriptionExecutor executor = new (engine, schema, context, node);
+            record {|any value;|}|error? next = getNextEvent(sourceStream, coalescer);
             while next !is () {
                 if handler.getUnsubscribed() {
-                    closeStream(sourceStream);
+                    closeStream(sourceStream, coalescer);
                     return;
                 }
                 any|error resultValue = next is error ? next : next.value;
-                OutputObject outputObject = engine.getResult(node, context, resultValue);
+                OutputObject outputObject = executor.execute(resultValue);
                 context.clearDataLoadersCachesAndPlaceholders();
                 if outputObject.hasKey(DATA_FIELD) || outputObject.hasKey(ERRORS_FIELD) {
-                    NextMessage response = {'type: 'WS_NEXT, id: handler.getId(), payload: outputObject.toJson()};
-                    check writeMessage(caller, response);
+                    check handler.sendNext(outputObject.toJsonString());
                 }
                 context.resetErrors(); //Remove previous event's errors before the next one
-                next = sourceStream.next();
+                next = getNextEvent(sourceStream, coalescer);
             }
-            check handleStreamCompletion(caller, handler, sourceStream);
+            check handleStreamCompletion(handler, sourceStream);
         } else {
-            check handleStreamCreationError(caller, handler, sourceStream);
+            check handleStreamCreationError(handler, sourceStream);
         }
     } on fail error err {
         log:printError(err.message(), stackTrace = err.stackTrace());
         if sourceStream is stream<any, error?> {
-            closeStream(sourceStream);
+            closeStream(sourceStream, coalescer);
         }
     }
+    subscriptionHandler.close();
 }
 
-isolated function handleStreamCompletion(websocket:Caller caller, SubscriptionHandler handler,
-                                         stream<any, error?> sourceStream) returns websocket:Error? {
+// Executes a subscription shared by the subscribers of the same operation. The events are executed once, and the
+// serialized results are written to all the subscribers. The source stream is closed once all the subscribers have
+// unsubscribed.
+isolated function executeSharedOperation(Engine engine, Context context, readonly & __Schema schema,
+                                         parser:OperationNode node, SharedSubscription subscription) {
+    RootFieldVisitor rootFieldVisitor = new (node);
+    parser:FieldNode fieldNode = <parser:FieldNode>rootFieldVisitor.getRootFieldNode();
+    Field 'field = getFieldObject(fieldNode, parser:OPERATION_SUBSCRIPTION, schema, engine);
+    stream<any, error?>|json sourceStream = getSubscriptionResponse(engine, schema, context, 'field, node);
+    if sourceStream !is stream<any, error?> {
+        subscription.complete(sourceStream.cloneReadOnly());
+        engine.removeSharedSubscription(subscription);
+        return;
+    }
+    EventCoalescer? coalescer = getEventCoalescer(engine, 'field, sourceStream);
+    SubscriptionExecutor executor = new (engine, schema, context, node);
+    record {|any value;|}|error? next = getNextEvent(sourceStream, coalescer);
+    while next !is () {
+        if subscription.closeIfUnsubscribed() {
+            engine.removeSharedSubscription(subscription);
+            closeStream(sourceStream, coalescer);
+            return;
+        }
+        any|error resultValue = next is error ? next : next.value;
+        OutputObject outputObject = executor.execute(resultValue);
+        context.clearDataLoadersCachesAndPlaceholders();
+        if outputObject.hasKey(DATA_FIELD) || outputObject.hasKey(ERRORS_FIELD) {
+            subscription.publish(outputObject.toJsonString());
+        }
+        context.resetErrors(); //Remove previous event's errors before the next one
+        next = getNextEvent(sourceStream, coalescer);
+    }
+    subscription.complete();
+    engine.removeSharedSubscription(subscription);
+    closeStream(sourceStream);
+}
+
+isolated function handleStreamCompletion(SubscriptionHandler handler, stream<any, error?> sourceStream)
+returns websocket:Error? {
     if handler.getUnsubscribed() {
         closeStream(sourceStream);
         return;
     }
     CompleteMessage response = {'type: WS_COMPLETE, id: handler.getId()};
-    check writeMessage(caller, response);
+    check handler.send(response);
     closeStream(sourceStream);
 }
 
-isolated function handleStreamCreationError(websocket:Caller caller, SubscriptionHandler handler, json errors)
-returns websocket:Error? {
+isolated function handleStreamCreationError(SubscriptionHandler handler, json errors) returns websocket:Error? {
     if handler.getUnsubscribed() {
         return;
     }
     ErrorMessage response = {'type: WS_ERROR, id: handler.getId(), payload: errors};
-    check writeMessage(caller, response);
+    check handler.send(response);
+}
+
+// Writes the queued messages of a subscription to the subscriber, until the queue is closed
+isolated function writeQueuedMessages(websocket:Caller caller, OutboundQueue queue) {
+    string? message = queue.next();
+    while message is string {
+        websocket:Error? result = writeMessage(caller, message);
+        if result is websocket:Error {
+            logError("Failed to write the subscription message", result);
+        }
+        message = queue.next();
+    }
 }
 
 isolated function validateSubscriptionPayload(SubscribeMessage data, Engine engine) returns parser:OperationNode|json {
@@ -118,7 +169,16 @@ isolated function closeConnection(websocket:Caller caller, SubscriptionError cau
     }
 }
 
-isolated function closeStream(stream<any, error?> sourceStream) {
+// When the events are coalesced, the source stream is closed by the coalescer if it is still being pulled, so that it is
+// not closed while a `next` call is in progress
+isolated function closeStream(stream<any, error?> sourceStream, EventCoalescer? coalescer = ()) {
+    if coalescer is EventCoalescer && !coalescer.close() {
+        return;
+    }
+    closeSourceStream(sourceStream);
+}
+
+isolated function closeSourceStream(stream<any, error?> sourceStream) {
     error? result = sourceStream.close();
     if result is error {
         logError("Failed to close stream", result);
@@ -142,7 +202,13 @@ isolated function logError(string message, error cause) {
     log:printError(err.message(), stackTrace = err.stackTrace());
 }
 
-isolated function writeMessage(websocket:Caller caller, OutboundMessage message) returns websocket:Error? {
+// Returns the serialized `next` message of a serialized payload, so that the payload written to the subscribers of a
+// shared subscription is serialized only once
+isolated function getNextMessageFrame(string id, string payload) returns string {
+    return string `{"type":"${WS_NEXT}","id":${id.toJsonString()},"payload":${payload}}`;
+}
+
+isolated function writeMessage(websocket:Caller caller, OutboundMessage|string message) returns websocket:Error? {
     lock {
         if !caller.isOpen() {
             return;
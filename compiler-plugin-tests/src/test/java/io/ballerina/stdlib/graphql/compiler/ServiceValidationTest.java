@@ -1459,6 +1459,27 @@ public class ServiceValidationTest {
         Assert.assertEquals(diagnosticResult.errorCount(), 0);
     }
 
+    @Test(groups = "invalid")
+    public void testInvalidBatchFunctionConfigurations() {
+        String packagePath = "88_invalid_batch_function_configurations";
+        DiagnosticResult diagnosticResult = getDiagnosticResult(packagePath);
+        Assert.assertEquals(diagnosticResult.errorCount(), 3);
+        Iterator<Diagnostic> diagnosticIterator = diagnosticResult.errors().iterator();
+
+        Diagnostic diagnostic = diagnosticIterator.next();
+        String message = getErrorMessage(CompilationDiagnostic.INVALID_USAGE_OF_BATCH_FUNCTION_CONFIG, "author");
+        assertErrorMessage(diagnostic, message, 20, 5);
+
+        diagnostic = diagnosticIterator.next();
+        message = getErrorMessage(CompilationDiagnostic.INVALID_INPUT_PARAMETER_IN_BATCHED_FIELD, "name", "author");
+        assertErrorMessage(diagnostic, message, 65, 41);
+
+        diagnostic = diagnosticIterator.next();
+        message = getErrorMessage(CompilationDiagnostic.INVALID_BATCH_FUNCTION_SIGNATURE, "loadBookAuthors", "authors",
+                                  "Book", "Author[]");
+        assertErrorMessage(diagnostic, message, 70, 24);
+    }
+
     private DiagnosticResult getDiagnosticResult(String packagePath) {
         Path projectDirPath = RESOURCE_DIRECTORY.resolve(packagePath);
         BuildProject project = BuildProject.load(getEnvironmentBuilder(), projectDirPath);
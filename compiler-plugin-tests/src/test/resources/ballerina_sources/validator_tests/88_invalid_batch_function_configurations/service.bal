@@ -0,0 +1,83 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/graphql;
+
+service graphql:Service on new graphql:Listener(4000) {
+    @graphql:ResourceConfig {
+        batchFunction: loadAuthorNames
+    }
+    resource function get author() returns Author {
+        return new ("Conan Doyle");
+    }
+
+    resource function get book() returns Book {
+        return new ("The Sign of Four");
+    }
+}
+
+public isolated distinct service class Author {
+    private final string name;
+
+    isolated function init(string name) {
+        self.name = name;
+    }
+
+    resource function get name() returns string {
+        return self.name;
+    }
+
+    @graphql:ResourceConfig {
+        batchFunction: loadAuthorNames
+    }
+    resource function get title() returns string {
+        return self.name;
+    }
+}
+
+public isolated distinct service class Book {
+    private final string title;
+
+    isolated function init(string title) {
+        self.title = title;
+    }
+
+    resource function get title() returns string {
+        return self.title;
+    }
+
+    @graphql:ResourceConfig {
+        batchFunction: loadBookAuthors
+    }
+    resource function get author(string name) returns Author {
+        return new (name);
+    }
+
+    @graphql:ResourceConfig {
+        batchFunction: loadBookAuthors
+    }
+    resource function get authors() returns Author[] {
+        return [];
+    }
+}
+
+isolated function loadAuthorNames(Author[] authors) returns string[] {
+    return authors.'map(author => "");
+}
+
+isolated function loadBookAuthors(Book[] books) returns Author[]|error {
+    return books.'map(book => new Author(""));
+}
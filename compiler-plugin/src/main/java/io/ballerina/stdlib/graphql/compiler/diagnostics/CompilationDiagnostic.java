@@ -89,6 +89,12 @@ public enum CompilationDiagnostic {
     INVALID_EMPTY_RECORD_INPUT_TYPE(DiagnosticMessage.ERROR_147, DiagnosticCode.GRAPHQL_147, DiagnosticSeverity.ERROR),
     INVALID_MODIFICATION_OF_SERVICE_CONFIG_FIELD(DiagnosticMessage.ERROR_148, DiagnosticCode.GRAPHQL_148,
                                                  DiagnosticSeverity.ERROR),
+    INVALID_USAGE_OF_BATCH_FUNCTION_CONFIG(DiagnosticMessage.ERROR_149, DiagnosticCode.GRAPHQL_149,
+                                           DiagnosticSeverity.ERROR),
+    INVALID_BATCH_FUNCTION_SIGNATURE(DiagnosticMessage.ERROR_150, DiagnosticCode.GRAPHQL_150,
+                                     DiagnosticSeverity.ERROR),
+    INVALID_INPUT_PARAMETER_IN_BATCHED_FIELD(DiagnosticMessage.ERROR_151, DiagnosticCode.GRAPHQL_151,
+                                             DiagnosticSeverity.ERROR),
 
     // Warnings
     UNSUPPORTED_INPUT_FIELD_DEPRECATION(DiagnosticMessage.WARNING_201, DiagnosticCode.GRAPHQL_201,
@@ -98,6 +98,12 @@ public enum DiagnosticMessage {
     ERROR_147("invalid empty record type ''{0}'' found for GraphQL input object type at field ''{1}''"),
     ERROR_148("field ''{0}'' in ServiceConfig is not allowed to be modified. "
                       + "The value will be generated automatically by the GraphQL module"),
+    ERROR_149("invalid usage of ''batchFunction'' configuration found in ''{0}''. ''batchFunction'' configuration is"
+                      + " only supported for 'get' resource methods of service classes"),
+    ERROR_150("invalid batch function ''{0}'' found for the GraphQL field ''{1}''. The batch function must accept an"
+                      + " array of ''{2}'' and return an array of ''{3}'' or an error"),
+    ERROR_151("invalid input parameter ''{0}'' found in the GraphQL field ''{1}''. Fields resolved using a batch "
+                      + "function cannot have input parameters"),
 
     WARNING_201("invalid usage of @deprecated directive found in ''{0}''. Input object field(s) deprecation "
                         + "is not supported by the current GraphQL spec"),
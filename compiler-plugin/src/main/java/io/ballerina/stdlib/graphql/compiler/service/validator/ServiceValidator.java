@@ -141,6 +141,7 @@ public class ServiceValidator {
     private static final String FIELD_PATH_SEPARATOR = ".";
     private static final String PREFETCH_METHOD_PREFIX = "pre";
     private static final String PREFETCH_METHOD_NAME_CONFIG = "prefetchMethodName";
+    private static final String BATCH_FUNCTION_CONFIG = "batchFunction";
     private static final String KEY = "key";
     private static final String INPUT_OBJECT_FIELD = "input object field";
     private static final String PARAMETER = "parameter";
@@ -340,9 +341,11 @@ public class ServiceValidator {
                 validateRemoteMethod(methodSymbol, methodLocation);
                 this.currentFieldPath.remove(TypeName.MUTATION.getName());
                 validatePrefetchMethodMapping(methodSymbol, methodSymbols, location);
+                validateBatchFunctionMapping(methodSymbol, null, location);
             } else if (isResourceMethod(methodSymbol)) {
                 validateRootServiceResourceMethod((ResourceMethodSymbol) methodSymbol, methodLocation);
                 validatePrefetchMethodMapping(methodSymbol, methodSymbols, location);
+                validateBatchFunctionMapping(methodSymbol, null, location);
             }
         }
     }
@@ -388,6 +391,130 @@ public class ServiceValidator {
         validatePrefetchMethodSignature(prefetchMethod, methodSymbol, location);
     }
 
+    // Validates the batch function of a field. The parent class is null for the fields which cannot be batched.
+    private void validateBatchFunctionMapping(MethodSymbol methodSymbol, ClassSymbol parentClass, Location location) {
+        if (!hasResourceConfigAnnotation(methodSymbol)) {
+            return;
+        }
+        FinderContext finderContext = new FinderContext(this.context);
+        ResourceConfigAnnotationFinder resourceConfigAnnotationFinder = new ResourceConfigAnnotationFinder(
+                finderContext, methodSymbol);
+        Optional<AnnotationNode> annotation = resourceConfigAnnotationFinder.find();
+        if (annotation.isEmpty()) {
+            return;
+        }
+        ExpressionNode batchFunction = getBatchFunctionExpression(annotation.get());
+        if (batchFunction == null) {
+            return;
+        }
+        String graphqlFieldName = getGraphqlFieldName(methodSymbol);
+        if (parentClass == null || !isResourceMethod(methodSymbol) || isSubscription(methodSymbol)) {
+            addDiagnostic(CompilationDiagnostic.INVALID_USAGE_OF_BATCH_FUNCTION_CONFIG, annotation.get().location(),
+                          graphqlFieldName);
+            return;
+        }
+        validateBatchedFieldParameters(methodSymbol, graphqlFieldName, location);
+        Optional<TypeSymbol> batchFunctionType = this.context.semanticModel().typeOf(batchFunction);
+        Optional<TypeSymbol> fieldType = methodSymbol.typeDescriptor().returnTypeDescriptor();
+        if (batchFunctionType.isEmpty() || fieldType.isEmpty()) {
+            return;
+        }
+        TypeSymbol batchFunctionTypeSymbol = getReferredType(batchFunctionType.get());
+        if (batchFunctionTypeSymbol.typeKind() != TypeDescKind.FUNCTION) {
+            return;
+        }
+        FunctionTypeSymbol functionTypeSymbol = (FunctionTypeSymbol) batchFunctionTypeSymbol;
+        if (functionTypeSymbol.params().isEmpty()) {
+            // A function type without a signature (e.g. `isolated function`) cannot be validated at compile time
+            return;
+        }
+        if (!isValidBatchFunctionParameters(functionTypeSymbol, parentClass)
+                || !isValidBatchFunctionReturnType(functionTypeSymbol, fieldType.get())) {
+            addDiagnostic(CompilationDiagnostic.INVALID_BATCH_FUNCTION_SIGNATURE, batchFunction.location(),
+                          batchFunction.toSourceCode().trim(), graphqlFieldName,
+                          parentClass.getName().orElse(parentClass.signature()), fieldType.get().signature());
+        }
+    }
+
+    private ExpressionNode getBatchFunctionExpression(AnnotationNode annotation) {
+        if (annotation.annotValue().isEmpty()) {
+            return null;
+        }
+        MappingConstructorExpressionNode mappingConstructorExpressionNode = annotation.annotValue().get();
+        for (MappingFieldNode field : mappingConstructorExpressionNode.fields()) {
+            if (field.kind() == SPECIFIC_FIELD) {
+                SpecificFieldNode specificFieldNode = (SpecificFieldNode) field;
+                Node fieldName = specificFieldNode.fieldName();
+                if (fieldName.kind() == SyntaxKind.IDENTIFIER_TOKEN
+                        && BATCH_FUNCTION_CONFIG.equals(((IdentifierToken) fieldName).text())) {
+                    return specificFieldNode.valueExpr().orElse(null);
+                }
+            }
+        }
+        return null;
+    }
+
+    private void validateBatchedFieldParameters(MethodSymbol methodSymbol, String graphqlFieldName,
+                                                Location location) {
+        if (methodSymbol.typeDescriptor().params().isEmpty()) {
+            return;
+        }
+        for (ParameterSymbol parameter : methodSymbol.typeDescriptor().params().get()) {
+            if (isValidGraphqlParameter(parameter.typeDescriptor())) {
+                continue;
+            }
+            addDiagnostic(CompilationDiagnostic.INVALID_INPUT_PARAMETER_IN_BATCHED_FIELD,
+                          getLocation(parameter, location), parameter.getName().orElse(parameter.signature()),
+                          graphqlFieldName);
+        }
+    }
+
+    private boolean isValidBatchFunctionParameters(FunctionTypeSymbol batchFunction, ClassSymbol parentClass) {
+        // noinspection OptionalGetWithoutIsPresent
+        List<ParameterSymbol> parameters = batchFunction.params().get();
+        if (parameters.size() != 1 || batchFunction.restParam().isPresent()) {
+            return false;
+        }
+        TypeSymbol parameterType = getReferredType(parameters.get(0).typeDescriptor());
+        if (parameterType.typeKind() != TypeDescKind.ARRAY) {
+            return false;
+        }
+        return parentClass.subtypeOf(((ArrayTypeSymbol) parameterType).memberTypeDescriptor());
+    }
+
+    private boolean isValidBatchFunctionReturnType(FunctionTypeSymbol batchFunction, TypeSymbol fieldType) {
+        if (batchFunction.returnTypeDescriptor().isEmpty()) {
+            return false;
+        }
+        TypeSymbol returnType = getReferredType(batchFunction.returnTypeDescriptor().get());
+        List<TypeSymbol> memberTypes = returnType.typeKind() == TypeDescKind.UNION ?
+                ((UnionTypeSymbol) returnType).memberTypeDescriptors() : List.of(returnType);
+        boolean hasArrayType = false;
+        for (TypeSymbol memberType : memberTypes) {
+            TypeSymbol effectiveType = getReferredType(memberType);
+            if (effectiveType.typeKind() == TypeDescKind.ERROR) {
+                continue;
+            }
+            if (effectiveType.typeKind() != TypeDescKind.ARRAY
+                    || !((ArrayTypeSymbol) effectiveType).memberTypeDescriptor().subtypeOf(fieldType)) {
+                return false;
+            }
+            hasArrayType = true;
+        }
+        return hasArrayType;
+    }
+
+    private static TypeSymbol getReferredType(TypeSymbol typeSymbol) {
+        if (typeSymbol.typeKind() == TypeDescKind.TYPE_REFERENCE) {
+            return getReferredType(((TypeReferenceTypeSymbol) typeSymbol).typeDescriptor());
+        }
+        if (typeSymbol.typeKind() == TypeDescKind.INTERSECTION) {
+            TypeSymbol effectiveType = getEffectiveType((IntersectionTypeSymbol) typeSymbol);
+            return effectiveType == typeSymbol ? typeSymbol : getReferredType(effectiveType);
+        }
+        return typeSymbol;
+    }
+
     private boolean isSubscription(MethodSymbol methodSymbol) {
         return isResourceMethod(methodSymbol) && RESOURCE_FUNCTION_SUBSCRIBE.equals(
                 getAccessor((ResourceMethodSymbol) methodSymbol));
@@ -887,6 +1014,7 @@ public class ServiceValidator {
                               interfaceName, remoteMethodName);
             }
             validatePrefetchMethodMapping(methodSymbol, methodSymbols, location);
+            validateBatchFunctionMapping(methodSymbol, null, location);
         }
         if (!resourceMethodFound) {
             addDiagnostic(CompilationDiagnostic.MISSING_RESOURCE_FUNCTIONS, location);
@@ -1328,6 +1456,7 @@ public class ServiceValidator {
                               methodSymbol.getName().get());
             }
             validatePrefetchMethodMapping(methodSymbol, methodSymbols, location);
+            validateBatchFunctionMapping(methodSymbol, classSymbol, location);
         }
         if (!resourceMethodFound) {
             addDiagnostic(CompilationDiagnostic.MISSING_RESOURCE_FUNCTIONS, location);
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.FunctionType;
+import io.ballerina.runtime.api.types.IntersectionType;
+import io.ballerina.runtime.api.types.Parameter;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BFunctionPointer;
+import io.ballerina.runtime.api.values.BObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.stdlib.graphql.runtime.engine.ArgumentHandler.getEffectiveType;
+import static io.ballerina.stdlib.graphql.runtime.utils.Utils.ERROR_TYPE;
+import static io.ballerina.stdlib.graphql.runtime.utils.Utils.createError;
+
+/**
+ * This class provides native implementations for resolving the fields having a batch function. The parent objects of
+ * all the invocations of such a field are collected per request and passed to the batch function at once.
+ */
+public class BatchResolver {
+    private static final String BATCH_RESOLVER = "graphql.batchResolver";
+
+    // Pending batches keyed by the batch function. The function pointer of an annotation value is shared by all the
+    // invocations of the field.
+    private final Map<BFunctionPointer, Batch> pendingBatches = Collections.synchronizedMap(new IdentityHashMap<>());
+    // Results of the executed batches keyed by the field object which is waiting for the result
+    private final Map<BObject, Object> results = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private BatchResolver() {
+    }
+
+    static void initializeBatchResolver(BObject context) {
+        context.addNativeData(BATCH_RESOLVER, new BatchResolver());
+    }
+
+    public static void addToBatch(BObject context, BFunctionPointer batchFunction, BObject parent, BObject field) {
+        BatchResolver batchResolver = getBatchResolver(context);
+        synchronized (batchResolver.pendingBatches) {
+            batchResolver.pendingBatches.computeIfAbsent(batchFunction, Batch::new).add(parent, field);
+        }
+    }
+
+    public static void executeBatchFunctions(Environment environment, BObject context) {
+        BatchResolver batchResolver = getBatchResolver(context);
+        List<Batch> batches;
+        synchronized (batchResolver.pendingBatches) {
+            if (batchResolver.pendingBatches.isEmpty()) {
+                return;
+            }
+            batches = new ArrayList<>(batchResolver.pendingBatches.values());
+            batchResolver.pendingBatches.clear();
+        }
+        environment.yieldAndRun(() -> {
+            for (Batch batch : batches) {
+                batchResolver.execute(environment, batch);
+            }
+            return null;
+        });
+    }
+
+    public static Object getBatchedResult(Environment environment, BObject context, BFunctionPointer batchFunction,
+                                          BObject parent, BObject field) {
+        BatchResolver batchResolver = getBatchResolver(context);
+        if (batchResolver.results.containsKey(field)) {
+            return batchResolver.results.remove(field);
+        }
+        // The field is resolved without collecting its parent beforehand. Hence, the batch function is executed for
+        // the parent of this field alone.
+        Batch batch = new Batch(batchFunction);
+        batch.add(parent, field);
+        environment.yieldAndRun(() -> {
+            batchResolver.execute(environment, batch);
+            return null;
+        });
+        return batchResolver.results.remove(field);
+    }
+
+    public static void clearBatches(BObject context) {
+        BatchResolver batchResolver = getBatchResolver(context);
+        batchResolver.pendingBatches.clear();
+        batchResolver.results.clear();
+    }
+
+    private void execute(Environment environment, Batch batch) {
+        Object result;
+        try {
+            result = batch.batchFunction.call(environment.getRuntime(), batch.getParentArray());
+        } catch (BError error) {
+            result = error;
+        }
+        if (result instanceof BArray values && values.size() == batch.fields.size()) {
+            for (int i = 0; i < batch.fields.size(); i++) {
+                this.results.put(batch.fields.get(i), values.get(i));
+            }
+            return;
+        }
+        BError error = result instanceof BError batchError ? batchError : createError(
+                "The batch function should return a number of results equal to the number of parents", ERROR_TYPE);
+        for (BObject field : batch.fields) {
+            this.results.put(field, error);
+        }
+    }
+
+    private static BatchResolver getBatchResolver(BObject context) {
+        return (BatchResolver) context.getNativeData(BATCH_RESOLVER);
+    }
+
+    private static final class Batch {
+        private final BFunctionPointer batchFunction;
+        private final List<BObject> parents = new ArrayList<>();
+        private final List<BObject> fields = new ArrayList<>();
+
+        private Batch(BFunctionPointer batchFunction) {
+            this.batchFunction = batchFunction;
+        }
+
+        private void add(BObject parent, BObject field) {
+            this.parents.add(parent);
+            this.fields.add(field);
+        }
+
+        // Creates the parent array with the parameter type of the batch function, so that the array is accepted by
+        // the function.
+        private BArray getParentArray() {
+            BArray parentArray = ValueCreator.createArrayValue(getParentArrayType());
+            for (BObject parent : this.parents) {
+                parentArray.append(parent);
+            }
+            return parentArray;
+        }
+
+        private ArrayType getParentArrayType() {
+            FunctionType functionType = (FunctionType) TypeUtils.getImpliedType(this.batchFunction.getType());
+            Parameter[] parameters = functionType.getParameters();
+            if (parameters.length > 0) {
+                Type parameterType = TypeUtils.getReferredType(parameters[0].type);
+                if (parameterType.getTag() == TypeTags.INTERSECTION_TAG) {
+                    parameterType = TypeUtils.getReferredType(getEffectiveType((IntersectionType) parameterType));
+                }
+                if (parameterType.getTag() == TypeTags.ARRAY_TAG) {
+                    return (ArrayType) parameterType;
+                }
+            }
+            return TypeCreator.createArrayType(PredefinedTypes.TYPE_ANY);
+        }
+    }
+}
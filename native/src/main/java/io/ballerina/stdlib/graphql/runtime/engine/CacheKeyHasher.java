@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.stdlib.graphql.runtime.engine.EngineUtils.VALUE_FIELD;
+import static io.ballerina.stdlib.graphql.runtime.engine.EngineUtils.VARIABLE_DEFINITION;
+import static io.ballerina.stdlib.graphql.runtime.engine.EngineUtils.VARIABLE_VALUE_FIELD;
+
+/**
+ * Computes a 128-bit non-cryptographic hash of an anydata value to be used in the server cache keys. The value is
+ * traversed directly, without creating its string representation. The mixing steps are the ones of MurmurHash3
+ * (x64, 128-bit variant), applied to a stream of 64-bit words derived from the value. The canonical hash does not
+ * depend on the order of the map entries.
+ */
+final class CacheKeyHasher {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // Type tags are added before each value, so that values of different types do not produce the same word stream
+    private static final long NIL_TAG = 0;
+    private static final long BOOLEAN_TAG = 1;
+    private static final long INT_TAG = 2;
+    private static final long FLOAT_TAG = 3;
+    private static final long DECIMAL_TAG = 4;
+    private static final long STRING_TAG = 5;
+    private static final long ARRAY_TAG = 6;
+    private static final long MAP_TAG = 7;
+    private static final long OTHER_TAG = 8;
+
+    private final boolean canonical;
+    private long h1 = 0;
+    private long h2 = 0;
+    private long length = 0;
+
+    private CacheKeyHasher(boolean canonical) {
+        this.canonical = canonical;
+    }
+
+    static String hash(Object value) {
+        CacheKeyHasher hasher = new CacheKeyHasher(false);
+        hasher.add(value);
+        return hasher.digest();
+    }
+
+    static String canonicalHash(Object value) {
+        CacheKeyHasher hasher = new CacheKeyHasher(true);
+        hasher.add(value);
+        return hasher.digest();
+    }
+
+    /**
+     * Hashes the values of the argument nodes without collecting them into an array first. The parent argument hashes
+     * and the optional fields are added before the arguments, and each argument is added as an array of its values,
+     * hence the hash is the same as the hash of such an array.
+     */
+    static String argumentHash(BArray arguments, BArray parentArgHashes, BArray optionalFields) {
+        CacheKeyHasher hasher = new CacheKeyHasher(false);
+        hasher.addWord(ARRAY_TAG);
+        hasher.addWord(parentArgHashes.size() + optionalFields.size() + arguments.size());
+        for (int i = 0; i < parentArgHashes.size(); i++) {
+            hasher.add(parentArgHashes.get(i));
+        }
+        for (int i = 0; i < optionalFields.size(); i++) {
+            hasher.add(optionalFields.get(i));
+        }
+        for (int i = 0; i < arguments.size(); i++) {
+            hasher.addArgument((BObject) arguments.get(i));
+        }
+        return hasher.digest();
+    }
+
+    private void add(Object value) {
+        if (value == null) {
+            addWord(NIL_TAG);
+        } else if (value instanceof Boolean booleanValue) {
+            addWord(BOOLEAN_TAG);
+            addWord(booleanValue ? 1 : 0);
+        } else if (value instanceof Long longValue) {
+            addWord(INT_TAG);
+            addWord(longValue);
+        } else if (value instanceof Integer intValue) {
+            addWord(INT_TAG);
+            addWord(intValue);
+        } else if (value instanceof Double doubleValue) {
+            addWord(FLOAT_TAG);
+            addWord(Double.doubleToLongBits(doubleValue));
+        } else if (value instanceof BDecimal decimalValue) {
+            addWord(DECIMAL_TAG);
+            addString(decimalValue.decimalValue().toString());
+        } else if (value instanceof BString stringValue) {
+            addWord(STRING_TAG);
+            addString(stringValue.getValue());
+        } else if (value instanceof BArray arrayValue) {
+            addWord(ARRAY_TAG);
+            addWord(arrayValue.size());
+            for (int i = 0; i < arrayValue.size(); i++) {
+                add(arrayValue.get(i));
+            }
+        } else if (value instanceof BMap<?, ?> mapValue) {
+            addWord(MAP_TAG);
+            addWord(mapValue.size());
+            for (Map.Entry<?, ?> entry : getEntries(mapValue)) {
+                add(entry.getKey());
+                add(entry.getValue());
+            }
+        } else {
+            addWord(OTHER_TAG);
+            addString(StringUtils.getExpressionStringValue(value));
+        }
+    }
+
+    private void addArgument(BObject argumentNode) {
+        addWord(ARRAY_TAG);
+        if (argumentNode.getBooleanValue(VARIABLE_DEFINITION)) {
+            addWord(1);
+            add(argumentNode.get(VARIABLE_VALUE_FIELD));
+            return;
+        }
+        Object value = argumentNode.get(VALUE_FIELD);
+        if (value instanceof BArray values) {
+            addWord(values.size());
+            for (int i = 0; i < values.size(); i++) {
+                addArgumentValue(values.get(i));
+            }
+        } else {
+            addWord(1);
+            addArgumentValue(value);
+        }
+    }
+
+    // An argument value is either a nested argument node or a scalar value
+    private void addArgumentValue(Object value) {
+        if (value instanceof BObject argumentNode) {
+            addArgument(argumentNode);
+        } else {
+            add(value);
+        }
+    }
+
+    private Iterable<? extends Map.Entry<?, ?>> getEntries(BMap<?, ?> mapValue) {
+        if (!this.canonical) {
+            return mapValue.entrySet();
+        }
+        List<Map.Entry<?, ?>> entries = new ArrayList<>(mapValue.entrySet());
+        entries.sort(Comparator.comparing(entry -> entry.getKey().toString()));
+        return entries;
+    }
+
+    private void addString(String value) {
+        int size = value.length();
+        addWord(size);
+        int i = 0;
+        for (; i + 4 <= size; i += 4) {
+            addWord((long) value.charAt(i) | (long) value.charAt(i + 1) << 16 | (long) value.charAt(i + 2) << 32
+                    | (long) value.charAt(i + 3) << 48);
+        }
+        if (i < size) {
+            long word = 0;
+            for (int shift = 0; i < size; i++, shift += 16) {
+                word |= (long) value.charAt(i) << shift;
+            }
+            addWord(word);
+        }
+    }
+
+    private void addWord(long word) {
+        long k1 = Long.rotateLeft(word * C1, 31) * C2;
+        h1 ^= k1;
+        h1 = Long.rotateLeft(h1, 27) + h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        long k2 = Long.rotateLeft(word * C2, 33) * C1;
+        h2 ^= k2;
+        h2 = Long.rotateLeft(h2, 31) + h1;
+        h2 = h2 * 5 + 0x38495ab5;
+        length++;
+    }
+
+    private String digest() {
+        long first = h1 ^ length;
+        long second = h2 ^ length;
+        first += second;
+        second += first;
+        first = finalizeHash(first);
+        second = finalizeHash(second);
+        first += second;
+        second += first;
+        char[] digest = new char[32];
+        for (int i = 0; i < 16; i++) {
+            digest[15 - i] = HEX_DIGITS[(int) (first >>> (i * 4)) & 0xf];
+            digest[31 - i] = HEX_DIGITS[(int) (second >>> (i * 4)) & 0xf];
+        }
+        return new String(digest);
+    }
+
+    private static long finalizeHash(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb53fe1a85a63L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
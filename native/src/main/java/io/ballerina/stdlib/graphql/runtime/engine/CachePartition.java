@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Tracks the keys of a server cache partition and decides which keys to evict, using the W-TinyLFU policy. A new key
+ * is first added to a small LRU window. The key evicted from the window is admitted to the main segmented LRU only if
+ * it is accessed more frequently than the key that would be evicted from the main segment. Hence, keys that are used
+ * only once, such as the keys of a scan, do not flush the frequently used keys. Each addition evicts at most the
+ * overflowing keys, instead of evicting a fraction of the partition at once.
+ * <p>
+ * Each key has a weight, and the keys are evicted when the total weight exceeds the maximum weight of the partition.
+ * The weight is either `1` for each key, or the estimated size of the value in bytes.
+ * <p>
+ * This class is not thread-safe. The server cache accesses it while holding its lock.
+ */
+final class CachePartition {
+    private static final int WINDOW_PERCENTAGE = 1;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final long maximumWeight;
+    private final boolean weighted;
+    private final int expectedSize;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+
+    // Each segment keeps the weights of the keys in the least recently used order
+    private final LinkedHashMap<String, Long> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private long windowWeight = 0;
+    private long probationWeight = 0;
+    private long protectedWeight = 0;
+
+    /**
+     * Creates a cache partition.
+     *
+     * @param maximumWeight the maximum total weight of the keys
+     * @param weighted      whether the weights are the estimated sizes of the values, instead of `1` for each key
+     * @param expectedSize  the expected number of keys, used to size the frequency sketch
+     */
+    CachePartition(long maximumWeight, boolean weighted, int expectedSize) {
+        this.maximumWeight = maximumWeight;
+        this.weighted = weighted;
+        this.expectedSize = expectedSize;
+        this.windowMaximum = Math.max(1, maximumWeight * WINDOW_PERCENTAGE / 100);
+        this.mainMaximum = Math.max(0, maximumWeight - this.windowMaximum);
+        this.protectedMaximum = (long) (this.mainMaximum * PROTECTED_RATIO);
+        this.sketch = new FrequencySketch(expectedSize);
+    }
+
+    long getMaximumWeight() {
+        return this.maximumWeight;
+    }
+
+    boolean isWeighted() {
+        return this.weighted;
+    }
+
+    int getExpectedSize() {
+        return this.expectedSize;
+    }
+
+    long getWeight() {
+        return this.windowWeight + this.probationWeight + this.protectedWeight;
+    }
+
+    int size() {
+        return this.window.size() + this.probation.size() + this.protectedSegment.size();
+    }
+
+    /**
+     * Adds a new key to the partition.
+     *
+     * @param key    the key to be added
+     * @param weight the weight of the key
+     * @return the keys evicted from the partition, which may include the added key
+     */
+    List<String> add(String key, long weight) {
+        this.sketch.increment(key);
+        this.window.put(key, weight);
+        this.windowWeight += weight;
+        List<String> evictedKeys = new ArrayList<>(1);
+        while (this.windowWeight > this.windowMaximum) {
+            String candidate = getEldest(this.window);
+            long candidateWeight = this.window.remove(candidate);
+            this.windowWeight -= candidateWeight;
+            if (candidateWeight > this.mainMaximum) {
+                evictedKeys.add(candidate);
+                continue;
+            }
+            if (this.probationWeight + this.protectedWeight + candidateWeight > this.mainMaximum) {
+                String victim = getEldest(this.probation.isEmpty() ? this.protectedSegment : this.probation);
+                if (this.sketch.frequency(candidate) <= this.sketch.frequency(victim)) {
+                    evictedKeys.add(candidate);
+                    continue;
+                }
+                evictFromMain(candidateWeight, evictedKeys);
+            }
+            this.probation.put(candidate, candidateWeight);
+            this.probationWeight += candidateWeight;
+        }
+        return evictedKeys;
+    }
+
+    void recordAccess(String key) {
+        this.sketch.increment(key);
+        if (this.window.get(key) != null || this.protectedSegment.get(key) != null) {
+            return;
+        }
+        Long weight = this.probation.remove(key);
+        if (weight == null) {
+            return;
+        }
+        this.probationWeight -= weight;
+        this.protectedSegment.put(key, weight);
+        this.protectedWeight += weight;
+        while (this.protectedWeight > this.protectedMaximum && this.protectedSegment.size() > 1) {
+            String demotedKey = getEldest(this.protectedSegment);
+            long demotedWeight = this.protectedSegment.remove(demotedKey);
+            this.protectedWeight -= demotedWeight;
+            this.probation.put(demotedKey, demotedWeight);
+            this.probationWeight += demotedWeight;
+        }
+    }
+
+    void remove(String key) {
+        Long weight = this.window.remove(key);
+        if (weight != null) {
+            this.windowWeight -= weight;
+            return;
+        }
+        weight = this.probation.remove(key);
+        if (weight != null) {
+            this.probationWeight -= weight;
+            return;
+        }
+        weight = this.protectedSegment.remove(key);
+        if (weight != null) {
+            this.protectedWeight -= weight;
+        }
+    }
+
+    // Evicts the least recently used keys of the main segment until the given weight can be added
+    private void evictFromMain(long weight, List<String> evictedKeys) {
+        while (this.probationWeight + this.protectedWeight + weight > this.mainMaximum) {
+            if (this.probation.isEmpty()) {
+                String victim = getEldest(this.protectedSegment);
+                this.protectedWeight -= this.protectedSegment.remove(victim);
+                evictedKeys.add(victim);
+            } else {
+                String victim = getEldest(this.probation);
+                this.probationWeight -= this.probation.remove(victim);
+                evictedKeys.add(victim);
+            }
+        }
+    }
+
+    private static String getEldest(LinkedHashMap<String, Long> segment) {
+        return segment.keySet().iterator().next();
+    }
+
+    /**
+     * A count-min sketch of the access frequencies of the keys. The counters are halved periodically, so that the
+     * frequencies reflect the recent accesses.
+     */
+    private static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MIN_WIDTH = 64;
+        private static final int MAX_FREQUENCY = 15;
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+
+        private final int[][] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions = 0;
+
+        private FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(MIN_WIDTH, capacity) - 1) << 1;
+            this.table = new int[DEPTH][width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * width;
+        }
+
+        private int frequency(String key) {
+            int hash = spread(key.hashCode());
+            int frequency = MAX_FREQUENCY;
+            for (int i = 0; i < DEPTH; i++) {
+                frequency = Math.min(frequency, this.table[i][indexOf(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private void increment(String key) {
+            int hash = spread(key.hashCode());
+            for (int i = 0; i < DEPTH; i++) {
+                int index = indexOf(hash, i);
+                if (this.table[i][index] < MAX_FREQUENCY) {
+                    this.table[i][index]++;
+                }
+            }
+            if (++this.additions >= this.sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (int[] row : this.table) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>>= 1;
+                }
+            }
+            this.additions /= 2;
+        }
+
+        private int indexOf(int hash, int depth) {
+            long value = (hash + SEEDS[depth]) * SEEDS[depth];
+            value += value >>> 32;
+            return (int) value & this.mask;
+        }
+
+        private static int spread(int hash) {
+            int value = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            value = ((value >>> 16) ^ value) * 0x45d9f3b;
+            return (value >>> 16) ^ value;
+        }
+    }
+}
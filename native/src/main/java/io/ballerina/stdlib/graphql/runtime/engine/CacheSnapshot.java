@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes the snapshots of the server cache. A snapshot contains the partitions of the cache, and its entries
+ * along with their remaining times to live. The values are encoded using the {@link CacheValueCodec}.
+ * <p>
+ * A snapshot is written for a version, which is the hash of the schema of the service, and it is not read for another
+ * version, as the cached values may not match the new schema. The time elapsed since a snapshot is written is deducted
+ * from the remaining times to live of its entries when it is read, and the entries expired by then are skipped.
+ */
+final class CacheSnapshot {
+    private static final int MAGIC = 0x47514c43;
+    private static final int FORMAT_VERSION = 2;
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private final List<Partition> partitions;
+    private final List<Entry> entries;
+
+    private CacheSnapshot(List<Partition> partitions, List<Entry> entries) {
+        this.partitions = partitions;
+        this.entries = entries;
+    }
+
+    List<Partition> getPartitions() {
+        return this.partitions;
+    }
+
+    List<Entry> getEntries() {
+        return this.entries;
+    }
+
+    /**
+     * Writes a snapshot. The snapshot is first written to a temporary file, and then moved to the given path, so that
+     * a partially written snapshot is never read.
+     *
+     * @param path       the path of the snapshot file
+     * @param version    the version of the snapshot
+     * @param partitions the partitions of the cache
+     * @param entries    the entries of the cache
+     * @throws IOException if the snapshot cannot be written
+     */
+    static void write(Path path, String version, List<Partition> partitions, List<Entry> entries) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporaryPath = path.resolveSibling(path.getFileName() + TEMPORARY_FILE_SUFFIX);
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaryPath)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(version);
+            output.writeLong(System.currentTimeMillis());
+            output.writeInt(partitions.size());
+            for (Partition partition : partitions) {
+                output.writeUTF(partition.name());
+                output.writeLong(partition.maximumWeight());
+                output.writeBoolean(partition.weighted());
+                output.writeInt(partition.expectedSize());
+            }
+            output.writeInt(entries.size());
+            for (Entry entry : entries) {
+                output.writeUTF(entry.key());
+                output.writeBoolean(entry.partition() != null);
+                if (entry.partition() != null) {
+                    output.writeUTF(entry.partition());
+                }
+                output.writeLong(entry.expiresIn());
+                output.writeLong(entry.revalidatesIn());
+                output.writeLong(entry.removedIn());
+                output.writeInt(entry.tags().length);
+                for (String tag : entry.tags()) {
+                    output.writeUTF(tag);
+                }
+                output.writeUTF(entry.coordinate());
+                output.writeInt(entry.value().length);
+                output.write(entry.value());
+            }
+        }
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param path    the path of the snapshot file
+     * @param version the expected version of the snapshot
+     * @return the snapshot, or `null` if the file does not exist, or the snapshot is written for another version
+     * @throws IOException if the snapshot cannot be read
+     */
+    static CacheSnapshot read(Path path, String version) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Invalid server cache snapshot: " + path);
+            }
+            if (input.readInt() != FORMAT_VERSION || !version.equals(input.readUTF())) {
+                return null;
+            }
+            long elapsedTime = TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis()
+                    - input.readLong()));
+            int partitionCount = input.readInt();
+            List<Partition> partitions = new ArrayList<>(partitionCount);
+            for (int i = 0; i < partitionCount; i++) {
+                partitions.add(new Partition(input.readUTF(), input.readLong(), input.readBoolean(), input.readInt()));
+            }
+            int entryCount = input.readInt();
+            List<Entry> entries = new ArrayList<>(entryCount);
+            for (int i = 0; i < entryCount; i++) {
+                String key = input.readUTF();
+                String partition = input.readBoolean() ? input.readUTF() : null;
+                long expiresIn = input.readLong() - elapsedTime;
+                long revalidatesIn = input.readLong() - elapsedTime;
+                long removedIn = input.readLong() - elapsedTime;
+                String[] tags = new String[input.readInt()];
+                for (int j = 0; j < tags.length; j++) {
+                    tags[j] = input.readUTF();
+                }
+                String coordinate = input.readUTF();
+                byte[] value = new byte[input.readInt()];
+                input.readFully(value);
+                if (removedIn > 0) {
+                    entries.add(new Entry(key, partition, value, expiresIn, revalidatesIn, removedIn, tags,
+                                          coordinate));
+                }
+            }
+            return new CacheSnapshot(partitions, entries);
+        }
+    }
+
+    /**
+     * A partition of the cache.
+     *
+     * @param name          the name of the partition
+     * @param maximumWeight the maximum total weight of the keys of the partition
+     * @param weighted      whether the weights are the estimated sizes of the values
+     * @param expectedSize  the expected number of keys of the partition
+     */
+    record Partition(String name, long maximumWeight, boolean weighted, int expectedSize) {
+    }
+
+    /**
+     * An entry of the cache. The times are the remaining times in nanoseconds, relative to the time the snapshot is
+     * written, or read.
+     *
+     * @param key           the key of the entry
+     * @param partition     the name of the partition of the entry, or `null` if the entry is in the off-heap tier
+     * @param value         the encoded value of the entry
+     * @param expiresIn     the remaining time until the entry expires
+     * @param revalidatesIn the remaining time until the stale-while-revalidate window of the entry ends
+     * @param removedIn     the remaining time until the entry is removed
+     * @param tags          the tags of the entry
+     * @param coordinate    the field coordinate the statistics of the entry are counted for
+     */
+    record Entry(String key, String partition, byte[] value, long expiresIn, long revalidatesIn, long removedIn,
+                 String[] tags, String coordinate) {
+    }
+}
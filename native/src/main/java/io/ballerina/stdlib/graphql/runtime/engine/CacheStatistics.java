@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.ballerina.stdlib.graphql.runtime.utils.ModuleUtils.getModule;
+
+/**
+ * Collects the statistics of the server cache entries of each field coordinate, such as `Query.person`. The counters
+ * are updated without holding the lock of the server cache. Along with the totals, the counts already reported as
+ * metrics are kept, so that each report contains only the counts collected since the previous report.
+ */
+final class CacheStatistics {
+    private static final String SERVER_CACHE_STATS_RECORD = "ServerCacheStats";
+    private static final String HIT_COUNT_FIELD = "hitCount";
+    private static final String MISS_COUNT_FIELD = "missCount";
+    private static final String PUT_COUNT_FIELD = "putCount";
+    private static final String EVICTION_COUNT_FIELD = "evictionCount";
+    private static final String EXPIRATION_COUNT_FIELD = "expirationCount";
+    private static final String INVALIDATION_COUNT_FIELD = "invalidationCount";
+    private static final String TOTAL_LOOKUP_LATENCY_FIELD = "totalLookupLatency";
+    private static final String MAX_LOOKUP_LATENCY_FIELD = "maxLookupLatency";
+    private static final BigDecimal NANOS_PER_SECOND = BigDecimal.valueOf(1_000_000_000L);
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    void recordLookup(String coordinate, boolean hit, long latency) {
+        Counters coordinateCounters = getCounters(coordinate);
+        if (coordinateCounters == null) {
+            return;
+        }
+        (hit ? coordinateCounters.hits : coordinateCounters.misses).increment();
+        coordinateCounters.lookupLatency.add(latency);
+        coordinateCounters.maxLookupLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    void recordPut(String coordinate) {
+        Counters coordinateCounters = getCounters(coordinate);
+        if (coordinateCounters != null) {
+            coordinateCounters.puts.increment();
+        }
+    }
+
+    void recordEviction(String coordinate) {
+        Counters coordinateCounters = getCounters(coordinate);
+        if (coordinateCounters != null) {
+            coordinateCounters.evictions.increment();
+        }
+    }
+
+    void recordExpiration(String coordinate) {
+        Counters coordinateCounters = getCounters(coordinate);
+        if (coordinateCounters != null) {
+            coordinateCounters.expirations.increment();
+        }
+    }
+
+    void recordInvalidation(String coordinate) {
+        Counters coordinateCounters = getCounters(coordinate);
+        if (coordinateCounters != null) {
+            coordinateCounters.invalidations.increment();
+        }
+    }
+
+    /**
+     * Returns the statistics collected for each coordinate.
+     *
+     * @return a map of the coordinates to their statistics
+     */
+    BMap<BString, Object> getStats() {
+        BMap<BString, Object> stats = createStatsMap();
+        for (Map.Entry<String, Counters> entry : this.counters.entrySet()) {
+            Counters coordinateCounters = entry.getValue();
+            long[] values = new long[Counter.values().length];
+            for (Counter counter : Counter.values()) {
+                values[counter.ordinal()] = coordinateCounters.get(counter);
+            }
+            stats.put(StringUtils.fromString(entry.getKey()),
+                      createStats(values, coordinateCounters.maxLookupLatency.get()));
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the statistics collected since the previous call, for the coordinates having new lookups or entries.
+     * The maximum lookup latency is not included.
+     *
+     * @return a map of the coordinates to their statistics
+     */
+    BMap<BString, Object> getUnreportedStats() {
+        BMap<BString, Object> stats = createStatsMap();
+        for (Map.Entry<String, Counters> entry : this.counters.entrySet()) {
+            Counters coordinateCounters = entry.getValue();
+            long[] values = new long[Counter.values().length];
+            boolean changed = false;
+            for (Counter counter : Counter.values()) {
+                long total = coordinateCounters.get(counter);
+                // The concurrent reports do not report the same counts twice, as the reported count only increases
+                long reported = coordinateCounters.reported[counter.ordinal()].getAndAccumulate(total, Math::max);
+                values[counter.ordinal()] = Math.max(0, total - reported);
+                changed |= values[counter.ordinal()] > 0;
+            }
+            if (changed) {
+                stats.put(StringUtils.fromString(entry.getKey()), createStats(values, 0));
+            }
+        }
+        return stats;
+    }
+
+    private Counters getCounters(String coordinate) {
+        if (coordinate.isEmpty()) {
+            return null;
+        }
+        return this.counters.computeIfAbsent(coordinate, key -> new Counters());
+    }
+
+    private static BMap<BString, Object> createStatsMap() {
+        BMap<BString, Object> statsRecord = ValueCreator.createRecordValue(getModule(), SERVER_CACHE_STATS_RECORD);
+        return ValueCreator.createMapValue(TypeCreator.createMapType(statsRecord.getType()));
+    }
+
+    private static BMap<BString, Object> createStats(long[] values, long maxLookupLatency) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(HIT_COUNT_FIELD, values[Counter.HITS.ordinal()]);
+        fields.put(MISS_COUNT_FIELD, values[Counter.MISSES.ordinal()]);
+        fields.put(PUT_COUNT_FIELD, values[Counter.PUTS.ordinal()]);
+        fields.put(EVICTION_COUNT_FIELD, values[Counter.EVICTIONS.ordinal()]);
+        fields.put(EXPIRATION_COUNT_FIELD, values[Counter.EXPIRATIONS.ordinal()]);
+        fields.put(INVALIDATION_COUNT_FIELD, values[Counter.INVALIDATIONS.ordinal()]);
+        fields.put(TOTAL_LOOKUP_LATENCY_FIELD, toSeconds(values[Counter.LOOKUP_LATENCY.ordinal()]));
+        fields.put(MAX_LOOKUP_LATENCY_FIELD, toSeconds(maxLookupLatency));
+        return ValueCreator.createRecordValue(getModule(), SERVER_CACHE_STATS_RECORD, fields);
+    }
+
+    private static Object toSeconds(long nanos) {
+        return ValueCreator.createDecimalValue(BigDecimal.valueOf(nanos).divide(NANOS_PER_SECOND));
+    }
+
+    private enum Counter {
+        HITS, MISSES, PUTS, EVICTIONS, EXPIRATIONS, INVALIDATIONS, LOOKUP_LATENCY
+    }
+
+    private static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+        private final LongAdder invalidations = new LongAdder();
+        // The total lookup latency in nanoseconds
+        private final LongAdder lookupLatency = new LongAdder();
+        private final AtomicLong maxLookupLatency = new AtomicLong();
+        private final AtomicLong[] reported = new AtomicLong[Counter.values().length];
+
+        private Counters() {
+            for (int i = 0; i < this.reported.length; i++) {
+                this.reported[i] = new AtomicLong();
+            }
+        }
+
+        private long get(Counter counter) {
+            switch (counter) {
+                case HITS:
+                    return this.hits.sum();
+                case MISSES:
+                    return this.misses.sum();
+                case PUTS:
+                    return this.puts.sum();
+                case EVICTIONS:
+                    return this.evictions.sum();
+                case EXPIRATIONS:
+                    return this.expirations.sum();
+                case INVALIDATIONS:
+                    return this.invalidations.sum();
+                default:
+                    return this.lookupLatency.sum();
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BRefValue;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes the server cache values to a compact binary form, and decodes them back. Only the values of the `anydata`
+ * types other than tables and XML can be encoded. The encoded form does not refer to any value of the heap, hence it
+ * can be kept outside the heap, or in a remote cache store shared by the other instances of the service.
+ * <p>
+ * The records are encoded along with the names of their types and modules, so that they are decoded to records of the
+ * same types when the types are available. Otherwise, they are decoded to maps. Whether a container is immutable is
+ * also encoded, so that the read-only values are decoded to read-only values.
+ */
+final class CacheValueCodec {
+    private static final ArrayType ANYDATA_ARRAY_TYPE = TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA);
+    private static final MapType ANYDATA_MAP_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_ANYDATA);
+
+    private static final byte NIL_TAG = 0;
+    private static final byte TRUE_TAG = 1;
+    private static final byte FALSE_TAG = 2;
+    private static final byte INT_TAG = 3;
+    private static final byte FLOAT_TAG = 4;
+    private static final byte DECIMAL_TAG = 5;
+    private static final byte STRING_TAG = 6;
+    private static final byte ARRAY_TAG = 7;
+    private static final byte MAP_TAG = 8;
+    private static final byte RECORD_TAG = 9;
+    private static final byte BYTE_ARRAY_TAG = 10;
+
+    private final DataOutputStream output;
+    // The containers being written, to detect cyclic values
+    private final Set<Object> containers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private CacheValueCodec(DataOutputStream output) {
+        this.output = output;
+    }
+
+    /**
+     * Encodes the given value.
+     *
+     * @param value the value to be encoded
+     * @return the encoded value, or `null` if the value cannot be encoded
+     */
+    static byte[] encode(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            if (!new CacheValueCodec(output).write(value)) {
+                return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a value from the current position of the given buffer.
+     *
+     * @param input the buffer containing the encoded value
+     * @return the decoded value
+     */
+    static Object decode(ByteBuffer input) {
+        byte tag = input.get();
+        switch (tag) {
+            case TRUE_TAG:
+                return Boolean.TRUE;
+            case FALSE_TAG:
+                return Boolean.FALSE;
+            case INT_TAG:
+                return input.getLong();
+            case FLOAT_TAG:
+                return input.getDouble();
+            case DECIMAL_TAG:
+                return ValueCreator.createDecimalValue(new BigDecimal(readString(input)));
+            case STRING_TAG:
+                return StringUtils.fromString(readString(input));
+            case BYTE_ARRAY_TAG:
+                boolean frozenBytes = input.get() != 0;
+                byte[] bytes = new byte[input.getInt()];
+                input.get(bytes);
+                return freeze(ValueCreator.createArrayValue(bytes), frozenBytes);
+            case ARRAY_TAG:
+                boolean frozenArray = input.get() != 0;
+                Object[] values = new Object[input.getInt()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = decode(input);
+                }
+                return freeze(ValueCreator.createArrayValue(values, ANYDATA_ARRAY_TYPE), frozenArray);
+            case MAP_TAG:
+                boolean frozenMap = input.get() != 0;
+                return freeze(readEntries(input, ValueCreator.createMapValue(ANYDATA_MAP_TYPE)), frozenMap);
+            case RECORD_TAG:
+                boolean frozenRecord = input.get() != 0;
+                BMap<BString, Object> recordValue = createRecordValue(readString(input), readString(input),
+                                                                      readString(input), readString(input));
+                return freeze(readEntries(input, recordValue), frozenRecord);
+            default:
+                return null;
+        }
+    }
+
+    private static BMap<BString, Object> createRecordValue(String org, String moduleName, String version,
+                                                           String typeName) {
+        try {
+            return ValueCreator.createRecordValue(new Module(org, moduleName, version), typeName);
+        } catch (RuntimeException e) {
+            // The record type is not available, or it cannot be created by its name, as for the anonymous records
+            return ValueCreator.createMapValue(ANYDATA_MAP_TYPE);
+        }
+    }
+
+    private static BMap<BString, Object> readEntries(ByteBuffer input, BMap<BString, Object> mapValue) {
+        int size = input.getInt();
+        for (int i = 0; i < size; i++) {
+            BString key = StringUtils.fromString(readString(input));
+            mapValue.put(key, decode(input));
+        }
+        return mapValue;
+    }
+
+    private static Object freeze(BRefValue value, boolean frozen) {
+        if (frozen) {
+            value.freezeDirect();
+        }
+        return value;
+    }
+
+    private static String readString(ByteBuffer input) {
+        byte[] bytes = new byte[input.getInt()];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean write(Object value) throws IOException {
+        if (value == null) {
+            this.output.writeByte(NIL_TAG);
+        } else if (value instanceof Boolean booleanValue) {
+            this.output.writeByte(booleanValue ? TRUE_TAG : FALSE_TAG);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Byte) {
+            this.output.writeByte(INT_TAG);
+            this.output.writeLong(((Number) value).longValue());
+        } else if (value instanceof Double doubleValue) {
+            this.output.writeByte(FLOAT_TAG);
+            this.output.writeDouble(doubleValue);
+        } else if (value instanceof BDecimal decimalValue) {
+            this.output.writeByte(DECIMAL_TAG);
+            writeString(decimalValue.decimalValue().toString());
+        } else if (value instanceof BString stringValue) {
+            this.output.writeByte(STRING_TAG);
+            writeString(stringValue.getValue());
+        } else if (value instanceof BArray arrayValue) {
+            return writeArray(arrayValue);
+        } else if (value instanceof BMap<?, ?> mapValue) {
+            return writeMap(mapValue);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private boolean writeArray(BArray arrayValue) throws IOException {
+        if (TypeUtils.getImpliedType(arrayValue.getElementType()).getTag() == TypeTags.BYTE_TAG) {
+            byte[] bytes = arrayValue.getBytes();
+            this.output.writeByte(BYTE_ARRAY_TAG);
+            this.output.writeBoolean(arrayValue.isFrozen());
+            this.output.writeInt(bytes.length);
+            this.output.write(bytes);
+            return true;
+        }
+        if (!this.containers.add(arrayValue)) {
+            return false;
+        }
+        this.output.writeByte(ARRAY_TAG);
+        this.output.writeBoolean(arrayValue.isFrozen());
+        this.output.writeInt(arrayValue.size());
+        for (int i = 0; i < arrayValue.size(); i++) {
+            if (!write(arrayValue.get(i))) {
+                return false;
+            }
+        }
+        this.containers.remove(arrayValue);
+        return true;
+    }
+
+    private boolean writeMap(BMap<?, ?> mapValue) throws IOException {
+        if (!this.containers.add(mapValue)) {
+            return false;
+        }
+        Type type = TypeUtils.getImpliedType(mapValue.getType());
+        if (type.getTag() == TypeTags.RECORD_TYPE_TAG && type.getPackage() != null) {
+            Module module = type.getPackage();
+            this.output.writeByte(RECORD_TAG);
+            this.output.writeBoolean(mapValue.isFrozen());
+            writeString(module.getOrg());
+            writeString(module.getName());
+            writeString(module.getMajorVersion());
+            // The read-only records are decoded to the records of their mutable types, and then frozen
+            writeString(EngineUtils.getTypeNameFromRecordValue((RecordType) type));
+        } else {
+            this.output.writeByte(MAP_TAG);
+            this.output.writeBoolean(mapValue.isFrozen());
+        }
+        this.output.writeInt(mapValue.size());
+        for (Map.Entry<?, ?> entry : mapValue.entrySet()) {
+            writeString(((BString) entry.getKey()).getValue());
+            if (!write(entry.getValue())) {
+                return false;
+            }
+        }
+        this.containers.remove(mapValue);
+        return true;
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        this.output.writeInt(bytes.length);
+        this.output.write(bytes);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimates the heap size of a value cached in the server cache, in bytes. The estimate is based on the approximate
+ * sizes of the runtime representations of the values, and is not an exact measurement. A value referred more than
+ * once within the same value is counted only once. Objects are not traversed, as they usually refer to state shared
+ * with the rest of the application.
+ */
+final class CacheValueSizeEstimator {
+    private static final long REFERENCE_SIZE = 8;
+    private static final long BOXED_VALUE_SIZE = 16;
+    private static final long STRING_OVERHEAD = 48;
+    private static final long DECIMAL_SIZE = 64;
+    private static final long ARRAY_OVERHEAD = 32;
+    private static final long MAP_OVERHEAD = 64;
+    private static final long MAP_ENTRY_SIZE = 32;
+    private static final long OBJECT_SIZE = 64;
+
+    private final Set<Object> visitedValues = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private CacheValueSizeEstimator() {
+    }
+
+    static long estimate(Object value) {
+        return new CacheValueSizeEstimator().getSize(value);
+    }
+
+    private long getSize(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Boolean || value instanceof Long || value instanceof Integer || value instanceof Double) {
+            return BOXED_VALUE_SIZE;
+        }
+        if (value instanceof BString stringValue) {
+            return STRING_OVERHEAD + 2L * stringValue.getValue().length();
+        }
+        if (value instanceof BDecimal) {
+            return DECIMAL_SIZE;
+        }
+        if (!this.visitedValues.add(value)) {
+            return REFERENCE_SIZE;
+        }
+        if (value instanceof BArray arrayValue) {
+            return ARRAY_OVERHEAD + getElementsSize(arrayValue);
+        }
+        if (value instanceof BMap<?, ?> mapValue) {
+            long size = MAP_OVERHEAD;
+            for (Map.Entry<?, ?> entry : mapValue.entrySet()) {
+                size += MAP_ENTRY_SIZE + getSize(entry.getKey()) + getSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof BTable<?, ?> tableValue) {
+            long size = MAP_OVERHEAD;
+            for (Object row : tableValue.values()) {
+                size += MAP_ENTRY_SIZE + getSize(row);
+            }
+            return size;
+        }
+        return OBJECT_SIZE;
+    }
+
+    private long getElementsSize(BArray arrayValue) {
+        // Arrays of simple basic types are kept as primitive arrays, hence the elements are not boxed
+        switch (TypeUtils.getImpliedType(arrayValue.getElementType()).getTag()) {
+            case TypeTags.BYTE_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return arrayValue.size();
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+                return 8L * arrayValue.size();
+            default:
+                long size = 0;
+                for (int i = 0; i < arrayValue.size(); i++) {
+                    size += REFERENCE_SIZE + getSize(arrayValue.get(i));
+                }
+                return size;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BHandle;
+import io.ballerina.runtime.api.values.BObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * This class provides native implementations of the Ballerina ConcurrentDataLoader class. The keys and the results
+ * are kept in concurrent hash maps, hence adding keys and retrieving results do not require locking the DataLoader.
+ */
+public final class ConcurrentDataLoader {
+    private static final String DATA_LOADER_STATE = "graphql.concurrent.dataloader.state";
+    private static final String NO_RESULT_FOUND_MESSAGE = "No result found for the given key ";
+    private static final String BATCH_FAILED_MESSAGE = "Failed to load the batch";
+
+    private final ConcurrentHashMap<DataLoaderKey, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> pendingEntries = new ConcurrentLinkedQueue<>();
+
+    private ConcurrentDataLoader() {
+    }
+
+    public static void initDataLoader(BObject dataLoader) {
+        dataLoader.addNativeData(DATA_LOADER_STATE, new ConcurrentDataLoader());
+    }
+
+    public static void add(BObject dataLoader, Object key) {
+        ConcurrentDataLoader state = getState(dataLoader);
+        DataLoaderKey dataLoaderKey = DataLoaderKey.from(key);
+        Entry entry = new Entry(dataLoaderKey);
+        // Avoid duplicating keys and use the already loaded or in-flight results if available
+        if (state.entries.putIfAbsent(dataLoaderKey, entry) == null) {
+            state.pendingEntries.add(entry);
+        }
+    }
+
+    public static Object getResult(Environment env, BObject dataLoader, Object key) {
+        ConcurrentDataLoader state = getState(dataLoader);
+        Entry entry = state.entries.get(DataLoaderKey.from(key));
+        if (entry == null || !entry.dispatched) {
+            return ErrorCreator.createError(StringUtils.fromString(NO_RESULT_FOUND_MESSAGE +
+                    StringUtils.getStringValue(key)));
+        }
+        if (entry.result.isDone()) {
+            return entry.result.join();
+        }
+        return env.yieldAndRun(entry.result::join);
+    }
+
+    public static Object startBatch(BObject dataLoader) {
+        ConcurrentDataLoader state = getState(dataLoader);
+        List<Entry> batchEntries = new ArrayList<>();
+        Entry entry = state.pendingEntries.poll();
+        while (entry != null) {
+            entry.dispatched = true;
+            batchEntries.add(entry);
+            entry = state.pendingEntries.poll();
+        }
+        if (batchEntries.isEmpty()) {
+            return null;
+        }
+        return ValueCreator.createHandleValue(new Batch(batchEntries));
+    }
+
+    public static BArray getBatchKeys(BHandle batchHandle) {
+        List<Entry> batchEntries = ((Batch) batchHandle.getValue()).entries();
+        Object[] keys = new Object[batchEntries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = batchEntries.get(i).key.getValue();
+        }
+        return ValueCreator.createArrayValue(keys, TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA));
+    }
+
+    public static void completeBatch(BHandle batchHandle, Object batchResult) {
+        List<Entry> batchEntries = ((Batch) batchHandle.getValue()).entries();
+        try {
+            for (int i = 0; i < batchEntries.size(); i++) {
+                Object result = batchResult instanceof BError ? batchResult : ((BArray) batchResult).get(i);
+                batchEntries.get(i).result.complete(result);
+            }
+        } finally {
+            failIncompleteEntries(batchEntries);
+        }
+    }
+
+    // Completes the entries left incomplete by a failure with an error, so that the loaders waiting for their results
+    // do not block forever
+    private static void failIncompleteEntries(List<Entry> batchEntries) {
+        BError error = null;
+        for (Entry entry : batchEntries) {
+            if (entry.result.isDone()) {
+                continue;
+            }
+            if (error == null) {
+                error = ErrorCreator.createError(StringUtils.fromString(BATCH_FAILED_MESSAGE));
+            }
+            entry.result.complete(error);
+        }
+    }
+
+    public static void clearAll(BObject dataLoader) {
+        ConcurrentDataLoader state = getState(dataLoader);
+        state.pendingEntries.clear();
+        state.entries.clear();
+    }
+
+    private static ConcurrentDataLoader getState(BObject dataLoader) {
+        return (ConcurrentDataLoader) dataLoader.getNativeData(DATA_LOADER_STATE);
+    }
+
+    private static final class Entry {
+        private final DataLoaderKey key;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile boolean dispatched = false;
+
+        private Entry(DataLoaderKey key) {
+            this.key = key;
+        }
+    }
+
+    private record Batch(List<Entry> entries) {
+    }
+}
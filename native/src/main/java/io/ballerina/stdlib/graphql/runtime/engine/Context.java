@@ -27,6 +27,7 @@ import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BValue;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -44,6 +45,8 @@ public class Context {
     // Tracks the number of Placeholders needs to be resolved
     private final AtomicInteger unResolvedPlaceholderCount = new AtomicInteger(0);
     private final AtomicInteger unResolvedPlaceholderNodeCount = new AtomicInteger(0);
+    // Results of the memoized resource method invocations of the request
+    private final ConcurrentHashMap<Engine.MemoKey, CompletableFuture<Object>> memoTable = new ConcurrentHashMap<>();
     private static final String CONTEXT = "context";
 
     private Context() {
@@ -51,6 +54,7 @@ public class Context {
 
     public static void initializeContext(BObject context) {
         context.addNativeData(CONTEXT, new Context());
+        BatchResolver.initializeBatchResolver(context);
     }
 
     public static void registerDataLoader(BObject object, BString key, BObject dataLoader) {
@@ -63,6 +67,13 @@ public class Context {
         context.setAttribute(key, value);
     }
 
+    // The attribute values are not copied, as the values set to the context are cloned, or are isolated objects
+    public static void copyAttributes(BObject object, BObject target) {
+        Context context = (Context) object.getNativeData(CONTEXT);
+        Context targetContext = (Context) target.getNativeData(CONTEXT);
+        targetContext.attributes.putAll(context.attributes);
+    }
+
     public static Object getAttribute(BObject object, BString key) {
         Context context = (Context) object.getNativeData(CONTEXT);
         return context.getAttribute(key);
@@ -133,6 +144,16 @@ public class Context {
         context.clearPlaceholders();
     }
 
+    public static void clearMemoTable(BObject object) {
+        Context context = (Context) object.getNativeData(CONTEXT);
+        context.memoTable.clear();
+    }
+
+    static ConcurrentHashMap<Engine.MemoKey, CompletableFuture<Object>> getMemoTable(BObject object) {
+        Context context = (Context) object.getNativeData(CONTEXT);
+        return context.memoTable;
+    }
+
     private void setAttribute(BString key, Object value) {
         this.attributes.put(key, value);
     }
@@ -23,7 +23,9 @@ import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BTypedesc;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.stdlib.graphql.runtime.utils.ModuleUtils.getResult;
 
@@ -32,6 +34,7 @@ import static io.ballerina.stdlib.graphql.runtime.utils.ModuleUtils.getResult;
  */
 public class DataLoader {
     private static final String DATA_LOADER_PROCESSES_GET_METHOD_NAME = "processGet";
+    private static final String IN_FLIGHT_BATCHES = "graphql.dataloader.inFlightBatches";
 
     private DataLoader() {
     }
@@ -52,6 +55,34 @@ public class DataLoader {
         });
     }
 
+    public static void initInFlightBatches(BObject dataLoader) {
+        dataLoader.addNativeData(IN_FLIGHT_BATCHES, new ConcurrentHashMap<Long, CompletableFuture<Void>>());
+    }
+
+    public static void registerInFlightBatch(BObject dataLoader, long batchId) {
+        getInFlightBatches(dataLoader).put(batchId, new CompletableFuture<>());
+    }
+
+    public static void completeInFlightBatch(BObject dataLoader, long batchId) {
+        CompletableFuture<Void> batch = getInFlightBatches(dataLoader).remove(batchId);
+        if (batch != null) {
+            batch.complete(null);
+        }
+    }
+
+    public static void waitForInFlightBatch(Environment env, BObject dataLoader, long batchId) {
+        CompletableFuture<Void> batch = getInFlightBatches(dataLoader).get(batchId);
+        if (batch == null || batch.isDone()) {
+            return;
+        }
+        env.yieldAndRun(batch::join);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, CompletableFuture<Void>> getInFlightBatches(BObject dataLoader) {
+        return (Map<Long, CompletableFuture<Void>>) dataLoader.getNativeData(IN_FLIGHT_BATCHES);
+    }
+
     private static Object[] getProcessGetMethodParams(Object key, BTypedesc typedesc) {
         return new Object[]{key, typedesc};
     }
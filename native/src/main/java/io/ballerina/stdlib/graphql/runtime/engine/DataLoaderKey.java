@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BRefValue;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wraps an anydata DataLoader key to be used as a hash map key. Two keys are equal when the wrapped values are
+ * deeply equal according to the Ballerina `==` operator.
+ */
+public final class DataLoaderKey {
+    private final Object value;
+    private final int hash;
+
+    private DataLoaderKey(Object value) {
+        this.value = value;
+        this.hash = hashOf(value);
+    }
+
+    /**
+     * Creates a key from the given anydata value. Mutable structured values are copied, so that a later modification
+     * of the original value does not affect the stored key.
+     *
+     * @param value the anydata key value
+     * @return the DataLoader key
+     */
+    public static DataLoaderKey from(Object value) {
+        if (value instanceof BRefValue refValue && !refValue.isFrozen()) {
+            return new DataLoaderKey(refValue.frozenCopy(new HashMap<>()));
+        }
+        return new DataLoaderKey(value);
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof DataLoaderKey otherKey)) {
+            return false;
+        }
+        return hash == otherKey.hash && isEqual(value, otherKey.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static int hashOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Integer intValue) {
+            return Long.hashCode(intValue);
+        }
+        if (value instanceof Double doubleValue) {
+            return doubleValue == 0.0 ? 0 : Double.hashCode(doubleValue);
+        }
+        if (value instanceof BDecimal decimalValue) {
+            return decimalValue.decimalValue().stripTrailingZeros().hashCode();
+        }
+        if (value instanceof BArray arrayValue) {
+            int result = 1;
+            for (int i = 0; i < arrayValue.size(); i++) {
+                result = 31 * result + hashOf(arrayValue.get(i));
+            }
+            return result;
+        }
+        if (value instanceof BMap<?, ?> mapValue) {
+            // The order of the entries does not affect the equality of mappings, hence it should not affect the hash.
+            int result = 0;
+            for (Map.Entry<?, ?> entry : mapValue.entrySet()) {
+                result += entry.getKey().hashCode() ^ hashOf(entry.getValue());
+            }
+            return result;
+        }
+        if (value instanceof BString || value instanceof Long || value instanceof Boolean) {
+            return value.hashCode();
+        }
+        return StringUtils.getExpressionStringValue(value).hashCode();
+    }
+
+    private static boolean isEqual(Object first, Object second) {
+        if (first == second) {
+            return true;
+        }
+        if (first == null || second == null) {
+            return false;
+        }
+        if (first instanceof Integer intValue) {
+            return isEqual(intValue.longValue(), second);
+        }
+        if (second instanceof Integer intValue) {
+            return isEqual(first, intValue.longValue());
+        }
+        if (first instanceof Double firstDouble && second instanceof Double secondDouble) {
+            return firstDouble.doubleValue() == secondDouble.doubleValue() || firstDouble.equals(secondDouble);
+        }
+        if (first instanceof BDecimal firstDecimal && second instanceof BDecimal secondDecimal) {
+            return firstDecimal.decimalValue().compareTo(secondDecimal.decimalValue()) == 0;
+        }
+        if (first instanceof BArray firstArray && second instanceof BArray secondArray) {
+            if (firstArray.size() != secondArray.size()) {
+                return false;
+            }
+            for (int i = 0; i < firstArray.size(); i++) {
+                if (!isEqual(firstArray.get(i), secondArray.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (first instanceof BMap<?, ?> firstMap && second instanceof BMap<?, ?> secondMap) {
+            if (firstMap.size() != secondMap.size()) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : firstMap.entrySet()) {
+                Object key = entry.getKey();
+                if (!secondMap.containsKey(key) || !isEqual(entry.getValue(), secondMap.get(key))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (first instanceof BString || first instanceof Long || first instanceof Boolean) {
+            return first.equals(second);
+        }
+        if (first.getClass() != second.getClass()) {
+            return false;
+        }
+        return StringUtils.getExpressionStringValue(first).equals(StringUtils.getExpressionStringValue(second));
+    }
+}
@@ -23,6 +23,7 @@ import io.ballerina.runtime.api.Runtime;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.types.IntersectionType;
 import io.ballerina.runtime.api.types.MethodType;
+import io.ballerina.runtime.api.types.Parameter;
 import io.ballerina.runtime.api.types.RemoteMethodType;
 import io.ballerina.runtime.api.types.ResourceMethodType;
 import io.ballerina.runtime.api.types.ServiceType;
@@ -33,6 +34,7 @@ import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.observability.ObserveUtils;
@@ -49,7 +51,10 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.runtime.observability.ObservabilityConstants.KEY_OBSERVER_CONTEXT;
 import static io.ballerina.stdlib.graphql.commons.utils.TypeUtils.removeEscapeCharacter;
@@ -68,12 +73,17 @@ import static io.ballerina.stdlib.graphql.runtime.utils.ModuleUtils.getResult;
 import static io.ballerina.stdlib.graphql.runtime.utils.Utils.ERROR_TYPE;
 import static io.ballerina.stdlib.graphql.runtime.utils.Utils.INTERNAL_NODE;
 import static io.ballerina.stdlib.graphql.runtime.utils.Utils.createError;
+import static io.ballerina.stdlib.graphql.runtime.utils.Utils.isContext;
+import static io.ballerina.stdlib.graphql.runtime.utils.Utils.isField;
 
 /**
  * This handles Ballerina GraphQL Engine.
  */
 public class Engine {
     public static final String RESOURCE_MAP = "graphql.resourceMap";
+    private static final BString MEMOIZE_FIELD = StringUtils.fromString("memoize");
+    // The resource methods are resolved once, as the memoization of a method does not change at runtime
+    private static final Map<ResourceMethodType, Boolean> MEMOIZED_METHODS = new ConcurrentHashMap<>();
 
     private Engine() {
     }
@@ -158,9 +168,69 @@ public class Engine {
         }
         ArgumentHandler argumentHandler =
                 new ArgumentHandler(resourceMethod, context, fieldObject, responseGenerator, validation);
+        if (isMemoized(resourceMethod)) {
+            return getMemoizedResultObject(environment, context, service, resourceMethod, argumentHandler);
+        }
         return getResultObject(environment, context, service, resourceMethod.getName(), argumentHandler);
     }
 
+    // Invocations of a memoized resource method with the same arguments on the same service object share the result
+    // of the first invocation within a request. A duplicate invocation waits for the first one if it is in flight.
+    private static Object getMemoizedResultObject(Environment environment, BObject context, BObject service,
+                                                  ResourceMethodType resourceMethod,
+                                                  ArgumentHandler argumentHandler) {
+        try {
+            argumentHandler.validateInputConstraint(environment);
+        } catch (ConstraintValidationException e) {
+            return null;
+        }
+        Object[] args = argumentHandler.getArguments();
+        MemoKey memoKey = new MemoKey(service, resourceMethod.getName(), getMemoArguments(resourceMethod, args));
+        CompletableFuture<Object> memoizedResult = new CompletableFuture<>();
+        CompletableFuture<Object> existingResult = Context.getMemoTable(context).putIfAbsent(memoKey, memoizedResult);
+        if (existingResult != null) {
+            return environment.yieldAndRun(() -> getResult(existingResult));
+        }
+        return environment.yieldAndRun(() -> {
+            ExecutionCallback executionCallback = new ExecutionCallback(memoizedResult);
+            try {
+                Object result = callResourceMethod(environment.getRuntime(), service, resourceMethod.getName(), args);
+                executionCallback.notifySuccess(result);
+            } catch (BError bError) {
+                executionCallback.notifyFailure(bError);
+            }
+            return getResult(memoizedResult);
+        });
+    }
+
+    // A resource method having a `graphql:Field` parameter is not memoized as its result may depend on the selections
+    private static boolean isMemoized(ResourceMethodType resourceMethod) {
+        return MEMOIZED_METHODS.computeIfAbsent(resourceMethod, Engine::hasMemoizeConfig);
+    }
+
+    private static boolean hasMemoizeConfig(ResourceMethodType resourceMethod) {
+        BString identifier = StringUtils.fromString(getModule().toString() + COLON + RESOURCE_CONFIG);
+        if (!(resourceMethod.getAnnotation(identifier) instanceof BMap<?, ?> resourceConfig)) {
+            return false;
+        }
+        if (!(resourceConfig.get(MEMOIZE_FIELD) instanceof Boolean memoize) || !memoize) {
+            return false;
+        }
+        return Arrays.stream(resourceMethod.getParameters()).noneMatch(parameter -> isField(parameter.type));
+    }
+
+    private static String getMemoArguments(ResourceMethodType resourceMethod, Object[] args) {
+        Parameter[] parameters = resourceMethod.getParameters();
+        StringJoiner memoArguments = new StringJoiner(",");
+        for (int i = 0; i < parameters.length; i++) {
+            if (isContext(parameters[i].type)) {
+                continue;
+            }
+            memoArguments.add(parameters[i].name + "=" + StringUtils.getExpressionStringValue(args[i]));
+        }
+        return memoArguments.toString();
+    }
+
     public static Object executeMutationMethod(Environment environment, BObject context, BObject service,
                                                BObject fieldObject, BObject responseGenerator, boolean validation) {
         ServiceType serviceType = (ServiceType) TypeUtils.getType(service);
@@ -322,6 +392,23 @@ public class Engine {
         return returnType.getTag() == TypeTags.RECORD_TYPE_TAG;
     }
 
+    /**
+     * Key of a memoized resource method invocation. The service object is compared by identity.
+     */
+    record MemoKey(BObject service, String methodName, String arguments) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof MemoKey memoKey && this.service == memoKey.service
+                    && this.methodName.equals(memoKey.methodName) && this.arguments.equals(memoKey.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(this.service) + this.methodName.hashCode())
+                    + this.arguments.hashCode();
+        }
+    }
+
     public static HashMap<String, Object> getPropertiesToPropagate(Environment environment, BObject context) {
         HashMap<String, Object> properties = new HashMap<>();
         ObserverContext observerContext = (ObserverContext) context.getNativeData(KEY_OBSERVER_CONTEXT);
@@ -202,6 +202,18 @@ public class EngineUtils {
         return type.getTag() == TypeTags.MAP_TAG;
     }
 
+    public static BString generateHash(Object value) {
+        return StringUtils.fromString(CacheKeyHasher.hash(value));
+    }
+
+    public static BString generateCanonicalHash(Object value) {
+        return StringUtils.fromString(CacheKeyHasher.canonicalHash(value));
+    }
+
+    public static BString generateArgHash(BArray arguments, BArray parentArgHashes, BArray optionalFields) {
+        return StringUtils.fromString(CacheKeyHasher.argumentHash(arguments, parentArgHashes, optionalFields));
+    }
+
     public static BString getTypeNameFromValue(BValue bValue) {
         if (bValue.getType().getTag() == TypeTags.INTERSECTION_TAG) {
             return StringUtils.fromString(getTypeNameFromIntersection((IntersectionType) bValue.getType()));
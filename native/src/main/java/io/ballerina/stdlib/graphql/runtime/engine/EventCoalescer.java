@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BStream;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class provides the native implementation of the event coalescing of a subscription. The source stream is pulled
+ * in a separate strand, and only the latest event is kept until it is taken. An event is taken at most once within the
+ * coalescing window, hence the events emitted by the source stream within a window are replaced by the latest one.
+ * The pending event is taken without waiting for the window once the source stream is completed.
+ */
+public final class EventCoalescer {
+    private static final String EVENT_COALESCER = "graphql.eventCoalescer";
+    private static final String PULL_METHOD = "pull";
+    private static final String PULLER_STRAND_NAME = "graphql-event-coalescer";
+    private static final BigDecimal NANOS_PER_SECOND = BigDecimal.valueOf(TimeUnit.SECONDS.toNanos(1));
+
+    private final long windowNanos;
+    private Object latestEvent = null;
+    private boolean pending = false;
+    private boolean completed = false;
+    private boolean closed = false;
+    private long lastEmissionTime;
+
+    private EventCoalescer(long windowNanos) {
+        this.windowNanos = windowNanos;
+        // The first event is not delayed
+        this.lastEmissionTime = System.nanoTime() - windowNanos;
+    }
+
+    public static void initialize(Environment environment, BObject coalescer, BStream sourceStream, BDecimal window) {
+        long windowNanos = window.decimalValue().multiply(NANOS_PER_SECOND).longValue();
+        EventCoalescer eventCoalescer = new EventCoalescer(windowNanos);
+        coalescer.addNativeData(EVENT_COALESCER, eventCoalescer);
+        environment.getRuntime().startIsolatedWorker(coalescer, PULL_METHOD, PULLER_STRAND_NAME, null, null,
+                                                     sourceStream);
+    }
+
+    // Returns the latest event, waiting until the coalescing window is elapsed. Returns `()` once the source stream is
+    // completed and the pending event is taken, or once the coalescer is closed.
+    public static Object next(Environment environment, BObject coalescer) {
+        EventCoalescer eventCoalescer = getEventCoalescer(coalescer);
+        return environment.yieldAndRun(eventCoalescer::take);
+    }
+
+    // Stops pulling the source stream. The pending event is discarded. Returns `true` if the puller is already
+    // completed, in which case the source stream must be closed by the caller.
+    public static boolean close(BObject coalescer) {
+        return getEventCoalescer(coalescer).close();
+    }
+
+    // Called by the puller with each event of the source stream
+    public static void offer(BObject coalescer, Object event) {
+        getEventCoalescer(coalescer).offer(event);
+    }
+
+    // Called by the puller once it stops pulling the source stream. Returns `true` if the coalescer is closed, in which
+    // case the source stream must be closed by the puller.
+    public static boolean complete(BObject coalescer) {
+        return getEventCoalescer(coalescer).complete();
+    }
+
+    public static boolean isClosed(BObject coalescer) {
+        return getEventCoalescer(coalescer).isClosed();
+    }
+
+    private static EventCoalescer getEventCoalescer(BObject coalescer) {
+        return (EventCoalescer) coalescer.getNativeData(EVENT_COALESCER);
+    }
+
+    private synchronized void offer(Object event) {
+        if (this.closed) {
+            return;
+        }
+        this.latestEvent = event;
+        this.pending = true;
+        notifyAll();
+    }
+
+    // The source stream is closed either by the puller or by the caller closing the coalescer, whichever is the last
+    // one, so that it is not closed while the puller is still waiting for its next event
+    private synchronized boolean complete() {
+        this.completed = true;
+        notifyAll();
+        return this.closed;
+    }
+
+    private synchronized boolean close() {
+        this.closed = true;
+        this.latestEvent = null;
+        this.pending = false;
+        notifyAll();
+        return this.completed;
+    }
+
+    private synchronized boolean isClosed() {
+        return this.closed;
+    }
+
+    private synchronized Object take() {
+        try {
+            while (!this.closed) {
+                if (this.pending) {
+                    long remainingTime = this.lastEmissionTime + this.windowNanos - System.nanoTime();
+                    if (remainingTime <= 0 || this.completed) {
+                        Object event = this.latestEvent;
+                        this.latestEvent = null;
+                        this.pending = false;
+                        this.lastEmissionTime = System.nanoTime();
+                        return event;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remainingTime);
+                } else if (this.completed) {
+                    return null;
+                } else {
+                    wait();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.utils.ValueUtils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A value of the server cache kept outside the heap in a compact binary form. Only the values that can be encoded by
+ * the {@link CacheValueCodec} can be kept in this form. The type of the value is kept on the heap, and the value is
+ * converted back to it when it is read, so that the values read from the cache have their original types.
+ */
+final class OffHeapCacheValue {
+    private final ByteBuffer buffer;
+    private final Type type;
+
+    private OffHeapCacheValue(ByteBuffer buffer, Type type) {
+        this.buffer = buffer;
+        this.type = type;
+    }
+
+    /**
+     * Serializes the given value to a direct byte buffer.
+     *
+     * @param value the value to be serialized
+     * @return the off-heap value, or `null` if the value cannot be serialized
+     */
+    static OffHeapCacheValue create(Object value) {
+        byte[] bytes = CacheValueCodec.encode(value);
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        return new OffHeapCacheValue(buffer, TypeUtils.getType(value));
+    }
+
+    int getSize() {
+        return this.buffer.capacity();
+    }
+
+    // Returns the encoded form of the value
+    byte[] getBytes() {
+        ByteBuffer input = this.buffer.duplicate();
+        input.rewind();
+        byte[] bytes = new byte[input.remaining()];
+        input.get(bytes);
+        return bytes;
+    }
+
+    Object read() {
+        // A duplicate has its own position, hence the value can be read concurrently
+        ByteBuffer input = this.buffer.duplicate();
+        input.rewind();
+        return ValueUtils.convert(CacheValueCodec.decode(input), this.type);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class provides the native implementation of the bounded queue of the messages written to a subscriber. The
+ * subscription adds the serialized messages to the queue, and a separate strand takes them from the queue and writes
+ * them to the WebSocket connection. When the queue is full, a new event is handled according to the overflow policy.
+ * The messages which are not events, such as the `complete` messages, are never dropped, and are added even when the
+ * queue is full.
+ */
+public final class OutboundQueue {
+    private static final String OUTBOUND_QUEUE = "graphql.outboundQueue";
+    private static final String DROP_OLDEST = "DROP_OLDEST";
+    private static final String COALESCE_LATEST = "COALESCE_LATEST";
+    private static final String DISCONNECT = "DISCONNECT";
+
+    // The total number of messages queued for all the subscribers
+    private static final AtomicLong TOTAL_SIZE = new AtomicLong();
+
+    private final ArrayDeque<Message> messages = new ArrayDeque<>();
+    private final int maxSize;
+    private final String overflowPolicy;
+    // Only the events are counted towards the capacity, as the other messages are never dropped
+    private int eventCount = 0;
+    private long droppedCount = 0;
+    private boolean closed = false;
+
+    private OutboundQueue(int maxSize, String overflowPolicy) {
+        this.maxSize = maxSize;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public static void initialize(BObject queue, long maxSize, BString overflowPolicy) {
+        queue.addNativeData(OUTBOUND_QUEUE, new OutboundQueue((int) maxSize, overflowPolicy.getValue()));
+    }
+
+    /**
+     * Adds a message to the queue. When the queue is full and the message is an event, the `BLOCK` policy waits until
+     * the queue has room, and the `DISCONNECT` policy rejects the message.
+     *
+     * @return `false` if the message is rejected, in which case the subscriber must be disconnected
+     */
+    public static Object offer(Environment environment, BObject queue, BString message, boolean event) {
+        OutboundQueue outboundQueue = getOutboundQueue(queue);
+        return environment.yieldAndRun(() -> outboundQueue.offer(new Message(message, event)));
+    }
+
+    // Returns the next message, waiting until one is available. Returns `()` once the queue is closed and empty.
+    public static Object take(Environment environment, BObject queue) {
+        OutboundQueue outboundQueue = getOutboundQueue(queue);
+        return environment.yieldAndRun(outboundQueue::take);
+    }
+
+    // Closes the queue. The queued messages are still taken, unless they are discarded.
+    public static void close(BObject queue, boolean discard) {
+        getOutboundQueue(queue).close(discard);
+    }
+
+    public static long getDroppedCount(BObject queue) {
+        return getOutboundQueue(queue).getDroppedCount();
+    }
+
+    public static long getTotalSize() {
+        return TOTAL_SIZE.get();
+    }
+
+    private static OutboundQueue getOutboundQueue(BObject queue) {
+        return (OutboundQueue) queue.getNativeData(OUTBOUND_QUEUE);
+    }
+
+    private synchronized boolean offer(Message message) {
+        if (this.closed) {
+            return true;
+        }
+        if (message.event && this.eventCount >= this.maxSize) {
+            switch (this.overflowPolicy) {
+                case DROP_OLDEST:
+                    removeOldestEvent();
+                    this.droppedCount++;
+                    break;
+                case COALESCE_LATEST:
+                    this.droppedCount += removeEvents();
+                    break;
+                case DISCONNECT:
+                    this.droppedCount++;
+                    return false;
+                default:
+                    while (!this.closed && this.eventCount >= this.maxSize) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return true;
+                        }
+                    }
+                    if (this.closed) {
+                        return true;
+                    }
+            }
+        }
+        this.messages.addLast(message);
+        if (message.event) {
+            this.eventCount++;
+        }
+        TOTAL_SIZE.incrementAndGet();
+        notifyAll();
+        return true;
+    }
+
+    private synchronized Object take() {
+        while (this.messages.isEmpty() && !this.closed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        Message message = this.messages.pollFirst();
+        if (message == null) {
+            return null;
+        }
+        if (message.event) {
+            this.eventCount--;
+        }
+        TOTAL_SIZE.decrementAndGet();
+        // Wakes up a subscription waiting for room under the BLOCK policy
+        notifyAll();
+        return message.value;
+    }
+
+    private synchronized void close(boolean discard) {
+        this.closed = true;
+        if (discard) {
+            TOTAL_SIZE.addAndGet(-this.messages.size());
+            this.messages.clear();
+            this.eventCount = 0;
+        }
+        notifyAll();
+    }
+
+    private synchronized long getDroppedCount() {
+        return this.droppedCount;
+    }
+
+    private void removeOldestEvent() {
+        Iterator<Message> iterator = this.messages.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().event) {
+                iterator.remove();
+                this.eventCount--;
+                TOTAL_SIZE.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    // Removes all the queued events, as they are superseded by the new event. The other messages are kept.
+    private int removeEvents() {
+        int removedCount = this.eventCount;
+        this.messages.removeIf(Message::event);
+        this.eventCount = 0;
+        TOTAL_SIZE.addAndGet(-removedCount);
+        return removedCount;
+    }
+
+    private record Message(BString value, boolean event) {
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.ballerina.stdlib.graphql.runtime.engine.RespConnection.command;
+import static io.ballerina.stdlib.graphql.runtime.utils.Utils.ERROR_TYPE;
+import static io.ballerina.stdlib.graphql.runtime.utils.Utils.createError;
+
+/**
+ * This class provides the native implementation of the cache store that keeps the server cache entries in a server
+ * speaking the RESP protocol. The values are encoded using the {@link CacheValueCodec}, and kept as strings with an
+ * expiry. The keys of the entries of each tag are kept in a set, which expires with the last entry of the tag. The
+ * entries under a path are found by scanning the keys with a pattern, as the path invalidations are expected to be
+ * rare compared to the retrievals.
+ * <p>
+ * The retrieved entries are kept in a local near-cache until the near-cache max age elapses or the entry expires,
+ * whichever comes first. The invalidations clear the near-cache of the instance doing the invalidation. The other
+ * instances may use the invalidated entries until their near-cache entries expire.
+ */
+public final class RespCacheStore {
+    private static final String RESP_CACHE_STORE = "graphql.respCacheStore";
+    private static final String PATH_SEPARATOR = ".";
+    // The tag sets are kept under a segment that cannot be a field name, hence they do not match the path patterns
+    private static final String TAG_SEGMENT = "$tag:";
+    private static final int SCAN_COUNT = 1000;
+    private static final BigDecimal MILLIS_PER_SECOND = BigDecimal.valueOf(1000);
+
+    private static final BString HOST_FIELD = StringUtils.fromString("host");
+    private static final BString PORT_FIELD = StringUtils.fromString("port");
+    private static final BString PASSWORD_FIELD = StringUtils.fromString("password");
+    private static final BString DATABASE_FIELD = StringUtils.fromString("database");
+    private static final BString KEY_PREFIX_FIELD = StringUtils.fromString("keyPrefix");
+    private static final BString TIMEOUT_FIELD = StringUtils.fromString("timeout");
+    private static final BString NEAR_CACHE_MAX_AGE_FIELD = StringUtils.fromString("nearCacheMaxAge");
+    private static final BString NEAR_CACHE_MAX_SIZE_FIELD = StringUtils.fromString("nearCacheMaxSize");
+
+    private final String host;
+    private final int port;
+    private final String password;
+    private final long database;
+    private final String keyPrefix;
+    private final long timeoutMillis;
+    private final NearCache nearCache;
+    private RespConnection connection;
+
+    private RespCacheStore(BMap<BString, Object> config) {
+        this.host = config.getStringValue(HOST_FIELD).getValue();
+        this.port = config.getIntValue(PORT_FIELD).intValue();
+        this.password = config.containsKey(PASSWORD_FIELD) ? config.getStringValue(PASSWORD_FIELD).getValue() : null;
+        this.database = config.getIntValue(DATABASE_FIELD);
+        this.keyPrefix = config.getStringValue(KEY_PREFIX_FIELD).getValue();
+        this.timeoutMillis = toMillis((BDecimal) config.get(TIMEOUT_FIELD));
+        long nearCacheMaxAge = toMillis((BDecimal) config.get(NEAR_CACHE_MAX_AGE_FIELD));
+        long nearCacheMaxSize = config.getIntValue(NEAR_CACHE_MAX_SIZE_FIELD);
+        this.nearCache = nearCacheMaxAge > 0 && nearCacheMaxSize > 0
+                ? new NearCache(nearCacheMaxAge, (int) nearCacheMaxSize) : null;
+    }
+
+    public static Object initialize(BObject store, BMap<BString, Object> config) {
+        RespCacheStore cacheStore = new RespCacheStore(config);
+        store.addNativeData(RESP_CACHE_STORE, cacheStore);
+        try {
+            cacheStore.getConnection();
+        } catch (IOException e) {
+            return createError("Failed to connect to the cache store: " + e.getMessage(), ERROR_TYPE);
+        }
+        return null;
+    }
+
+    public static Object get(Environment environment, BObject store, BString key) {
+        RespCacheStore cacheStore = getCacheStore(store);
+        String cacheKey = key.getValue();
+        if (cacheStore.nearCache != null) {
+            Object value = cacheStore.nearCache.get(cacheKey);
+            if (value != null) {
+                return value;
+            }
+        }
+        return environment.yieldAndRun(() -> {
+            try {
+                return cacheStore.get(cacheKey);
+            } catch (IOException e) {
+                return createStoreError("Failed to retrieve the entry from the cache store", e);
+            }
+        });
+    }
+
+    public static Object put(Environment environment, BObject store, BString key, Object value, BDecimal maxAge,
+                             BArray tags) {
+        RespCacheStore cacheStore = getCacheStore(store);
+        long timeToLive = toMillis(maxAge);
+        byte[] bytes = CacheValueCodec.encode(value);
+        if (bytes == null || timeToLive <= 0) {
+            return null;
+        }
+        return environment.yieldAndRun(() -> {
+            try {
+                cacheStore.put(key.getValue(), value, bytes, timeToLive, getTags(tags));
+                return null;
+            } catch (IOException e) {
+                return createStoreError("Failed to add the entry to the cache store", e);
+            }
+        });
+    }
+
+    public static Object invalidate(Environment environment, BObject store, BString path) {
+        RespCacheStore cacheStore = getCacheStore(store);
+        String pathPrefix = path.getValue() + PATH_SEPARATOR;
+        if (cacheStore.nearCache != null) {
+            cacheStore.nearCache.invalidate(pathPrefix);
+        }
+        return environment.yieldAndRun(() -> {
+            try {
+                cacheStore.deleteMatchingKeys(escapePattern(cacheStore.keyPrefix + pathPrefix) + "*");
+                return null;
+            } catch (IOException e) {
+                return createStoreError("Failed to invalidate the entries of the cache store", e);
+            }
+        });
+    }
+
+    public static Object invalidateTags(Environment environment, BObject store, BArray tags) {
+        RespCacheStore cacheStore = getCacheStore(store);
+        // The near-cache does not keep the tags of the entries
+        if (cacheStore.nearCache != null) {
+            cacheStore.nearCache.clear();
+        }
+        return environment.yieldAndRun(() -> {
+            try {
+                cacheStore.invalidateTags(getTags(tags));
+                return null;
+            } catch (IOException e) {
+                return createStoreError("Failed to invalidate the entries of the cache store", e);
+            }
+        });
+    }
+
+    public static Object invalidateAll(Environment environment, BObject store) {
+        RespCacheStore cacheStore = getCacheStore(store);
+        if (cacheStore.nearCache != null) {
+            cacheStore.nearCache.clear();
+        }
+        return environment.yieldAndRun(() -> {
+            try {
+                cacheStore.deleteMatchingKeys(escapePattern(cacheStore.keyPrefix) + "*");
+                return null;
+            } catch (IOException e) {
+                return createStoreError("Failed to invalidate the entries of the cache store", e);
+            }
+        });
+    }
+
+    private static RespCacheStore getCacheStore(BObject store) {
+        return (RespCacheStore) store.getNativeData(RESP_CACHE_STORE);
+    }
+
+    private Object get(String key) throws IOException {
+        // The remaining time to live is retrieved along with the value, to not keep the value in the near-cache after
+        // it expires
+        String storeKey = this.keyPrefix + key;
+        List<Object> replies = execute(List.of(command("GET", storeKey), command("PTTL", storeKey)));
+        if (!(replies.get(0) instanceof byte[] bytes)) {
+            return null;
+        }
+        Object value = CacheValueCodec.decode(ByteBuffer.wrap(bytes));
+        if (this.nearCache != null && replies.get(1) instanceof Long timeToLive && timeToLive > 0) {
+            this.nearCache.put(key, value, timeToLive);
+        }
+        return value;
+    }
+
+    private void put(String key, Object value, byte[] bytes, long timeToLive, String[] tags) throws IOException {
+        String storeKey = this.keyPrefix + key;
+        List<byte[][]> commands = new ArrayList<>(1 + 3 * tags.length);
+        commands.add(command("SET", storeKey, bytes, "PX", timeToLive));
+        for (String tag : tags) {
+            String tagKey = this.keyPrefix + TAG_SEGMENT + tag;
+            commands.add(command("SADD", tagKey, storeKey));
+            // The tag set is kept until the last entry of the tag expires
+            commands.add(command("PEXPIRE", tagKey, timeToLive, "NX"));
+            commands.add(command("PEXPIRE", tagKey, timeToLive, "GT"));
+        }
+        execute(commands);
+        if (this.nearCache != null) {
+            this.nearCache.put(key, value, timeToLive);
+        }
+    }
+
+    private void invalidateTags(String[] tags) throws IOException {
+        if (tags.length == 0) {
+            return;
+        }
+        List<byte[][]> commands = new ArrayList<>(tags.length);
+        List<Object> keys = new ArrayList<>();
+        keys.add("DEL");
+        for (String tag : tags) {
+            String tagKey = this.keyPrefix + TAG_SEGMENT + tag;
+            commands.add(command("SMEMBERS", tagKey));
+            keys.add(tagKey);
+        }
+        for (Object members : execute(commands)) {
+            if (members instanceof Object[] memberKeys) {
+                keys.addAll(List.of(memberKeys));
+            }
+        }
+        execute(Collections.singletonList(command(keys.toArray())));
+    }
+
+    private void deleteMatchingKeys(String pattern) throws IOException {
+        String cursor = "0";
+        do {
+            byte[][] scan = command("SCAN", cursor, "MATCH", pattern, "COUNT", SCAN_COUNT);
+            Object[] reply = (Object[]) execute(Collections.singletonList(scan)).get(0);
+            cursor = new String((byte[]) reply[0], StandardCharsets.UTF_8);
+            Object[] keys = (Object[]) reply[1];
+            if (keys.length > 0) {
+                List<Object> arguments = new ArrayList<>(keys.length + 1);
+                arguments.add("DEL");
+                arguments.addAll(List.of(keys));
+                execute(Collections.singletonList(command(arguments.toArray())));
+            }
+        } while (!"0".equals(cursor));
+    }
+
+    private List<Object> execute(List<byte[][]> commands) throws IOException {
+        List<CompletableFuture<Object>> replies = getConnection().send(commands);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeoutMillis);
+        List<Object> results = new ArrayList<>(replies.size());
+        for (CompletableFuture<Object> reply : replies) {
+            results.add(await(reply, deadline));
+        }
+        return results;
+    }
+
+    private synchronized RespConnection getConnection() throws IOException {
+        if (this.connection != null && !this.connection.isClosed()) {
+            return this.connection;
+        }
+        RespConnection newConnection = RespConnection.open(this.host, this.port, (int) this.timeoutMillis);
+        List<byte[][]> commands = new ArrayList<>(2);
+        if (this.password != null) {
+            commands.add(command("AUTH", this.password));
+        }
+        if (this.database != 0) {
+            commands.add(command("SELECT", this.database));
+        }
+        if (!commands.isEmpty()) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.timeoutMillis);
+            try {
+                for (CompletableFuture<Object> reply : newConnection.send(commands)) {
+                    await(reply, deadline);
+                }
+            } catch (IOException e) {
+                newConnection.close();
+                throw e;
+            }
+        }
+        this.connection = newConnection;
+        return newConnection;
+    }
+
+    private static Object await(CompletableFuture<Object> reply, long deadline) throws IOException {
+        try {
+            return reply.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the cache store", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException cause ? cause : new IOException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out while waiting for the cache store", e);
+        }
+    }
+
+    private static String escapePattern(String value) {
+        StringBuilder pattern = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '*' || character == '?' || character == '[' || character == ']' || character == '\\') {
+                pattern.append('\\');
+            }
+            pattern.append(character);
+        }
+        return pattern.toString();
+    }
+
+    private static String[] getTags(BArray tags) {
+        String[] result = new String[tags.size()];
+        for (int i = 0; i < tags.size(); i++) {
+            result[i] = tags.getBString(i).getValue();
+        }
+        return result;
+    }
+
+    private static long toMillis(BDecimal seconds) {
+        return seconds.decimalValue().multiply(MILLIS_PER_SECOND).longValue();
+    }
+
+    private static Object createStoreError(String message, IOException exception) {
+        return createError(message + ": " + exception.getMessage(), ERROR_TYPE);
+    }
+
+    /**
+     * The entries retrieved from the RESP server, kept in the memory of the service in the least recently used order.
+     */
+    private static final class NearCache {
+        private final long maxAgeMillis;
+        private final int maxSize;
+        private final LinkedHashMap<String, NearCacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private NearCache(long maxAgeMillis, int maxSize) {
+            this.maxAgeMillis = maxAgeMillis;
+            this.maxSize = maxSize;
+        }
+
+        private synchronized Object get(String key) {
+            NearCacheEntry entry = this.entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiryTime - System.nanoTime() <= 0) {
+                this.entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+
+        private synchronized void put(String key, Object value, long timeToLiveMillis) {
+            long maxAge = TimeUnit.MILLISECONDS.toNanos(Math.min(this.maxAgeMillis, timeToLiveMillis));
+            this.entries.put(key, new NearCacheEntry(value, System.nanoTime() + maxAge));
+            if (this.entries.size() > this.maxSize) {
+                this.entries.remove(this.entries.keySet().iterator().next());
+            }
+        }
+
+        private synchronized void invalidate(String pathPrefix) {
+            this.entries.keySet().removeIf(key -> key.startsWith(pathPrefix));
+        }
+
+        private synchronized void clear() {
+            this.entries.clear();
+        }
+    }
+
+    private record NearCacheEntry(Object value, long expiryTime) {
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A connection to a server speaking the RESP protocol, such as Redis. The commands are pipelined. A command is written
+ * without waiting for the replies of the previously written commands, and the replies are read by a reader thread and
+ * matched with the commands in the order they were written. Hence, the concurrent requests share the connection
+ * without waiting for the round trips of each other.
+ * <p>
+ * The replies are decoded to `String` for the simple strings, `Long` for the integers, `byte[]` for the bulk strings,
+ * `Object[]` for the arrays, and `null` for the null bulk strings and arrays. The error replies complete the replies
+ * exceptionally with a {@link RespException}.
+ */
+final class RespConnection implements Closeable {
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final Socket socket;
+    private final OutputStream output;
+    private final InputStream input;
+    private final Queue<CompletableFuture<Object>> pendingReplies = new ConcurrentLinkedQueue<>();
+    private boolean closed = false;
+
+    private RespConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        this.output = new BufferedOutputStream(socket.getOutputStream());
+        this.input = new BufferedInputStream(socket.getInputStream());
+    }
+
+    static RespConnection open(String host, int port, int timeoutMillis) throws IOException {
+        Socket socket = new Socket();
+        socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+        socket.setTcpNoDelay(true);
+        RespConnection connection = new RespConnection(socket);
+        Thread reader = new Thread(connection::readReplies, "graphql-resp-reader");
+        reader.setDaemon(true);
+        reader.start();
+        return connection;
+    }
+
+    static byte[][] command(Object... arguments) {
+        byte[][] command = new byte[arguments.length][];
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = arguments[i];
+            command[i] = argument instanceof byte[] bytes ? bytes
+                    : String.valueOf(argument).getBytes(StandardCharsets.UTF_8);
+        }
+        return command;
+    }
+
+    /**
+     * Writes the given commands at once.
+     *
+     * @param commands the commands to be written
+     * @return the replies of the commands, in the order of the commands
+     * @throws IOException if the connection is closed, or the commands cannot be written
+     */
+    synchronized List<CompletableFuture<Object>> send(List<byte[][]> commands) throws IOException {
+        if (this.closed) {
+            throw new IOException("Connection to the cache store is closed");
+        }
+        List<CompletableFuture<Object>> replies = new ArrayList<>(commands.size());
+        try {
+            for (byte[][] command : commands) {
+                CompletableFuture<Object> reply = new CompletableFuture<>();
+                replies.add(reply);
+                this.pendingReplies.add(reply);
+                writeArray(this.output, command);
+            }
+            this.output.flush();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        return replies;
+    }
+
+    synchronized boolean isClosed() {
+        return this.closed;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            this.socket.close();
+        } catch (IOException e) {
+            // The connection is discarded regardless
+        }
+        IOException exception = new IOException("Connection to the cache store is closed");
+        CompletableFuture<Object> reply;
+        while ((reply = this.pendingReplies.poll()) != null) {
+            reply.completeExceptionally(exception);
+        }
+    }
+
+    private void readReplies() {
+        try {
+            while (true) {
+                Object reply = read(this.input);
+                CompletableFuture<Object> pendingReply = this.pendingReplies.poll();
+                if (pendingReply == null) {
+                    continue;
+                }
+                if (reply instanceof RespException exception) {
+                    pendingReply.completeExceptionally(exception);
+                } else {
+                    pendingReply.complete(reply);
+                }
+            }
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    /**
+     * Reads a value of the RESP protocol. An error value is read as a {@link RespException}.
+     *
+     * @param input the stream to read from
+     * @return the value read
+     * @throws IOException if the stream ends, or it does not contain a valid value
+     */
+    static Object read(InputStream input) throws IOException {
+        int type = input.read();
+        if (type == -1) {
+            throw new EOFException();
+        }
+        String line = readLine(input);
+        switch (type) {
+            case '+':
+                return line;
+            case '-':
+                return new RespException(line);
+            case ':':
+                return Long.parseLong(line);
+            case '$':
+                int length = Integer.parseInt(line);
+                if (length < 0) {
+                    return null;
+                }
+                byte[] bytes = input.readNBytes(length);
+                if (bytes.length < length || input.read() != '\r' || input.read() != '\n') {
+                    throw new EOFException();
+                }
+                return bytes;
+            case '*':
+                int count = Integer.parseInt(line);
+                if (count < 0) {
+                    return null;
+                }
+                Object[] values = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    values[i] = read(input);
+                }
+                return values;
+            default:
+                throw new IOException("Invalid RESP value type: " + (char) type);
+        }
+    }
+
+    static void writeArray(OutputStream output, byte[][] values) throws IOException {
+        output.write(('*' + Integer.toString(values.length)).getBytes(StandardCharsets.US_ASCII));
+        output.write(CRLF);
+        for (byte[] value : values) {
+            writeBulkString(output, value);
+        }
+    }
+
+    static void writeBulkString(OutputStream output, byte[] value) throws IOException {
+        if (value == null) {
+            output.write("$-1".getBytes(StandardCharsets.US_ASCII));
+            output.write(CRLF);
+            return;
+        }
+        output.write(('$' + Integer.toString(value.length)).getBytes(StandardCharsets.US_ASCII));
+        output.write(CRLF);
+        output.write(value);
+        output.write(CRLF);
+    }
+
+    private static String readLine(InputStream input) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int value;
+        while ((value = input.read()) != '\r') {
+            if (value == -1) {
+                throw new EOFException();
+            }
+            line.write(value);
+        }
+        if (input.read() != '\n') {
+            throw new IOException("Invalid RESP line ending");
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An error reply of the RESP server.
+     */
+    static final class RespException extends IOException {
+        RespException(String message) {
+            super(message);
+        }
+    }
+}
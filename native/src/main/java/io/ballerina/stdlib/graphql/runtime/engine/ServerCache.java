@@ -0,0 +1,682 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.ballerina.stdlib.graphql.runtime.utils.ModuleUtils.getModule;
+import static io.ballerina.stdlib.graphql.runtime.utils.Utils.ERROR_TYPE;
+import static io.ballerina.stdlib.graphql.runtime.utils.Utils.createError;
+
+/**
+ * This class provides the native implementation of the server-side cache of the GraphQL engine. The cache keys are
+ * of the form `segment1.segment2...segmentN.hash`. Along with the entries, the cache keeps a trie of the key path
+ * segments, so that the entries under a given path can be invalidated without scanning all the keys. The entries can
+ * also carry tags, and an index of the tags to the keys is kept to invalidate the entries of a tag.
+ * <p>
+ * The entries are kept in partitions, each having its own capacity and eviction policy. Hence, the entries of a field
+ * do not compete with the entries of the other fields for the capacity. The capacity of a partition is either a
+ * number of entries, or a number of bytes, in which case the size of each value is estimated when it is added.
+ * <p>
+ * When the off-heap tier is enabled, the values larger than its threshold are serialized to direct byte buffers and
+ * deserialized on each hit. These entries are kept in a partition of their own, bounded by the off-heap capacity.
+ * <p>
+ * Concurrent misses of the same key are coalesced. The first miss gets a loader id, and is expected to resolve the
+ * value and complete the loading with that id, while the others wait for it, up to the given load timeout. A waiter
+ * which times out resolves the value without completing the loading, so that the other waiters keep waiting for the
+ * first miss.
+ * <p>
+ * An expired entry is kept for its stale-while-revalidate and stale-if-error windows. Within the stale-while-revalidate
+ * window, the stale value is returned and the first lookup is expected to revalidate the entry. Within the
+ * stale-if-error window, the stale value is returned to be used only when the resolution of a new value fails.
+ * <p>
+ * The entries can be written to a snapshot file and restored from it, so that a restarted service does not start
+ * with an empty cache.
+ * <p>
+ * The hits, misses, puts, evictions, expirations and invalidations are counted for the field coordinate of each
+ * entry, such as `Query.person`, along with the latency of the lookups.
+ */
+public final class ServerCache {
+    private static final String SERVER_CACHE = "graphql.serverCache";
+    private static final String PATH_SEPARATOR = ".";
+    private static final BigDecimal NANOS_PER_SECOND = BigDecimal.valueOf(1_000_000_000L);
+
+    private static final String CACHE_LOOKUP_RECORD = "CacheLookup";
+    private static final String VALUE_FIELD = "value";
+    private static final String STATE_FIELD = "state";
+    private static final String LOADER_ID_FIELD = "loaderId";
+    private static final BString FRESH = StringUtils.fromString("FRESH");
+    private static final BString STALE = StringUtils.fromString("STALE");
+    private static final BString REVALIDATE = StringUtils.fromString("REVALIDATE");
+    private static final BString STALE_IF_ERROR = StringUtils.fromString("STALE_IF_ERROR");
+
+    private static final BString MAX_AGE_FIELD = StringUtils.fromString("maxAge");
+    private static final BString MAX_SIZE_FIELD = StringUtils.fromString("maxSize");
+    private static final BString MAX_BYTES_FIELD = StringUtils.fromString("maxBytes");
+    private static final BString STALE_WHILE_REVALIDATE_FIELD = StringUtils.fromString("staleWhileRevalidate");
+    private static final BString STALE_IF_ERROR_FIELD = StringUtils.fromString("staleIfError");
+    private static final BString THRESHOLD_BYTES_FIELD = StringUtils.fromString("thresholdBytes");
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, CachePartition> partitions = new HashMap<>();
+    private final PathNode root = new PathNode(null, null);
+    private final Map<String, Set<String>> tagIndex = new HashMap<>();
+    private final CacheStatistics statistics = new CacheStatistics();
+    // Keys being resolved by a request, after a miss
+    private final Map<String, Loading> loadingKeys = new HashMap<>();
+    private long nextLoaderId = 0;
+    // The off-heap tier is disabled when the threshold is zero
+    private final long offHeapThreshold;
+    private final long offHeapMaxBytes;
+    private CachePartition offHeapPartition;
+
+    private ServerCache(long offHeapThreshold, long offHeapMaxBytes) {
+        this.offHeapThreshold = offHeapThreshold;
+        this.offHeapMaxBytes = offHeapMaxBytes;
+        this.offHeapPartition = createOffHeapPartition();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void initialize(BObject cache, Object offHeapConfig) {
+        ServerCache serverCache;
+        if (offHeapConfig instanceof BMap<?, ?> config) {
+            BMap<BString, Object> offHeapCacheConfig = (BMap<BString, Object>) config;
+            serverCache = new ServerCache(offHeapCacheConfig.getIntValue(THRESHOLD_BYTES_FIELD),
+                                          offHeapCacheConfig.getIntValue(MAX_BYTES_FIELD));
+        } else {
+            serverCache = new ServerCache(0, 0);
+        }
+        cache.addNativeData(SERVER_CACHE, serverCache);
+    }
+
+    public static void put(BObject cache, BString key, Object value, BMap<BString, Object> config,
+                           BString partition, BArray tags, BString coordinate) {
+        ServerCache serverCache = getServerCache(cache);
+        long staleWhileRevalidate = toNanos((BDecimal) config.get(STALE_WHILE_REVALIDATE_FIELD));
+        long staleIfError = toNanos((BDecimal) config.get(STALE_IF_ERROR_FIELD));
+        long expiryTime = System.nanoTime() + toNanos((BDecimal) config.get(MAX_AGE_FIELD));
+        long revalidateUntil = expiryTime + staleWhileRevalidate;
+        long removalTime = expiryTime + Math.max(staleWhileRevalidate, staleIfError);
+        // The value is serialized before acquiring the lock, as it can take a while for large values
+        Entry entry = new Entry(serverCache.getStoredValue(value), expiryTime, revalidateUntil, removalTime,
+                                getTags(tags), coordinate.getValue());
+        int maxSize = (int) config.getIntValue(MAX_SIZE_FIELD).longValue();
+        long maxBytes = config.getIntValue(MAX_BYTES_FIELD);
+        if (serverCache.put(key.getValue(), entry, partition.getValue(), maxSize, maxBytes)) {
+            serverCache.statistics.recordPut(entry.coordinate);
+        }
+    }
+
+    public static void recordLookup(BObject cache, BString coordinate, boolean hit, BDecimal latency) {
+        getServerCache(cache).statistics.recordLookup(coordinate.getValue(), hit, toNanos(latency));
+    }
+
+    // Records a put to the cache store, which replaces the server cache
+    public static void recordPut(BObject cache, BString coordinate) {
+        getServerCache(cache).statistics.recordPut(coordinate.getValue());
+    }
+
+    public static BMap<BString, Object> getStats(BObject cache) {
+        return getServerCache(cache).statistics.getStats();
+    }
+
+    public static BMap<BString, Object> getUnreportedStats(BObject cache) {
+        return getServerCache(cache).statistics.getUnreportedStats();
+    }
+
+    public static long getWeight(BObject cache, BString partition) {
+        return getServerCache(cache).getWeight(partition.getValue());
+    }
+
+    public static long getOffHeapSize(BObject cache) {
+        ServerCache serverCache = getServerCache(cache);
+        synchronized (serverCache) {
+            return serverCache.offHeapPartition == null ? 0 : serverCache.offHeapPartition.getWeight();
+        }
+    }
+
+    public static long getOffHeapEntryCount(BObject cache) {
+        ServerCache serverCache = getServerCache(cache);
+        synchronized (serverCache) {
+            return serverCache.offHeapPartition == null ? 0 : serverCache.offHeapPartition.size();
+        }
+    }
+
+    public static Object get(Environment environment, BObject cache, BString key, BDecimal loadTimeout) {
+        ServerCache serverCache = getServerCache(cache);
+        String cacheKey = key.getValue();
+        long timeout = toNanos(loadTimeout);
+        Object value;
+        CompletableFuture<Void> loading = null;
+        long loaderId = 0;
+        synchronized (serverCache) {
+            value = serverCache.get(cacheKey);
+            if (value == null && timeout > 0) {
+                Loading currentLoading = serverCache.loadingKeys.get(cacheKey);
+                if (currentLoading == null) {
+                    loaderId = serverCache.startLoading(cacheKey);
+                } else {
+                    loading = currentLoading.future();
+                }
+            }
+        }
+        // Off-heap values are read outside the lock
+        if (value != null) {
+            return readValue(value);
+        }
+        if (loading == null) {
+            return createNotFoundError(cacheKey, loaderId);
+        }
+        CompletableFuture<Void> pendingLoading = loading;
+        return environment.yieldAndRun(() -> {
+            waitForLoading(pendingLoading, timeout);
+            Object loadedValue = serverCache.get(cacheKey);
+            return loadedValue != null ? readValue(loadedValue) : createNotFoundError(cacheKey);
+        });
+    }
+
+    public static Object lookup(Environment environment, BObject cache, BString key, BDecimal loadTimeout) {
+        ServerCache serverCache = getServerCache(cache);
+        String cacheKey = key.getValue();
+        long timeout = toNanos(loadTimeout);
+        Entry entry;
+        BString state = null;
+        CompletableFuture<Void> loading = null;
+        long loaderId = 0;
+        synchronized (serverCache) {
+            entry = serverCache.getEntry(cacheKey);
+            long now = System.nanoTime();
+            if (entry != null && entry.expiryTime - now > 0) {
+                state = FRESH;
+            } else if (entry != null && entry.revalidateUntil - now > 0) {
+                boolean revalidating = serverCache.loadingKeys.containsKey(cacheKey);
+                if (!revalidating) {
+                    loaderId = serverCache.startLoading(cacheKey);
+                }
+                state = revalidating ? STALE : REVALIDATE;
+            } else {
+                Loading currentLoading = timeout > 0 ? serverCache.loadingKeys.get(cacheKey) : null;
+                if (currentLoading == null) {
+                    if (timeout > 0) {
+                        loaderId = serverCache.startLoading(cacheKey);
+                    }
+                    state = STALE_IF_ERROR;
+                } else {
+                    loading = currentLoading.future();
+                }
+            }
+        }
+        // Off-heap values are read outside the lock
+        if (state != null) {
+            return entry != null ? createCacheLookup(readValue(entry.value), state, loaderId)
+                    : createNotFoundError(cacheKey, loaderId);
+        }
+        CompletableFuture<Void> pendingLoading = loading;
+        return environment.yieldAndRun(() -> {
+            waitForLoading(pendingLoading, timeout);
+            Entry loadedEntry;
+            synchronized (serverCache) {
+                loadedEntry = serverCache.getEntry(cacheKey);
+            }
+            if (loadedEntry == null) {
+                return createNotFoundError(cacheKey);
+            }
+            long now = System.nanoTime();
+            BString loadedState = loadedEntry.expiryTime - now > 0 ? FRESH
+                    : loadedEntry.revalidateUntil - now > 0 ? STALE : STALE_IF_ERROR;
+            return createCacheLookup(readValue(loadedEntry.value), loadedState, 0);
+        });
+    }
+
+    // Completes the loading of the key, only if it is still the loading started with the given loader id. Hence, a
+    // caller which did not start the loading can not release the requests waiting for it.
+    public static void completeLoading(BObject cache, BString key, long loaderId) {
+        ServerCache serverCache = getServerCache(cache);
+        String cacheKey = key.getValue();
+        Loading loading;
+        synchronized (serverCache) {
+            loading = serverCache.loadingKeys.get(cacheKey);
+            if (loading == null || loading.loaderId() != loaderId) {
+                return;
+            }
+            serverCache.loadingKeys.remove(cacheKey);
+        }
+        loading.future().complete(null);
+    }
+
+    public static void invalidate(BObject cache, BString path) {
+        getServerCache(cache).invalidate(path.getValue());
+    }
+
+    public static void invalidateTags(BObject cache, BArray tags) {
+        getServerCache(cache).invalidateTags(getTags(tags));
+    }
+
+    public static void invalidateAll(BObject cache) {
+        getServerCache(cache).invalidateAll();
+    }
+
+    public static Object writeSnapshot(Environment environment, BObject cache, BString path, BString version) {
+        ServerCache serverCache = getServerCache(cache);
+        return environment.yieldAndRun(() -> {
+            try {
+                return (long) serverCache.writeSnapshot(Path.of(path.getValue()), version.getValue());
+            } catch (IOException | InvalidPathException e) {
+                return createError("Failed to write the server cache snapshot: " + e.getMessage(), ERROR_TYPE);
+            }
+        });
+    }
+
+    public static Object loadSnapshot(Environment environment, BObject cache, BString path, BString version) {
+        ServerCache serverCache = getServerCache(cache);
+        return environment.yieldAndRun(() -> {
+            try {
+                return (long) serverCache.loadSnapshot(Path.of(path.getValue()), version.getValue());
+            } catch (IOException | RuntimeException e) {
+                return createError("Failed to load the server cache snapshot: " + e.getMessage(), ERROR_TYPE);
+            }
+        });
+    }
+
+    private static ServerCache getServerCache(BObject cache) {
+        return (ServerCache) cache.getNativeData(SERVER_CACHE);
+    }
+
+    private static long toNanos(BDecimal seconds) {
+        return seconds.decimalValue().multiply(NANOS_PER_SECOND).longValue();
+    }
+
+    // Registers a loading of the key, and returns its loader id. The cache must be locked by the caller.
+    private long startLoading(String cacheKey) {
+        long loaderId = ++this.nextLoaderId;
+        this.loadingKeys.put(cacheKey, new Loading(loaderId, new CompletableFuture<>()));
+        return loaderId;
+    }
+
+    private static void waitForLoading(CompletableFuture<Void> loading, long timeout) {
+        try {
+            loading.get(timeout, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // The value is resolved by the caller when it is not available after waiting
+        }
+    }
+
+    private static BMap<BString, Object> createCacheLookup(Object value, BString state, long loaderId) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(VALUE_FIELD, value);
+        fields.put(STATE_FIELD, state);
+        if (loaderId > 0) {
+            fields.put(LOADER_ID_FIELD, loaderId);
+        }
+        return ValueCreator.createRecordValue(getModule(), CACHE_LOOKUP_RECORD, fields);
+    }
+
+    private static Object readValue(Object storedValue) {
+        return storedValue instanceof OffHeapCacheValue offHeapValue ? offHeapValue.read() : storedValue;
+    }
+
+    private static Object createNotFoundError(String key) {
+        return createNotFoundError(key, 0);
+    }
+
+    // The loader id is added to the error detail when the caller is expected to resolve the value
+    private static Object createNotFoundError(String key, long loaderId) {
+        String message = "Cache entry not found for the key: " + key;
+        if (loaderId == 0) {
+            return createError(message, ERROR_TYPE);
+        }
+        BMap<BString, Object> details = ValueCreator.createMapValue();
+        details.put(StringUtils.fromString(LOADER_ID_FIELD), loaderId);
+        return createError(message, ERROR_TYPE, details);
+    }
+
+    private static String[] getTags(BArray tags) {
+        String[] result = new String[tags.size()];
+        for (int i = 0; i < tags.size(); i++) {
+            result[i] = tags.getBString(i).getValue();
+        }
+        return result;
+    }
+
+    // Returns whether the entry is added, as it is not added to a partition without capacity
+    private synchronized boolean put(String key, Entry entry, String partitionName, int maxSize, long maxBytes) {
+        if (this.entries.containsKey(key)) {
+            remove(key);
+        }
+        CachePartition partition;
+        long weight;
+        if (entry.value instanceof OffHeapCacheValue offHeapValue) {
+            partition = this.offHeapPartition;
+            weight = offHeapValue.getSize();
+        } else {
+            // The capacity of a partition is decided by the first entry added to it
+            partition = this.partitions.computeIfAbsent(partitionName, name -> maxBytes > 0
+                    ? new CachePartition(maxBytes, true, maxSize) : new CachePartition(maxSize, false, maxSize));
+            weight = partition.isWeighted() ? CacheValueSizeEstimator.estimate(entry.value) : 1;
+        }
+        if (partition.getMaximumWeight() <= 0) {
+            return false;
+        }
+        entry.node = getPathNode(key);
+        entry.node.keys.add(key);
+        entry.partition = partition;
+        this.entries.put(key, entry);
+        addToTags(key, entry.tags);
+        for (String evictedKey : partition.add(key, weight)) {
+            Entry evictedEntry = this.entries.remove(evictedKey);
+            removeFromPath(evictedKey, evictedEntry.node);
+            removeFromTags(evictedKey, evictedEntry.tags);
+            this.statistics.recordEviction(evictedEntry.coordinate);
+        }
+        return true;
+    }
+
+    private int writeSnapshot(Path path, String version) throws IOException {
+        List<CacheSnapshot.Partition> partitions = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<Entry> entries = new ArrayList<>();
+        List<String> partitionNames = new ArrayList<>();
+        long now;
+        synchronized (this) {
+            Map<CachePartition, String> names = new IdentityHashMap<>();
+            for (Map.Entry<String, CachePartition> partition : this.partitions.entrySet()) {
+                CachePartition cachePartition = partition.getValue();
+                names.put(cachePartition, partition.getKey());
+                partitions.add(new CacheSnapshot.Partition(partition.getKey(), cachePartition.getMaximumWeight(),
+                                                           cachePartition.isWeighted(),
+                                                           cachePartition.getExpectedSize()));
+            }
+            for (Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+                keys.add(entry.getKey());
+                entries.add(entry.getValue());
+                // The off-heap entries do not have a partition name
+                partitionNames.add(names.get(entry.getValue().partition));
+            }
+            now = System.nanoTime();
+        }
+        // The values are encoded outside the lock, as it can take a while for a large cache
+        List<CacheSnapshot.Entry> snapshotEntries = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.removalTime - now <= 0) {
+                continue;
+            }
+            byte[] value = entry.value instanceof OffHeapCacheValue offHeapValue ? offHeapValue.getBytes()
+                    : CacheValueCodec.encode(entry.value);
+            if (value != null) {
+                snapshotEntries.add(new CacheSnapshot.Entry(keys.get(i), partitionNames.get(i), value,
+                                                            entry.expiryTime - now, entry.revalidateUntil - now,
+                                                            entry.removalTime - now, entry.tags,
+                                                            entry.coordinate));
+            }
+        }
+        CacheSnapshot.write(path, version, partitions, snapshotEntries);
+        return snapshotEntries.size();
+    }
+
+    // The snapshot file is removed once it is restored, so that the entries are not restored again after they are
+    // invalidated
+    private int loadSnapshot(Path path, String version) throws IOException {
+        CacheSnapshot snapshot = CacheSnapshot.read(path, version);
+        if (snapshot == null) {
+            return 0;
+        }
+        synchronized (this) {
+            for (CacheSnapshot.Partition partition : snapshot.getPartitions()) {
+                this.partitions.putIfAbsent(partition.name(), new CachePartition(
+                        partition.maximumWeight(), partition.weighted(), partition.expectedSize()));
+            }
+        }
+        int restoredEntries = 0;
+        for (CacheSnapshot.Entry snapshotEntry : snapshot.getEntries()) {
+            Object value = getStoredValue(CacheValueCodec.decode(ByteBuffer.wrap(snapshotEntry.value())));
+            // An off-heap entry is not restored when the off-heap tier is no longer used for it
+            if (!(value instanceof OffHeapCacheValue) && snapshotEntry.partition() == null) {
+                continue;
+            }
+            long now = System.nanoTime();
+            Entry entry = new Entry(value, now + snapshotEntry.expiresIn(), now + snapshotEntry.revalidatesIn(),
+                                    now + snapshotEntry.removedIn(), snapshotEntry.tags(),
+                                    snapshotEntry.coordinate());
+            String partitionName = snapshotEntry.partition() == null ? "" : snapshotEntry.partition();
+            // The partitions of the snapshot are already created, hence their capacities are not given. The off-heap
+            // entries are added to the off-heap partition, which is not one of the named partitions
+            synchronized (this) {
+                if ((value instanceof OffHeapCacheValue || this.partitions.containsKey(partitionName))
+                        && put(snapshotEntry.key(), entry, partitionName, 0, 0)) {
+                    restoredEntries++;
+                }
+            }
+        }
+        Files.deleteIfExists(path);
+        return restoredEntries;
+    }
+
+    // Returns the off-heap form of the value if it is larger than the off-heap threshold and can be serialized
+    private Object getStoredValue(Object value) {
+        if (this.offHeapThreshold <= 0 || CacheValueSizeEstimator.estimate(value) < this.offHeapThreshold) {
+            return value;
+        }
+        OffHeapCacheValue offHeapValue = OffHeapCacheValue.create(value);
+        return offHeapValue != null ? offHeapValue : value;
+    }
+
+    private CachePartition createOffHeapPartition() {
+        if (this.offHeapThreshold <= 0) {
+            return null;
+        }
+        int expectedSize = (int) Math.min(Integer.MAX_VALUE, this.offHeapMaxBytes / this.offHeapThreshold);
+        return new CachePartition(this.offHeapMaxBytes, true, expectedSize);
+    }
+
+    private synchronized long getWeight(String partitionName) {
+        CachePartition partition = this.partitions.get(partitionName);
+        return partition == null ? 0 : partition.getWeight();
+    }
+
+    // Returns the value of the entry if it is not expired
+    private synchronized Object get(String key) {
+        Entry entry = getEntry(key);
+        if (entry == null || entry.expiryTime - System.nanoTime() <= 0) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    // Returns the entry if it is not expired or within its stale windows
+    private synchronized Entry getEntry(String key) {
+        Entry entry = this.entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.removalTime - System.nanoTime() <= 0) {
+            remove(key);
+            this.statistics.recordExpiration(entry.coordinate);
+            return null;
+        }
+        entry.partition.recordAccess(key);
+        return entry;
+    }
+
+    private synchronized void invalidate(String path) {
+        PathNode node = this.root;
+        for (String segment : path.split("\\" + PATH_SEPARATOR, -1)) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return;
+            }
+        }
+        List<PathNode> nodes = new ArrayList<>();
+        nodes.add(node);
+        for (int i = 0; i < nodes.size(); i++) {
+            PathNode current = nodes.get(i);
+            for (String key : current.keys) {
+                Entry entry = this.entries.remove(key);
+                removeFromTags(key, entry.tags);
+                entry.partition.remove(key);
+                this.statistics.recordInvalidation(entry.coordinate);
+            }
+            nodes.addAll(current.children.values());
+        }
+        PathNode parent = node.parent;
+        parent.children.remove(node.segment);
+        prune(parent);
+    }
+
+    private synchronized void invalidateTags(String[] tags) {
+        for (String tag : tags) {
+            Set<String> keys = this.tagIndex.get(tag);
+            if (keys == null) {
+                continue;
+            }
+            for (String key : new ArrayList<>(keys)) {
+                this.statistics.recordInvalidation(this.entries.get(key).coordinate);
+                remove(key);
+            }
+        }
+    }
+
+    private synchronized void invalidateAll() {
+        for (Entry entry : this.entries.values()) {
+            this.statistics.recordInvalidation(entry.coordinate);
+        }
+        this.entries.clear();
+        this.partitions.clear();
+        this.offHeapPartition = createOffHeapPartition();
+        this.root.children.clear();
+        this.root.keys.clear();
+        this.tagIndex.clear();
+    }
+
+    private PathNode getPathNode(String key) {
+        PathNode node = this.root;
+        int start = 0;
+        int end = key.indexOf(PATH_SEPARATOR);
+        // The last segment of the key is the argument hash, which is not a part of the path
+        while (end >= 0) {
+            String segment = key.substring(start, end);
+            PathNode parent = node;
+            node = parent.children.computeIfAbsent(segment, value -> new PathNode(value, parent));
+            start = end + 1;
+            end = key.indexOf(PATH_SEPARATOR, start);
+        }
+        return node;
+    }
+
+    private void remove(String key) {
+        Entry entry = this.entries.remove(key);
+        removeFromPath(key, entry.node);
+        removeFromTags(key, entry.tags);
+        entry.partition.remove(key);
+    }
+
+    private void addToTags(String key, String[] tags) {
+        for (String tag : tags) {
+            this.tagIndex.computeIfAbsent(tag, value -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void removeFromTags(String key, String[] tags) {
+        for (String tag : tags) {
+            Set<String> keys = this.tagIndex.get(tag);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                this.tagIndex.remove(tag);
+            }
+        }
+    }
+
+    private void removeFromPath(String key, PathNode node) {
+        node.keys.remove(key);
+        prune(node);
+    }
+
+    private void prune(PathNode node) {
+        PathNode current = node;
+        while (current.parent != null && current.keys.isEmpty() && current.children.isEmpty()) {
+            current.parent.children.remove(current.segment);
+            current = current.parent;
+        }
+    }
+
+    private static final class Entry {
+        // The cached value, or its off-heap form
+        private final Object value;
+        private final long expiryTime;
+        private final long revalidateUntil;
+        private final long removalTime;
+        private final String[] tags;
+        // The field coordinate the statistics of the entry are counted for
+        private final String coordinate;
+        private PathNode node;
+        private CachePartition partition;
+
+        private Entry(Object value, long expiryTime, long revalidateUntil, long removalTime, String[] tags,
+                      String coordinate) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+            this.revalidateUntil = revalidateUntil;
+            this.removalTime = removalTime;
+            this.tags = tags;
+            this.coordinate = coordinate;
+        }
+    }
+
+    private static final class PathNode {
+        private final String segment;
+        private final PathNode parent;
+        private final Map<String, PathNode> children = new HashMap<>();
+        // Keys of the entries whose path ends at this node
+        private final Set<String> keys = new HashSet<>();
+
+        private PathNode(String segment, PathNode parent) {
+            this.segment = segment;
+            this.parent = parent;
+        }
+    }
+
+    private record Loading(long loaderId, CompletableFuture<Void> future) {
+    }
+}
@@ -24,6 +24,7 @@ import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.TypeTags;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 
@@ -59,6 +60,10 @@ public class Utils {
         return ErrorCreator.createError(getModule(), errorTypeName, StringUtils.fromString(message), cause, null);
     }
 
+    public static BError createError(String message, String errorTypeName, BMap<BString, Object> details) {
+        return ErrorCreator.createError(getModule(), errorTypeName, StringUtils.fromString(message), null, details);
+    }
+
     public static boolean isContext(Type type) {
         return isGraphqlModule(type) && type.getName().equals(CONTEXT_OBJECT);
     }
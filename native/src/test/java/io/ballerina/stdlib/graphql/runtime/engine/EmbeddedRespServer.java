@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.graphql.runtime.engine;
+
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static io.ballerina.stdlib.graphql.runtime.utils.Utils.ERROR_TYPE;
+import static io.ballerina.stdlib.graphql.runtime.utils.Utils.createError;
+
+/**
+ * An in-process server speaking the subset of the RESP protocol used by the {@link RespCacheStore}. The data is kept
+ * in memory. This is a stand-in for a Redis server, to test the cache store without an external server. The servers
+ * are identified by their ports. This is only packed into the test utils jar, which is a test-only dependency.
+ */
+public final class EmbeddedRespServer {
+    private static final Map<Long, EmbeddedRespServer> SERVERS = new ConcurrentHashMap<>();
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Value> values = new HashMap<>();
+    private final Map<String, AtomicLong> commandCounts = new ConcurrentHashMap<>();
+
+    private EmbeddedRespServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    public static Object start(long port) {
+        try {
+            ServerSocket serverSocket = new ServerSocket((int) port, 50, InetAddress.getLoopbackAddress());
+            EmbeddedRespServer server = new EmbeddedRespServer(serverSocket);
+            SERVERS.put(port, server);
+            Thread acceptor = new Thread(server::acceptConnections, "graphql-embedded-resp-server");
+            acceptor.setDaemon(true);
+            acceptor.start();
+            return null;
+        } catch (IOException e) {
+            return createError("Failed to start the embedded RESP server: " + e.getMessage(), ERROR_TYPE);
+        }
+    }
+
+    public static void stop(long port) {
+        EmbeddedRespServer server = SERVERS.remove(port);
+        if (server != null) {
+            try {
+                server.serverSocket.close();
+            } catch (IOException e) {
+                // The server is discarded regardless
+            }
+        }
+    }
+
+    // Returns the number of the commands of the given name received by the server
+    public static long getCommandCount(long port, BString command) {
+        EmbeddedRespServer server = SERVERS.get(port);
+        if (server == null) {
+            return 0;
+        }
+        AtomicLong count = server.commandCounts.get(command.getValue().toUpperCase(Locale.ROOT));
+        return count == null ? 0 : count.get();
+    }
+
+    private void acceptConnections() {
+        while (!this.serverSocket.isClosed()) {
+            try {
+                Socket socket = this.serverSocket.accept();
+                Thread handler = new Thread(() -> handleConnection(socket), "graphql-embedded-resp-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                // The server socket is closed
+            }
+        }
+    }
+
+    private void handleConnection(Socket socket) {
+        try (socket) {
+            InputStream input = new BufferedInputStream(socket.getInputStream());
+            OutputStream output = new BufferedOutputStream(socket.getOutputStream());
+            while (!this.serverSocket.isClosed()) {
+                Object request = RespConnection.read(input);
+                if (!(request instanceof Object[] arguments) || arguments.length == 0) {
+                    writeError(output, "ERR invalid request");
+                } else {
+                    execute(arguments, output);
+                }
+                // The pipelined commands already received are replied together
+                if (input.available() == 0) {
+                    output.flush();
+                }
+            }
+        } catch (IOException e) {
+            // The connection is closed by the client
+        }
+    }
+
+    private void execute(Object[] arguments, OutputStream output) throws IOException {
+        String name = toString(arguments[0]).toUpperCase(Locale.ROOT);
+        this.commandCounts.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+        synchronized (this) {
+            switch (name) {
+                case "PING":
+                    writeSimpleString(output, "PONG");
+                    break;
+                case "AUTH":
+                case "SELECT":
+                    writeSimpleString(output, "OK");
+                    break;
+                case "GET":
+                    Value value = getValue(toString(arguments[1]));
+                    RespConnection.writeBulkString(output, value != null && value.data instanceof byte[] bytes
+                            ? bytes : null);
+                    break;
+                case "SET":
+                    this.values.put(toString(arguments[1]), new Value(arguments[2], getExpiryTime(arguments)));
+                    writeSimpleString(output, "OK");
+                    break;
+                case "PTTL":
+                    Value entry = getValue(toString(arguments[1]));
+                    writeInteger(output, entry == null ? -2
+                            : entry.expiryTime == 0 ? -1 : entry.expiryTime - System.currentTimeMillis());
+                    break;
+                case "PEXPIRE":
+                    writeInteger(output, expire(arguments));
+                    break;
+                case "DEL":
+                    long deleted = 0;
+                    for (int i = 1; i < arguments.length; i++) {
+                        deleted += this.values.remove(toString(arguments[i])) != null ? 1 : 0;
+                    }
+                    writeInteger(output, deleted);
+                    break;
+                case "SADD":
+                    writeInteger(output, addMembers(arguments));
+                    break;
+                case "SMEMBERS":
+                    Value set = getValue(toString(arguments[1]));
+                    List<byte[]> members = new ArrayList<>();
+                    if (set != null && set.data instanceof Set<?> setMembers) {
+                        for (Object member : setMembers) {
+                            members.add(((String) member).getBytes(StandardCharsets.UTF_8));
+                        }
+                    }
+                    writeArray(output, members);
+                    break;
+                case "SCAN":
+                    // All the matching keys are returned at once
+                    output.write(("*2").getBytes(StandardCharsets.US_ASCII));
+                    output.write(CRLF);
+                    RespConnection.writeBulkString(output, "0".getBytes(StandardCharsets.US_ASCII));
+                    writeArray(output, scan(toString(arguments[3])));
+                    break;
+                default:
+                    writeError(output, "ERR unknown command '" + name + "'");
+            }
+        }
+    }
+
+    private Value getValue(String key) {
+        Value value = this.values.get(key);
+        if (value != null && value.isExpired()) {
+            this.values.remove(key);
+            return null;
+        }
+        return value;
+    }
+
+    private long expire(Object[] arguments) {
+        Value value = getValue(toString(arguments[1]));
+        if (value == null) {
+            return 0;
+        }
+        long expiryTime = System.currentTimeMillis() + Long.parseLong(toString(arguments[2]));
+        String option = arguments.length > 3 ? toString(arguments[3]).toUpperCase(Locale.ROOT) : "";
+        if ("NX".equals(option) && value.expiryTime != 0
+                || "GT".equals(option) && (value.expiryTime == 0 || expiryTime <= value.expiryTime)) {
+            return 0;
+        }
+        value.expiryTime = expiryTime;
+        return 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long addMembers(Object[] arguments) {
+        String key = toString(arguments[1]);
+        Value value = getValue(key);
+        if (value == null) {
+            value = new Value(new HashSet<String>(), 0);
+            this.values.put(key, value);
+        }
+        Set<String> members = (Set<String>) value.data;
+        long added = 0;
+        for (int i = 2; i < arguments.length; i++) {
+            added += members.add(toString(arguments[i])) ? 1 : 0;
+        }
+        return added;
+    }
+
+    private List<byte[]> scan(String glob) {
+        Pattern pattern = toPattern(glob);
+        List<byte[]> keys = new ArrayList<>();
+        Iterator<Map.Entry<String, Value>> iterator = this.values.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Value> entry = iterator.next();
+            if (entry.getValue().isExpired()) {
+                iterator.remove();
+            } else if (pattern.matcher(entry.getKey()).matches()) {
+                keys.add(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return keys;
+    }
+
+    private static long getExpiryTime(Object[] arguments) {
+        for (int i = 3; i + 1 < arguments.length; i++) {
+            if ("PX".equalsIgnoreCase(toString(arguments[i]))) {
+                return System.currentTimeMillis() + Long.parseLong(toString(arguments[i + 1]));
+            }
+        }
+        return 0;
+    }
+
+    // Supports the `*` and `?` wildcards, and the escaping with `\`
+    private static Pattern toPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char character = glob.charAt(i);
+            if (character == '\\' && i + 1 < glob.length()) {
+                regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+            } else if (character == '*') {
+                regex.append(".*");
+            } else if (character == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(character)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static String toString(Object argument) {
+        return new String((byte[]) argument, StandardCharsets.UTF_8);
+    }
+
+    private static void writeSimpleString(OutputStream output, String value) throws IOException {
+        output.write(('+' + value).getBytes(StandardCharsets.UTF_8));
+        output.write(CRLF);
+    }
+
+    private static void writeError(OutputStream output, String message) throws IOException {
+        output.write(('-' + message).getBytes(StandardCharsets.UTF_8));
+        output.write(CRLF);
+    }
+
+    private static void writeInteger(OutputStream output, long value) throws IOException {
+        output.write((':' + Long.toString(value)).getBytes(StandardCharsets.US_ASCII));
+        output.write(CRLF);
+    }
+
+    private static void writeArray(OutputStream output, List<byte[]> values) throws IOException {
+        RespConnection.writeArray(output, values.toArray(new byte[0][]));
+    }
+
+    private static final class Value {
+        private final Object data;
+        // The expiry time in milliseconds since the epoch, or zero if the value does not expire
+        private long expiryTime;
+
+        private Value(Object data, long expiryTime) {
+            this.data = data;
+            this.expiryTime = expiryTime;
+        }
+
+        private boolean isExpired() {
+            return this.expiryTime != 0 && this.expiryTime <= System.currentTimeMillis();
+        }
+    }
+}